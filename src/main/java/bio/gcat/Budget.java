@@ -0,0 +1,199 @@
+/*
+ * Copyright [2016] [Mannheim University of Applied Sciences]
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package bio.gcat;
+
+import static bio.gcat.Utilities.EMPTY;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-task budget of an operation: a wall-clock timeout, a number of iterations and a cancellation token. Operations
+ * with long running loops poll the budget installed for the current thread with {@link #check()}, which counts one
+ * iteration and throws an {@link Exceeded} exception as soon as the budget is exhausted, or the task was cancelled
+ * (also by interrupting its thread, e.g. with Future.cancel). The clock and the interrupt flag are only read every
+ * {@value #CLOCK_INTERVAL} iterations, so polling is cheap even in tight loops.
+ * 
+ * The budget also tracks the progress of the task: an operation declares the total work of its main loop with
+ * {@link #expect(long)} and reports each unit of work with {@link Work#step()} instead of {@link #check()}. The work done
+ * is published to other threads (e.g. a status bar) along with reading the clock, so reporting adds no synchronization.
+ */
+public final class Budget {
+	private static final int CLOCK_INTERVAL = 1024;
+	private static final ThreadLocal<Budget> CURRENT = new ThreadLocal<>();
+	private static final Work UNBUDGETED = new Work(null,false);
+	private static final double MAXIMUM_PROGRESS = .99d; // expected work might be an estimate, so the task is not done before it returned
+	
+	private final long timeout, iterations; // timeout in nanoseconds, Long.MAX_VALUE for no limit
+	private long deadline, performed, done; // only accessed by the thread performing the task
+	private volatile long total, published, started, stopped; // expected work, work done and the time span of the task for other threads
+	private volatile boolean cancelled;
+	
+	public Budget() { this(0l,0l); }
+	/**
+	 * @param timeout the timeout in milliseconds, zero or less for none
+	 * @param iterations the maximum number of iterations, zero or less for any number
+	 */
+	public Budget(long timeout, long iterations) {
+		this.timeout = timeout>0?TimeUnit.MILLISECONDS.toNanos(timeout):Long.MAX_VALUE;
+		this.iterations = iterations>0?iterations:Long.MAX_VALUE;
+	}
+	
+	public void cancel() { cancelled = true; }
+	public boolean isCancelled() { return cancelled; }
+	public long getIterations() { return performed; }
+	
+	/**
+	 * @return the share of the expected work done, from 0 to 1, or NaN if the task didn't declare its work (yet)
+	 */
+	public double getProgress() {
+		if(stopped!=0l) return 1d;
+		long total = this.total;
+		return total>0l?Math.min((double)published/total,MAXIMUM_PROGRESS):Double.NaN;
+	}
+	/**
+	 * @return the estimated time remaining until the task is done, in the given unit, or -1 if no estimate is possible
+	 */
+	public long getRemaining(TimeUnit unit) {
+		if(stopped!=0l) return 0l;
+		double progress = getProgress(); long started = this.started;
+		if(!(progress>0d)||started==0l) return -1l;
+		return unit.convert((long)((System.nanoTime()-started)*(1d-progress)/progress),TimeUnit.NANOSECONDS);
+	}
+	
+	@Override public String toString() {
+		double progress = getProgress();
+		if(Double.isNaN(progress)) return "Unknown progress";
+		long remaining = getRemaining(TimeUnit.NANOSECONDS);
+		return String.format("%d%%%s",(int)(progress*100),remaining>0l?", about "+formatDuration(remaining)+" remaining":EMPTY);
+	}
+	
+	/**
+	 * Formats a duration for humans, so that a task of ten minutes can be told from one of ten days at a glance
+	 */
+	public static String formatDuration(long nanos) {
+		long seconds = TimeUnit.NANOSECONDS.toSeconds(nanos);
+		if(seconds<60) return seconds+" s";
+		else if(seconds<60*60) return seconds/60+" min";
+		else if(seconds<48*60*60) return seconds/(60*60)+" h";
+		else return seconds/(24*60*60)+" days";
+	}
+	
+	/**
+	 * @return the budget currently installed for this thread, or null
+	 */
+	public static Budget current() { return CURRENT.get(); }
+	
+	/**
+	 * Call the callable with the given budget installed for this thread, the timeout of the budget starts now.
+	 */
+	public static <V> V call(Budget budget, Callable<V> callable) throws Exception {
+		if(budget==null) return callable.call();
+		Budget previous = CURRENT.get();
+		CURRENT.set(budget);
+		budget.started = System.nanoTime();
+		budget.deadline = budget.timeout!=Long.MAX_VALUE?budget.started+budget.timeout:0l;
+		try { return callable.call(); }
+		finally {
+			budget.published = budget.done; budget.stopped = System.nanoTime();
+			if(previous!=null) CURRENT.set(previous); else CURRENT.remove();
+		}
+	}
+	
+	/**
+	 * Declares the total work of the main loop of the current operation, e.g. the number of subsets to test. Only the first
+	 * declaration of a task counts, so the work of nested loops or operations (e.g. a test performed for each subset) is
+	 * still checked, but it doesn't count as progress. The total may be an estimate.
+	 * 
+	 * @param total the units of work, see {@link Work#step()}
+	 * @return the work to report each unit of work done to
+	 */
+	public static Work expect(long total) {
+		Budget budget = CURRENT.get();
+		if(budget==null) return UNBUDGETED;
+		else if(total<=0l||budget.total!=0l)
+			return new Work(budget,false);
+		budget.total = total;
+		return new Work(budget,true);
+	}
+	
+	/**
+	 * Counts one iteration of the current budget, to be polled by long running operations.
+	 * 
+	 * @throws Exceeded if the budget is exhausted or the task was cancelled
+	 */
+	public static void check() throws Exceeded {
+		Budget budget = CURRENT.get();
+		if(budget!=null) budget.poll();
+		else if(Thread.currentThread().isInterrupted())
+			throw new Exceeded(false,"Interrupted");
+	}
+	private void poll() {
+		if(cancelled) throw new Exceeded(false,"Cancelled");
+		else if(++performed>iterations)
+			throw new Exceeded(true,String.format("Exceeded the budget of %d iterations",iterations));
+		else if((performed&(CLOCK_INTERVAL-1))==0) {
+			if(Thread.currentThread().isInterrupted())
+				throw new Exceeded(false,"Interrupted");
+			else if(timeout!=Long.MAX_VALUE&&System.nanoTime()-deadline>0)
+				throw new Exceeded(true,String.format("Timed out after %d ms",TimeUnit.NANOSECONDS.toMillis(timeout)));
+			published = done;
+		}
+	}
+	
+	/**
+	 * The work declared by an operation with {@link Budget#expect(long)}
+	 */
+	public static final class Work {
+		private final Budget budget;
+		private final boolean counted;
+		
+		private Work(Budget budget, boolean counted) {
+			this.budget = budget;
+			this.counted = counted;
+		}
+		
+		/**
+		 * Reports one unit of work done and checks the budget like {@link Budget#check()}.
+		 * 
+		 * @throws Exceeded if the budget is exhausted or the task was cancelled
+		 */
+		public void step() throws Exceeded {
+			if(budget==null) check();
+			else {
+				budget.poll();
+				if(counted) budget.done++;
+			}
+		}
+	}
+	
+	/**
+	 * Thrown by {@link Budget#check()}, either because the budget is exhausted (timed out) or because the task was cancelled
+	 */
+	public static class Exceeded extends CancellationException {
+		private static final long serialVersionUID = 1l;
+		
+		private final boolean timedOut;
+		
+		public Exceeded(boolean timedOut, String message) {
+			super(message);
+			this.timedOut = timedOut;
+		}
+		
+		public boolean isTimedOut() { return timedOut; }
+	}
+}
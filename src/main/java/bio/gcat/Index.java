@@ -0,0 +1,102 @@
+/*
+ * Copyright [2016] [Mannheim University of Applied Sciences]
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *  
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License. 
+ */
+package bio.gcat;
+
+import static bio.gcat.Utilities.CHARSET;
+import static bio.gcat.Utilities.SPACE;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.lang.annotation.Annotation;
+import java.net.URL;
+import java.util.Enumeration;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+import org.reflections.Reflections;
+import org.reflections.scanners.SubTypesScanner;
+import org.reflections.scanners.TypeAnnotationsScanner;
+import org.reflections.util.ClasspathHelper;
+import org.reflections.util.ConfigurationBuilder;
+
+import com.google.common.collect.HashMultimap;
+import com.google.common.collect.Multimap;
+
+/**
+ * The subtypes of the indexed types and the types with the indexed annotations, as written to the {@link #RESOURCE}
+ * by the {@link IndexProcessor} at compile time. If no index resource is available (e.g. in an IDE without annotation
+ * processing), the class path is scanned instead.
+ */
+public final class Index {
+	public static final String RESOURCE = "META-INF/bio.gcat.index";
+	
+	static final String[] TYPES = {"bio.gcat.operation.Operation","bio.gcat.gui.editor.NucleicDisplay","bio.gcat.gui.input.Input"},
+		ANNOTATIONS = {"bio.gcat.Documented"};
+	
+	private static Multimap<String,String> index;
+	
+	private Index() {}
+	
+	private static synchronized Multimap<String,String> index() {
+		if(index==null) try {
+			Multimap<String,String> entries = HashMultimap.create(); boolean found = false;
+			for(Enumeration<URL> resources=Index.class.getClassLoader().getResources(RESOURCE);resources.hasMoreElements();found=true)
+				try(BufferedReader reader = new BufferedReader(new InputStreamReader(resources.nextElement().openStream(),CHARSET))) {
+					for(String line;(line=reader.readLine())!=null;) {
+						int space = line.indexOf(SPACE);
+						if(space!=-1) entries.put(line.substring(0,space),line.substring(space+1));
+					}
+				}
+			index = found?entries:null;
+		} catch(IOException e) { /* scan the class path instead */ }
+		return index;
+	}
+	
+	public static boolean isAvailable() { return index()!=null; }
+	
+	@SuppressWarnings("unchecked") public static <T> Set<Class<? extends T>> getSubTypesOf(Class<T> type) {
+		Multimap<String,String> index = index();
+		if(index==null) return reflections(type.getPackage(),new SubTypesScanner()).getSubTypesOf(type);
+		Set<Class<? extends T>> types = new LinkedHashSet<>();
+		for(Class<?> indexed:forNames(index.get(type.getName())))
+			if(type.isAssignableFrom(indexed)) types.add((Class<? extends T>)indexed);
+		return types;
+	}
+	public static Set<Class<?>> getTypesAnnotatedWith(Class<? extends Annotation> annotation) {
+		Multimap<String,String> index = index();
+		if(index==null) return reflections(annotation.getPackage(),new TypeAnnotationsScanner()).getTypesAnnotatedWith(annotation);
+		Set<Class<?>> types = new LinkedHashSet<>();
+		for(Class<?> indexed:forNames(index.get(annotation.getName())))
+			if(indexed.isAnnotationPresent(annotation)) types.add(indexed);
+		return types;
+	}
+	
+	private static Set<Class<?>> forNames(Iterable<String> names) {
+		Set<Class<?>> classes = new LinkedHashSet<>();
+		for(String name:names) try {
+			classes.add(Class.forName(name,false,Index.class.getClassLoader()));
+		} catch(ClassNotFoundException|LinkageError e) { /* nothing to do here */ }
+		return classes;
+	}
+	
+	private static Reflections reflections(Package pack,org.reflections.scanners.Scanner scanner) {
+		return new Reflections(new ConfigurationBuilder()
+			.addClassLoaders(ClasspathHelper.staticClassLoader(),ClasspathHelper.contextClassLoader()/*,ClassLoader.getSystemClassLoader()*/)
+			.setUrls(ClasspathHelper.forPackage(pack.getName()))
+			.setScanners(scanner));
+	}
+}
@@ -0,0 +1,107 @@
+/*
+ * Copyright [2016] [Mannheim University of Applied Sciences]
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *  
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License. 
+ */
+package bio.gcat;
+
+import static bio.gcat.Utilities.CHARSET;
+import static bio.gcat.Utilities.NEW_LINE;
+import static bio.gcat.Utilities.SPACE;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.TreeSet;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+import javax.tools.StandardLocation;
+
+/**
+ * Writes the {@link Index} of all compiled (top-level and member) types, that are subtypes of {@link Index#TYPES}
+ * or annotated with one of the {@link Index#ANNOTATIONS}. One line per type: the indexed type or annotation, followed
+ * by the binary name of the type. The index of an earlier compilation to the same output is merged, so compiling only
+ * some of the sources (e.g. incrementally in an IDE) keeps the entries of the other types, as long as they exist.
+ */
+@SupportedAnnotationTypes("*")
+public class IndexProcessor extends AbstractProcessor {
+	private final Set<String> entries = new TreeSet<>(), indexed = new HashSet<>();
+	
+	@Override public SourceVersion getSupportedSourceVersion() { return SourceVersion.latestSupported(); }
+	
+	@Override public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment environment) {
+		if(!environment.processingOver())
+			for(TypeElement type:ElementFilter.typesIn(environment.getRootElements()))
+				index(type);
+		else write();
+		return false;
+	}
+	
+	private void index(TypeElement type) {
+		String name = processingEnv.getElementUtils().getBinaryName(type).toString();
+		indexed.add(name);
+		TypeMirror erasure = processingEnv.getTypeUtils().erasure(type.asType());
+		for(String indexed:Index.TYPES) {
+			TypeElement indexedType = processingEnv.getElementUtils().getTypeElement(indexed);
+			if(indexedType!=null&&!indexedType.equals(type)&&processingEnv.getTypeUtils().isAssignable(erasure,processingEnv.getTypeUtils().erasure(indexedType.asType())))
+				entries.add(indexed+SPACE+name);
+		}
+		for(AnnotationMirror annotation:type.getAnnotationMirrors()) {
+			String annotationName = ((TypeElement)annotation.getAnnotationType().asElement()).getQualifiedName().toString();
+			for(String indexed:Index.ANNOTATIONS)
+				if(indexed.equals(annotationName))
+					entries.add(indexed+SPACE+name);
+		}
+		for(TypeElement member:ElementFilter.typesIn(type.getEnclosedElements()))
+			index(member);
+	}
+	
+	private void write() {
+		entries.addAll(previous());
+		try(Writer writer = new OutputStreamWriter(processingEnv.getFiler().createResource(StandardLocation.CLASS_OUTPUT,"",Index.RESOURCE).openOutputStream(),CHARSET)) {
+			for(String entry:entries)
+				writer.write(entry+NEW_LINE);
+		} catch(IOException e) {
+			processingEnv.getMessager().printMessage(Diagnostic.Kind.WARNING,"Index could not be written: "+e.getMessage());
+		}
+	}
+	
+	/**
+	 * The entries of the index of an earlier compilation, except the ones of types compiled again or not existing any longer
+	 */
+	private Set<String> previous() {
+		Set<String> previous = new TreeSet<>();
+		try(BufferedReader reader = new BufferedReader(new InputStreamReader(processingEnv.getFiler().getResource(StandardLocation.CLASS_OUTPUT,"",Index.RESOURCE).openInputStream(),CHARSET))) {
+			for(String line;(line=reader.readLine())!=null;) {
+				int space = line.indexOf(SPACE);
+				if(space==-1) continue;
+				String name = line.substring(space+1);
+				if(!indexed.contains(name)&&processingEnv.getElementUtils().getTypeElement(name.replace('$','.'))!=null)
+					previous.add(line);
+			}
+		} catch(IOException e) { /* no earlier index */ }
+		return previous;
+	}
+}
@@ -319,6 +319,36 @@ public class Parameter {
 		return values;
 	}
 	
+	/**
+	 * Converts the values to the types of the parameters, e.g. a number parsed as long to an integer or a text to one of the
+	 * options of a list, so operations can cast the values without any further checks. Values without parameter stay as they are.
+	 */
+	public static Object[] bindValues(Parameter[] parameters, Object[] values) {
+		if(parameters==null||values==null) return values;
+		Object[] boundValues = values.clone();
+		for(int parameter=0;parameter<Math.min(parameters.length,boundValues.length);parameter++)
+			boundValues[parameter] = parameters[parameter].bindValue(boundValues[parameter]);
+		return boundValues;
+	}
+	public Object bindValue(Object value) {
+		if(value==null) return null;
+		try {
+			switch(type) {
+			case TEXT: return value.toString();
+			case BOOLEAN: return value instanceof Boolean?value:Boolean.valueOf(value.toString());
+			case NUMBER: return value instanceof Integer?value:Integer.valueOf(value instanceof Number?Math.toIntExact(((Number)value).longValue()):Integer.parseInt(value.toString().trim()));
+			case DECIMAL: return value instanceof Double?value:Double.valueOf(value instanceof Number?((Number)value).doubleValue():Double.parseDouble(value.toString().trim()));
+			case LIST:
+				if(options!=null) for(Object option:options)
+					if(option!=null&&(option.equals(value)||option.toString().equals(value.toString())))
+						return option;
+			default: return value;
+			}
+		} catch(NumberFormatException|ArithmeticException e) {
+			throw new IllegalArgumentException(String.format("Value \"%s\" is not valid for parameter %s.",value,key),e);
+		}
+	}
+	
 	@Override public boolean equals(Object object) {
 		if(!(object instanceof Option))
 			return false;
@@ -367,7 +397,16 @@ public class Parameter {
 		}
 		public InputStream openFile() throws IOException {
 			File selected = chooser.getSelectedFile();
-			return selected!=null?new FileInputStream(selected):null;
+			return selected!=null?new FileStream(selected):null;
 		}
 	}
+	
+	/**
+	 * a file input stream, which remembers the file it was opened for (e.g. to cache the contents of the file)
+	 */
+	public static class FileStream extends FileInputStream {
+		private final File file;
+		public FileStream(File file) throws IOException { super(file); this.file = file; }
+		public File getFile() { return file; }
+	}
 }
\ No newline at end of file
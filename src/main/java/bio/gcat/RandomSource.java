@@ -0,0 +1,108 @@
+/*
+ * Copyright [2016] [Mannheim University of Applied Sciences]
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package bio.gcat;
+
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.SplittableRandom;
+import java.util.concurrent.Callable;
+
+import bio.gcat.nucleic.Acid;
+import bio.gcat.nucleic.Base;
+import bio.gcat.nucleic.Tuple;
+
+/**
+ * Per-task random number generation, based on a {@link SplittableRandom}. Each
+ * thread gets its own generator (split of a global root), so operations drawing
+ * random numbers never contend on a shared lock. Batches may install a seeded
+ * generator for the duration of a task, making random operations reproducible.
+ */
+public final class RandomSource {
+	private static final SplittableRandom ROOT = new SplittableRandom();
+	private static final ThreadLocal<SplittableRandom> CURRENT = ThreadLocal.withInitial(RandomSource::split);
+
+	private RandomSource() {}
+
+	/**
+	 * @return a new independent generator, split of the (unseeded) global root
+	 */
+	public static SplittableRandom split() { synchronized(ROOT) { return ROOT.split(); } }
+	/**
+	 * @return a new independent generator, seeded if the seed is not null
+	 */
+	public static SplittableRandom split(Long seed) { return seed!=null?new SplittableRandom(seed):split(); }
+	/**
+	 * @return a new independent generator for the execution with the given index, seeded with the seed mixed with the index if the
+	 * seed is not null, so every execution gets its own stream, no matter in which order the executions are performed
+	 */
+	public static SplittableRandom split(Long seed, long index) { return seed!=null?new SplittableRandom(seed^mix(index)):split(); }
+	private static long mix(long index) { // finalizer of SplitMix64, mix(0)==0, so the first execution starts with the seed itself
+		index = (index^(index>>>30))*0xbf58476d1ce4e5b9l;
+		index = (index^(index>>>27))*0x94d049bb133111ebl;
+		return index^(index>>>31);
+	}
+
+	/**
+	 * @return the generator currently installed for this thread
+	 */
+	public static SplittableRandom current() { return CURRENT.get(); }
+
+	/**
+	 * Call the callable with the given generator installed as the current generator of this thread.
+	 */
+	public static <V> V call(SplittableRandom random, Callable<V> callable) throws Exception {
+		if(random==null) return callable.call();
+		SplittableRandom previous = CURRENT.get();
+		CURRENT.set(random);
+		try { return callable.call(); }
+		finally { CURRENT.set(previous); }
+	}
+
+	/**
+	 * Fisher-Yates shuffle of a random access list, using the given generator.
+	 */
+	public static <T> void shuffle(List<T> list, SplittableRandom random) {
+		if(!(list instanceof RandomAccess))
+			throw new IllegalArgumentException("List must be random access");
+		for(int index=list.size()-1;index>0;index--)
+			list.set(index,list.set(random.nextInt(index+1),list.get(index)));
+	}
+
+	/**
+	 * Create a number of random tuples of the given length at once. For acids with four
+	 * bases, 32 bases are drawn per random long, into one packed buffer of base indices.
+	 */
+	public static Tuple[] randomTuples(Acid acid, int length, int number, SplittableRandom random) {
+		Base[] bases = acid.bases;
+		byte[] buffer = new byte[length*number];
+		if(bases.length==4) {
+			long bits = 0;
+			for(int index=0;index<buffer.length;index++,bits>>>=2) {
+				if((index&31)==0) bits = random.nextLong();
+				buffer[index] = (byte)(bits&3);
+			}
+		} else for(int index=0;index<buffer.length;index++)
+			buffer[index] = (byte)random.nextInt(bases.length);
+
+		Tuple[] tuples = new Tuple[number];
+		for(int tuple=0,offset=0;tuple<number;tuple++) {
+			Base[] tupleBases = new Base[length];
+			for(int index=0;index<length;index++)
+				tupleBases[index] = bases[buffer[offset++]];
+			tuples[tuple] = new Tuple(tupleBases);
+		} return tuples;
+	}
+}
@@ -17,25 +17,36 @@ package bio.gcat.batch;
 
 import static bio.gcat.batch.Action.TaskAttribute.ANALYSIS_HANDLER;
 import static bio.gcat.batch.Action.TaskAttribute.DEFAULT_ATTRIBUTES;
+import static bio.gcat.batch.Action.TaskAttribute.ITERATIONS;
 import static bio.gcat.batch.Action.TaskAttribute.SPLIT_PICK;
 import static bio.gcat.batch.Action.TaskAttribute.TEST_CRITERIA;
 import static bio.gcat.batch.Action.TaskAttribute.TEST_HANDLER;
+import static bio.gcat.batch.Action.TaskAttribute.TEST_HANDLER_DEFAULT;
+import static bio.gcat.batch.Action.TaskAttribute.TIMEOUT;
 import static bio.gcat.batch.Action.TaskAttribute.valueOrDefault;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
-import java.util.Random;
+import java.util.SplittableRandom;
 import java.util.concurrent.Callable;
 import java.util.concurrent.Future;
+import java.util.function.UnaryOperator;
 
+import bio.gcat.Budget;
 import bio.gcat.Parameter;
+import bio.gcat.RandomSource;
 import bio.gcat.log.InjectionLogger;
+import bio.gcat.log.Logger;
 import bio.gcat.nucleic.Tuple;
 import bio.gcat.operation.Operation;
+import bio.gcat.operation.Stateless;
 import bio.gcat.operation.analysis.Analysis;
 import bio.gcat.operation.analysis.Analysis.Result;
 import bio.gcat.operation.split.Split;
@@ -50,6 +61,7 @@ public class Action {
 	private final Class<? extends Operation> operation;
 	private Map<TaskAttribute,Object> attributes;
 	private Object[] values;
+	private volatile Invoker invoker;
 	
 	public Action(Class<? extends Operation> operation) { this(operation, Parameter.getValues(Operation.getParameters(operation))); }
 	public Action(Class<? extends Operation> operation, Object... values) {
@@ -69,12 +81,73 @@ public class Action {
 	public void removeAttribute(TaskAttribute attribute) { attributes.remove(attribute); }
 	
 	public Object[] getValues() { return values; }
-	public void setValues(Object[] values) { this.values = values; }
+	public void setValues(Object[] values) { this.values = values; invoker = null; }
+	
+	/**
+	 * @return true if the operation of the action is an element-wise transformation, which may be fused with adjacent ones
+	 */
+	public boolean isElementwise() { return Transformation.Elementwise.class.isAssignableFrom(operation); }
+	Transformation.Elementwise getElementwise() throws Exception { return (Transformation.Elementwise)getInvoker().newInstance(); }
+	Object[] getBoundValues() throws Exception { return getInvoker().boundValues; }
+	
+	private Invoker getInvoker() throws InstantiationException, IllegalAccessException {
+		Invoker invoker = this.invoker;
+		if(invoker==null||invoker.values!=values)
+			this.invoker = invoker = new Invoker(values);
+		return invoker;
+	}
+	
+	/**
+	 * The operation of the action compiled once, with a constructor handle and the values bound to the types of the
+	 * parameters. One instance of a {@link Stateless} operation is shared by all tasks of the action, as operations
+	 * log to the logging context of the task performing them.
+	 */
+	private class Invoker {
+		private final Object[] values, boundValues;
+		private final MethodHandle constructor;
+		private final boolean stateless;
+		private volatile Operation instance;
+		private volatile Test.Outcome failed;
+		
+		private Invoker(Object[] values) throws InstantiationException, IllegalAccessException {
+			this.values = values;
+			try {
+				constructor = MethodHandles.publicLookup().findConstructor(operation,MethodType.methodType(void.class)).asType(MethodType.methodType(Operation.class));
+			} catch(NoSuchMethodException e) { throw new InstantiationException(operation.getName()); }
+			boundValues = Parameter.bindValues(Operation.getParameters(operation),values);
+			stateless = operation.isAnnotationPresent(Stateless.class);
+		}
+		
+		private Operation newInstance() throws Exception {
+			Operation instance = this.instance;
+			if(instance==null) try {
+				instance = (Operation)constructor.invokeExact();
+				if(stateless) this.instance = instance;
+			} catch(Exception|Error e) { throw e; } catch(Throwable t) { throw new InstantiationException(t.getMessage()); }
+			return instance;
+		}
+		
+		/**
+		 * @return the failed outcome of the test, shared by all tasks for stateless tests
+		 */
+		private Test.Outcome failed(Test test) {
+			Test.Outcome failed = this.failed;
+			if(failed==null||failed.getTest()!=test)
+				this.failed = failed = Test.Outcome.failed(test, String.format("Test \"%s\" failed", Operation.getName(operation)));
+			return failed;
+		}
+	}
+	
+	private static long longValue(Object value) { return value instanceof Number?((Number)value).longValue():0l; }
 	
 	public class Task implements Callable<Collection<Tuple>>, InjectionLogger.Injectable {
 		private Collection<Tuple> tuples;
 		private Future<Collection<Tuple>> future;
 		private Callable<Collection<Tuple>> task;
+		private SplittableRandom random;
+		private final InjectionLogger logger = new InjectionLogger();
+		private Test.Outcome outcome = Test.Outcome.PASSED;
+		private final Budget budget = new Budget(longValue(valueOrDefault(attributes, TIMEOUT)), longValue(valueOrDefault(attributes, ITERATIONS)));
 		
 		public Task(Collection<Tuple> tuples) { this.tuples = tuples; }
 		public Task(Future<Collection<Tuple>> future) { this.future = future; }
@@ -82,21 +155,76 @@ public class Action {
 		
 		public Collection<Tuple> getTuples() { return tuples; }
 		
-		@Override public Collection<Tuple> call() throws Exception {
+		public SplittableRandom getRandom() { return random; }
+		public Task setRandom(SplittableRandom random) { this.random = random; return this; }
+		
+		@Override public Logger getLogger() { return logger; }
+		
+		/**
+		 * @return the budget of the task, which may also be used to cancel the task cooperatively
+		 */
+		public Budget getBudget() { return budget; }
+		
+		/**
+		 * @return the outcome of the task after it was evaluated, failed if a test of the task failed, timed out if the operation exceeded its budget
+		 */
+		public Test.Outcome getOutcome() { return outcome; }
+		
+		/**
+		 * Performs the task like {@link #call()}, but signals a failed test with the {@link #getOutcome() outcome} of the task instead of a {@link Test.Failed} exception
+		 */
+		public Collection<Tuple> evaluate() throws Exception {
 			   if(future!=null) tuples = future.get(); //could be a ExecutionException with cause Test.Failed (which is fine)
-			else if(task!=null) tuples = task.call(); //could be a Exception which cause Test.Failed (which is fine)
-			Operation instance = Operation.newInstance(operation,getLogger());
+			else if(task instanceof Task) {
+				tuples = ((Task)task).evaluate();
+				if(!((Task)task).getOutcome().isPassed()) {
+					outcome = Test.Outcome.skipped(((Task)task).getOutcome().toString());
+					return tuples;
+				}
+			} else if(task!=null) tuples = task.call(); //could be a Exception which cause Test.Failed (which is fine)
+			try { return InjectionLogger.call(logger, ()->RandomSource.call(random, ()->Budget.call(budget, this::perform))); } // install the tasks logger, generator (if any) and budget while performing the operation
+			catch(Test.Failed e) { outcome = Test.Outcome.failed(e.getTest(), e.getMessage()); return tuples; } // thrown by test handlers
+			catch(Budget.Exceeded e) {
+				if(!e.isTimedOut()) throw e; // cancelled
+				logger.log("Operation \"%s\" timed out. %s.", Operation.getName(operation), e.getMessage());
+				outcome = Test.Outcome.timedOut(e.getMessage()); return tuples;
+			}
+		}
+		@Override public Collection<Tuple> call() throws Exception {
+			Collection<Tuple> tuples = evaluate();
+			if(outcome.isFailed()) throw new Test.Failed(outcome.getTest());
+			return tuples;
+		}
+		/**
+		 * @return the mapping of one tuple of an element-wise transformation, determined in the context (and budget) of the task for the tuples
+		 * of the task, null if determining the mapping timed out (see {@link #getOutcome()})
+		 */
+		UnaryOperator<Tuple> mapping() throws Exception {
+			try {
+				return InjectionLogger.call(logger, ()->RandomSource.call(random, ()->Budget.call(budget, ()->{
+					Invoker invoker = getInvoker();
+					return ((Transformation.Elementwise)invoker.newInstance()).mapping(tuples,invoker.boundValues);
+				})));
+			} catch(Budget.Exceeded e) {
+				if(!e.isTimedOut()) throw e; // cancelled
+				logger.log("Operation \"%s\" timed out. %s.", Operation.getName(operation), e.getMessage());
+				outcome = Test.Outcome.timedOut(e.getMessage()); return null;
+			}
+		}
+		private Collection<Tuple> perform() throws Exception {
+			Invoker invoker = getInvoker(); Object[] values = invoker.boundValues;
+			Operation instance = invoker.newInstance();
 			if(instance instanceof Transformation)
 				return ((Transformation)instance).transform(tuples,values);
 			else if(instance instanceof Test) {
-				try {
-					valueOrDefault(attributes, TEST_HANDLER, (Test.Handler)new Test.Handler() { //explicit cast is important, otherwise it'll requre to be a subclass of Batch$Test.Handler
-						/* default test handler, throws default exception */
-					}).handle((Test)instance, ((Test)instance).test(tuples, values));
-				} catch(Test.Default e) {
-					if(Boolean.valueOf(e.getResult()).equals(valueOrDefault(attributes, TEST_CRITERIA)))
-						throw new Test.Failed(e.getTest());
-				}
+				Test test = (Test)instance; boolean result = test.test(tuples, values);
+				Test.Handler handler = valueOrDefault(attributes, TEST_HANDLER, TEST_HANDLER_DEFAULT);
+				if(handler!=null) try {
+					handler.handle(test, result);
+					return tuples; // handled by the handler
+				} catch(Test.Default e) { result = e.getResult(); /* default test handling, as without any handler */ }
+				if(Boolean.valueOf(result).equals(valueOrDefault(attributes, TEST_CRITERIA)))
+					outcome = invoker.failed(test);
 			} else if(instance instanceof Analysis)
 				((Analysis.Handler)valueOrDefault(attributes, ANALYSIS_HANDLER)).handle(((Analysis)instance).analyse(tuples, values));
 			else if(instance instanceof Split)
@@ -125,11 +253,14 @@ public class Action {
 				}
 			};
 		
+		public static final TaskAttribute TIMEOUT = new TaskAttribute("Timeout"); // in milliseconds, zero for none
+		public static final TaskAttribute ITERATIONS = new TaskAttribute("Iterations"); // polled by the operation, zero for any number
+		
 		public static final TaskAttribute SPLIT_PICK = new TaskAttribute("Split Pick");
 		public static final Split.Pick
 			SPLIT_PICK_FIRST = new Split.Pick() { @Override public Collection<Tuple> pick(List<Collection<Tuple>> split) { return split!=null&&!split.isEmpty()?split.get(0):null; } },
 			SPLIT_PICK_LAST = new Split.Pick() { @Override public Collection<Tuple> pick(List<Collection<Tuple>> split) { return split!=null&&!split.isEmpty()?split.get(split.size()-1):null; } },
-			SPLIT_PICK_ANY = new Split.Pick() { private final Random RANDOM = new Random(); @Override public Collection<Tuple> pick(List<Collection<Tuple>> split) { return split!=null&&!split.isEmpty()?split.get(RANDOM.nextInt(split.size())):null; } };
+			SPLIT_PICK_ANY = new Split.Pick() { @Override public Collection<Tuple> pick(List<Collection<Tuple>> split) { return split!=null&&!split.isEmpty()?split.get(RandomSource.current().nextInt(split.size())):null; } };
 		
 		public static final Map<TaskAttribute,Object> DEFAULT_ATTRIBUTES;
 		static {
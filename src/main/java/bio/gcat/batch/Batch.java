@@ -20,35 +20,54 @@ import static bio.gcat.Utilities.EMPTY;
 import static bio.gcat.Utilities.SPACE;
 import static bio.gcat.batch.Action.TaskAttribute.TEST_HANDLER;
 import static bio.gcat.batch.Action.TaskAttribute.ANALYSIS_HANDLER;
+import static bio.gcat.batch.Action.TaskAttribute.TIMEOUT;
 
+import java.io.BufferedOutputStream;
 import java.io.BufferedReader;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStreamReader;
+import java.io.PrintStream;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Deque;
 import java.util.Enumeration;
+import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Locale;
 import java.util.Queue;
+import java.util.Set;
+import java.util.SplittableRandom;
 import java.util.concurrent.Callable;
-import java.util.concurrent.ExecutionException;
-import java.util.concurrent.Executor;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
-import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.TimeUnit;
-import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiFunction;
 import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
+import com.google.common.base.Ascii;
+import com.google.common.util.concurrent.Futures;
 import com.google.common.util.concurrent.ListenableFuture;
 import com.google.common.util.concurrent.ListeningExecutorService;
 import com.google.common.util.concurrent.MoreExecutors;
 
-import bio.gcat.Utilities.DefiniteFuture;
+import bio.gcat.Budget;
+import bio.gcat.RandomSource;
 import bio.gcat.Utilities.DefiniteListenableFuture;
 import bio.gcat.log.InjectionLogger;
 import bio.gcat.log.Logger;
@@ -64,6 +83,13 @@ import net.sourceforge.argparse4j.inf.Namespace;
 
 public class Batch {
 	private List<Action> actions = new LinkedList<>(), facade;
+	private Long seed; // null for an unseeded (irreproducible) batch
+	private volatile Plan plan; // the actions compiled for buildIterative, see plan()
+	private String name = "batch-"+NUMBER.incrementAndGet();
+	
+	private static final AtomicInteger NUMBER = new AtomicInteger();
+	private static final int READ_AHEAD = 16; // sequences per thread read ahead in the command line mode
+	private static final int PROGRESS_INTERVAL = 5; // seconds between two progress reports in the command line mode
 	
 	public Batch() {}
 	public Batch(Action... actions) { this(Arrays.asList(actions)); }
@@ -79,29 +105,103 @@ public class Batch {
 	public void removeAction(int index) { actions.remove(index); }
 	public void removeAction(Action action) { actions.remove(action); }
 	
-	// build a queue of all the actions in this batch object (iterative)
+	public String getName() { return name; }
+	public void setName(String name) { this.name = name; }
+	
+	public Long getSeed() { return seed; }
+	public void setSeed(Long seed) { this.seed = seed; }
+	
+	// build a queue of all the actions in this batch object (iterative), a failed test stops the batch with a failed outcome of the result
+	// consecutive element-wise transformations are fused and performed in one pass over the tuples (see Fusion), consecutive tests
+	// are performed in the order of their declared cost, so a cheap test that fails stops the batch before any expensive one (see Costs)
+	// the index of the execution (e.g. of the sequence in a sequence file) determines the random generator of a seeded batch
 	public Callable<Result> buildIterative(Collection<Tuple> tuples) { return buildIterative(new Result(tuples)); }
-	public Callable<Result> buildIterative(final Result result) {
-		Queue<Action> queue = new LinkedList<>(actions);
+	public Callable<Result> buildIterative(final Result result) { return buildIterative(result,0l); }
+	public Callable<Result> buildIterative(final Result result, long index) {
+		final List<Object> plan;
+		try { plan = plan(); }
+		catch(Exception e) { return ()->{ throw e; }; } // fails when the batch is performed, like any failing action
 		return ()->{
-			Action action;
-			while((action=queue.poll())!=null)			
-				result.setTuples(InjectionLogger.injectLogger(logAction(result,action),
-					action.new Task(result.getTuples())).call());
+			Deque<Object> queue = new LinkedList<>(plan);
+			Object step; SplittableRandom random = RandomSource.split(seed,index); int ordered = 0;
+			while((step=queue.poll())!=null) {
+				if(step instanceof Fusion) {
+					result.setTuples(((Fusion)step).perform(this,result,random));
+					if(!result.getOutcome().isPassed()) break;
+					continue;
+				}
+				
+				Action action = (Action)step;
+				if(ordered>0) ordered--;
+				else if(Costs.isCommuting(action)&&queue.peek() instanceof Action&&Costs.isCommuting((Action)queue.peek())) {
+					List<Action> tests = new ArrayList<>(); tests.add(action);
+					while(queue.peek() instanceof Action&&Costs.isCommuting((Action)queue.peek()))
+						tests.add((Action)queue.poll());
+					Costs.order(tests,result.getTuples().size());
+					for(ordered=tests.size()-1;ordered>0;ordered--)
+						queue.addFirst(tests.get(ordered));
+					action = tests.get(0); ordered = tests.size()-1;
+				}
+				
+				Action.Task task = InjectionLogger.injectLogger(logAction(result,action),
+					action.new Task(result.getTuples()).setRandom(random.split()));
+				result.setPerforming(action,task.getBudget());
+				result.setTuples(task.evaluate());
+				if(!task.getOutcome().isPassed()) {
+					result.setOutcome(task.getOutcome());
+					break;
+				}
+			}
 			return result;
 		};
 	}
 	
+	/**
+	 * @return the actions with consecutive element-wise transformations fused (see Fusion), compiled again only if the
+	 * actions or their values changed since the last call
+	 */
+	List<Object> plan() throws Exception {
+		Plan plan = this.plan;
+		if(plan==null||!plan.isFor(actions))
+			this.plan = plan = new Plan(new ArrayList<>(actions));
+		return plan.steps;
+	}
+	private static class Plan {
+		private final List<Action> actions; private final List<Object[]> values = new ArrayList<>();
+		private final List<Object> steps;
+		
+		private Plan(List<Action> actions) throws Exception {
+			this.actions = actions;
+			for(Action action:actions) values.add(action.getValues());
+			steps = Fusion.compile(actions);
+		}
+		
+		private boolean isFor(List<Action> actions) {
+			if(actions.size()!=this.actions.size()) return false;
+			Iterator<Action> planned = this.actions.iterator(); Iterator<Object[]> plannedValues = values.iterator();
+			for(Action action:actions)
+				if(action!=planned.next()||action.getValues()!=plannedValues.next()) return false;
+			return true;
+		}
+	}
+	
 	// build a queue of all the actions in this batch object (recursive)
 	public Callable<Result> buildRecursive(Collection<Tuple> tuples) { return buildRecursive(new Result(tuples)); }
-	public Callable<Result> buildRecursive(final Result result) {
-		Callable<Result> current = null;
+	public Callable<Result> buildRecursive(final Result result) { return buildRecursive(result,0l); }
+	public Callable<Result> buildRecursive(final Result result, long index) {
+		Callable<Result> current = null; SplittableRandom random = RandomSource.split(seed,index);
 		for(Action action:actions) {
 			final Callable<Result> previous = current;
+			final SplittableRandom actionRandom = random.split();
 			current = ()->{
 				Result localResult = previous!=null?previous.call():result;
-				localResult.setTuples(InjectionLogger.injectLogger(logAction(localResult,action),
-					action.new Task(localResult.getTuples())).call());
+				if(!localResult.getOutcome().isPassed())
+					return localResult; // skip any further actions
+				Action.Task task = InjectionLogger.injectLogger(logAction(localResult,action),
+					action.new Task(localResult.getTuples()).setRandom(actionRandom));
+				localResult.setPerforming(action,task.getBudget());
+				localResult.setTuples(task.evaluate());
+				localResult.setOutcome(task.getOutcome());
 				return localResult;
 			};
 		} return current;
@@ -123,30 +223,92 @@ public class Batch {
 		}:queue);
 	}
 	
-	public ListenableFuture<Result> execute(Collection<Tuple> tuples) {
+	public ListenableFuture<Result> execute(Collection<Tuple> tuples) { return execute(tuples,ExecutionContext.shared()); }
+	public ListenableFuture<Result> execute(Collection<Tuple> tuples, ExecutionContext context) {
 		final Result result = new Result(tuples);
-		Queue<Action> queue = new LinkedList<>(actions);
-		if(queue.isEmpty()) return new DefiniteListenableFuture<>(result);
+		if(actions.isEmpty()) return new DefiniteListenableFuture<>(result);
+		return context.submit(name,buildIterative(result));
+	}
+	
+	/**
+	 * The executor batches are executed with. The {@link #shared() shared} context is a bounded pool of daemon threads, one per
+	 * processor, which is shut down when the virtual machine exits, so any number of batches run on a constant number of threads.
+	 * Callers may supply their own executor instead, which is not shut down by the context. While a batch is executed, the name
+	 * of the batch is appended to the name of the executing thread.
+	 */
+	public static class ExecutionContext implements AutoCloseable {
+		private static ExecutionContext shared;
 		
-		Action action; Future<Collection<Tuple>> future = new DefiniteFuture<>(tuples);
-		ListeningExecutorService service = MoreExecutors.listeningDecorator(Executors.newSingleThreadExecutor());
-		while((action=queue.poll())!=null)
-			future = service.submit(InjectionLogger.injectLogger(result,action.new Task(future)));
+		private final ListeningExecutorService service;
+		private final boolean owned;
+		private final AtomicLong submitted = new AtomicLong(), completed = new AtomicLong(), failed = new AtomicLong(), busy = new AtomicLong();
 		
-		final ListenableFuture<Collection<Tuple>> lastFuture = (ListenableFuture<Collection<Tuple>>)future;
-		return new ListenableFuture<Result>() {
-			@Override public boolean isDone() { return lastFuture.isDone(); }
-			@Override public boolean isCancelled() { return lastFuture.isCancelled(); }
-			@Override public Result get(long timeout,TimeUnit unit) throws InterruptedException,ExecutionException,TimeoutException { result.setTuples(lastFuture.get(timeout,unit)); return result; }
-			@Override public Result get() throws InterruptedException,ExecutionException { result.setTuples(lastFuture.get()); return result; }
-			@Override public boolean cancel(boolean mayInterruptIfRunning) { return lastFuture.cancel(mayInterruptIfRunning); }
-			@Override public void addListener(Runnable listener,Executor executor) { lastFuture.addListener(listener,executor); }
-		};
+		public ExecutionContext(int threads) { this(threads,"gcat-batch"); }
+		public ExecutionContext(int threads, String name) {
+			this(Executors.newFixedThreadPool(threads,new ThreadFactory() {
+				private final AtomicInteger number = new AtomicInteger();
+				@Override public Thread newThread(Runnable runnable) {
+					Thread thread = new Thread(runnable,name+"-"+number.incrementAndGet());
+					thread.setDaemon(true);
+					return thread;
+				}
+			}),true);
+		}
+		public ExecutionContext(ExecutorService executor) { this(executor,false); }
+		private ExecutionContext(ExecutorService executor, boolean owned) {
+			this.service = MoreExecutors.listeningDecorator(executor);
+			this.owned = owned;
+		}
+		
+		public static synchronized ExecutionContext shared() {
+			if(shared==null) {
+				shared = new ExecutionContext(Runtime.getRuntime().availableProcessors());
+				Runtime.getRuntime().addShutdownHook(new Thread(shared::close,"gcat-batch-shutdown"));
+			}
+			return shared;
+		}
+		
+		public <V> ListenableFuture<V> submit(String name, Callable<V> callable) {
+			submitted.incrementAndGet();
+			return service.submit(()->{
+				Thread thread = Thread.currentThread(); String threadName = thread.getName();
+				if(name!=null) thread.setName(threadName+" ("+name+")");
+				long start = System.nanoTime();
+				try {
+					V value = callable.call();
+					completed.incrementAndGet();
+					return value;
+				} catch(Exception e) {
+					failed.incrementAndGet();
+					throw e;
+				} finally {
+					busy.addAndGet(System.nanoTime()-start);
+					thread.setName(threadName);
+				}
+			});
+		}
+		
+		public long getSubmitted() { return submitted.get(); }
+		public long getCompleted() { return completed.get(); }
+		public long getFailed() { return failed.get(); }
+		/**
+		 * @return the number of batches submitted, but not yet completed or failed
+		 */
+		public long getPending() { return submitted.get()-completed.get()-failed.get(); }
+		public long getBusyTime(TimeUnit unit) { return unit.convert(busy.get(),TimeUnit.NANOSECONDS); }
+		
+		public boolean isShutdown() { return service.isShutdown(); }
+		/**
+		 * Shuts down the executor of the context, if it was not supplied by the caller. Submitted batches are still executed.
+		 */
+		@Override public void close() { if(owned) service.shutdown(); }
 	}
 	
 	public static class Result implements Logger {
 		private Collection<Tuple> tuples;
-		private List<Message> log = new LinkedList<Message>();
+		private Test.Outcome outcome = Test.Outcome.PASSED;
+		private Queue<Message> log = new ConcurrentLinkedQueue<Message>();
+		private volatile Action action; private volatile Budget budget; // read by other threads to report the progress
 		
 		public Result() { this(Collections.emptyList()); }
 		public Result(Collection<Tuple> tuples) { this.tuples = tuples; }
@@ -154,23 +316,55 @@ public class Batch {
 		public Collection<Tuple> getTuples() { return tuples; }
 		protected void setTuples(Collection<Tuple> tuples) { this.tuples = tuples; }
 		
-		public List<Message> getLog() { return log; }
+		/**
+		 * @return the outcome of the batch, failed if a test failed and stopped the batch
+		 */
+		public Test.Outcome getOutcome() { return outcome; }
+		protected void setOutcome(Test.Outcome outcome) { this.outcome = outcome; }
+		
+		/**
+		 * @return the action performed last (or currently) by the batch, null if none was performed yet
+		 */
+		public Action getAction() { return action; }
+		/**
+		 * @return the budget of the action performed last (or currently), to report the progress of a long running batch
+		 */
+		public Budget getBudget() { return budget; }
+		protected void setPerforming(Action action, Budget budget) { this.action = action; this.budget = budget; }
+		
+		/**
+		 * @return a snapshot of the messages logged so far, in the order they were logged
+		 */
+		public List<Message> getLog() { return Collections.unmodifiableList(new ArrayList<>(log)); }
 		@Override public void log(String format,Object... arguments) { log.add(new Message(format,arguments)); }
 		@Override public void log(String message,Throwable throwable) { log.add(new Message(message,throwable)); }
 		
+		/**
+		 * A log message, formatted when it is read first, so messages nobody reads are never formatted
+		 */
 		public static class Message {
-			public final String message;
+			/**
+			 * @deprecated use {@link #getMessage()}, the field is only set once the message was read
+			 */
+			@Deprecated public volatile String message;
 			public final Throwable throwable;
+			private final String format; private final Object[] arguments;
 			
-			public Message(String format,Object... arguments) { this(String.format(format,arguments)); }
+			public Message(String format,Object... arguments) { this(format,arguments,null); }
 			public Message(String message) { this(message,(Throwable)null); }
-			public Message(String message,Throwable throwable) {
-				this.message = message;
+			public Message(String message,Throwable throwable) { this(message,null,throwable); this.message = message; }
+			private Message(String format,Object[] arguments,Throwable throwable) {
+				this.format = format; this.arguments = arguments;
 				this.throwable = throwable;
 			}
 			
+			public String getMessage() {
+				if(message==null) message = String.format(format,arguments);
+				return message;
+			}
+			
 			@Override public String toString() {
-				return message+(throwable!=null?" ("+throwable.getMessage()+")":EMPTY);
+				return getMessage()+(throwable!=null?" ("+throwable.getMessage()+")":EMPTY);
 			}
 		}
 	}
@@ -184,6 +378,14 @@ public class Batch {
         	.help("very verbose (same as -v, also prints the results of each test / analysis performed)");
         parser.addArgument("-vvv").action(Arguments.storeTrue())
         	.help("extremely verbose (same as -vv, also logs all performed operations incl. parameters and prints stack traces)");
+        parser.addArgument("-s", "--seed").type(Long.class)
+        	.help("seed for all random operations (overrides the seed of the script, makes the results reproducible)");
+        parser.addArgument("--timeout").type(Long.class)
+        	.help("timeout in milliseconds for each operation without a timeout in the script (sequences timing out are skipped and reported to standard error)");
+        parser.addArgument("-p", "--progress").action(Arguments.storeTrue())
+        	.help("reports the progress and the estimated time remaining for the sequence file and for long running operations to standard error every "+PROGRESS_INTERVAL+" seconds");
+        parser.addArgument("-t", "--threads").type(Integer.class).setDefault(1)
+        	.help("number of sequences processed in parallel (results are printed in the order of the sequence file, the throughput is reported to standard error)");
         parser.addArgument("scriptfile")
         	.help("genetic code analysis toolkit script file (gcats)");
         parser.addArgument("sequencefile")
@@ -207,60 +409,171 @@ public class Batch {
 			if(extremelyVerbose) e.printStackTrace();
 			System.exit(1);
 		}
+		if(ns.get("seed")!=null) script.setSeed(ns.getLong("seed"));
+		if(ns.get("timeout")!=null) for(Action action:script.getActions())
+			if(action.getAttribute(TIMEOUT)==null) action.putAttribute(TIMEOUT, ns.getLong("timeout"));
 		
-		final List<String> veryVerboseOutput = new ArrayList<>();
+		final ThreadLocal<List<String>> veryVerboseOutput = ThreadLocal.withInitial(ArrayList::new); // per thread, as sequences may be processed in parallel
 		if(veryVerbose) script.streamActions(Test.class).forEach(action->action.putAttribute(TEST_HANDLER, new Test.Handler() {
 			@Override public void handle(Test test, boolean result) throws Test.Exception {
 				String message = String.format("Test \"%s\": %b", Operation.getName(action.getOperation()), result);
 				if(extremelyVerbose)
 					 test.getLogger().log(message);
-				else veryVerboseOutput.add(message);
+				else veryVerboseOutput.get().add(message);
 				handleDefault(test, result);
 			}
 		}));
 		if(!extremelyVerbose) script.streamActions(Analysis.class).forEach(action->action.putAttribute(ANALYSIS_HANDLER, new Analysis.Handler() {
 			@Override public void handle(bio.gcat.operation.analysis.Analysis.Result result) {
-				if(veryVerbose) veryVerboseOutput.add(result.toString());
+				if(veryVerbose) veryVerboseOutput.get().add(result.toString());
 			}
 		}));
 		
-		Result result = null, temporaryResult = null;
+		// the script is compiled into one batch, executions of a batch are independent of each other (each sequence gets its own generator,
+		// derived from the seed of the batch and the index of the sequence, so the output does not depend on the number of threads)
+		final Batch batch = script.createBatch();
+		final boolean progress = ns.getBoolean("progress");
+		final Set<Result> running = ConcurrentHashMap.newKeySet(); final AtomicLong processed = new AtomicLong(); // only tracked to report the progress
+		final BiFunction<String,Long,Printout> process = (line,index)->{
+			StringWriter buffer = new StringWriter(); PrintWriter writer = new PrintWriter(buffer);
+			Result result = null, temporaryResult = null;
+			veryVerboseOutput.get().clear();
+			try {
+				String tupleString = Tuple.tupleString(line);
+				if(verbose) writer.println(tupleString);
+				temporaryResult = new Result(Tuple.sliceTuples(tupleString));
+				if(progress) running.add(temporaryResult);
+				
+				result = batch.buildIterative(temporaryResult,index).call();
+				if(result.getOutcome().isTimedOut()) System.err.printf("Sequence %s timed out: %s%n", Ascii.truncate(line,40,"..."), result.getOutcome().getReason());
+				if(!result.getOutcome().isPassed()) result = null;
+			} catch(Exception e) {
+				if(!(e instanceof Test.Failed)) {
+					writer.flush();
+					return new Printout(buffer.toString(),0,e);
+				}
+			} finally {
+				if(progress) {
+					if(temporaryResult!=null) running.remove(temporaryResult);
+					processed.addAndGet(line.length()+1);
+				}
+			}
+			
+			if(extremelyVerbose)
+				temporaryResult.getLog().forEach(message->{ writer.println(message.getMessage()); });
+			else if(veryVerbose) {
+				veryVerboseOutput.get().forEach(writer::println);
+				veryVerboseOutput.get().clear();
+			}
+			
+			if(result!=null) {
+				result.getTuples().forEach(tuple->{
+					writer.print(tuple); writer.print(SPACE);
+				}); writer.println();
+			}
+			
+			if(verbose) writer.println();
+			writer.flush();
+			return new Printout(buffer.toString(),temporaryResult!=null?temporaryResult.getTuples().size():0,null);
+		};
+		
+		final int threads = ns.getInt("threads");
+		if(threads<1) {
+			System.err.println("The number of threads must be at least 1.");
+			System.exit(1);
+		}
+		
+		// output is buffered and printed strictly in the order of the sequence file, no matter how many threads are used
+		final PrintStream out = new PrintStream(new BufferedOutputStream(System.out,1<<16),false);
+		final Consumer<Printout> print = printout->{
+			out.print(printout.text);
+			if(printout.exception!=null) {
+				out.flush();
+				System.err.println("Failed to execute operation.");
+				if(extremelyVerbose) printout.exception.printStackTrace();
+				System.exit(1);
+			}
+		};
+		
+		long start = System.nanoTime(), sequences = 0, tuples = 0, read = 0;
+		ScheduledExecutorService reporter = null;
+		if(progress) {
+			final long length = new File(ns.getString("sequencefile")).length();
+			reporter = Executors.newSingleThreadScheduledExecutor(runnable->{
+				Thread thread = new Thread(runnable,"gcat-cli-progress");
+				thread.setDaemon(true);
+				return thread;
+			});
+			reporter.scheduleAtFixedRate(()->System.err.println(describeProgress(processed.get(),length,System.nanoTime()-start,running)),
+				PROGRESS_INTERVAL,PROGRESS_INTERVAL,TimeUnit.SECONDS);
+		}
 		try(BufferedReader reader = new BufferedReader(new InputStreamReader(new FileInputStream(new File(ns.getString("sequencefile"))), CHARSET))) {
-			String line; while((line=reader.readLine())!=null) {
-				try {
-					String tupleString = Tuple.tupleString(line);
-					if(verbose) System.out.println(tupleString);
-					temporaryResult = new Result(Tuple.sliceTuples(tupleString));
-					
-					result = script.createBatch().buildIterative(temporaryResult).call();
-				} catch(Exception e) {
-					if(!(e instanceof Test.Failed)) {
-						System.err.println("Failed to execute operation.");
-						if(extremelyVerbose) e.printStackTrace();
-						System.exit(1);
-					}
-				} finally {
-					if(extremelyVerbose)
-						temporaryResult.getLog().forEach(message->{ System.out.println(message.message); });
-					else if(veryVerbose) {
-						veryVerboseOutput.forEach(System.out::println);
-						veryVerboseOutput.clear();
-					}
-					
-					if(result!=null) {
-						result.getTuples().forEach(tuple->{
-							System.out.print(tuple); System.out.print(SPACE);
-						}); System.out.println();
+			if(threads==1) {
+				String line; while((line=reader.readLine())!=null) {
+					Printout printout = process.apply(line,read++);
+					print.accept(printout);
+					sequences++; tuples += printout.tuples;
+				}
+			} else try(ExecutionContext context = new ExecutionContext(threads,"gcat-cli")) {
+				// read ahead a bounded number of sequences, to keep all threads busy while waiting for the next sequence to print
+				Queue<ListenableFuture<Printout>> pending = new ArrayDeque<>();
+				String line; while(true) {
+					while(pending.size()<threads*READ_AHEAD&&(line=reader.readLine())!=null) {
+						final String submittedLine = line; final long index = read++;
+						pending.add(context.submit(null,()->process.apply(submittedLine,index)));
 					}
-					
-					if(verbose) System.out.println();
-					result = temporaryResult = null;
+					if(pending.isEmpty()) break;
+					Printout printout = Futures.getUnchecked(pending.poll());
+					print.accept(printout);
+					sequences++; tuples += printout.tuples;
 				}
 			}
 		} catch(IOException e) {
+			out.flush();
 			System.err.printf("Could not read sequence file: %s", e.getMessage());
 			if(extremelyVerbose) e.printStackTrace();
 			System.exit(1);
+		} finally {
+			out.flush();
+			if(reporter!=null) reporter.shutdownNow();
+		}
+		
+		if(threads>1) {
+			double seconds = Math.max(System.nanoTime()-start,1)/1e9;
+			System.err.printf(Locale.US,"Processed %d sequences (%d tuples) in %.2f s with %d threads, %.1f sequences/s, %.1f tuples/s.%n",
+				sequences,tuples,seconds,threads,sequences/seconds,tuples/seconds);
+		}
+	}
+	
+	/**
+	 * Describes the progress of the command line mode, estimated by the share of the sequence file processed, and the progress of
+	 * all long running operations currently performed, which declared their work (see {@link Budget#expect(long)})
+	 */
+	private static String describeProgress(long processed, long length, long elapsed, Collection<Result> running) {
+		StringBuilder text = new StringBuilder();
+		double share = length>0?Math.min((double)processed/length,1d):0d;
+		text.append(String.format("Processed %d%% of the sequence file",(int)(share*100)));
+		if(share>0d) text.append(", about ").append(Budget.formatDuration((long)(elapsed*(1d-share)/share))).append(" remaining");
+		for(Result result:running) {
+			Action action = result.getAction(); Budget budget = result.getBudget();
+			if(action!=null&&budget!=null&&budget.getProgress()<1d) // unknown (NaN) or completed operations are not reported
+				text.append(String.format("; operation \"%s\" %s",Operation.getName(action.getOperation()),budget));
+		}
+		return text.append('.').toString();
+	}
+	
+	/**
+	 * The output of one sequence of the command line mode, if an exception is set, the execution is aborted after the output is printed
+	 */
+	private static class Printout {
+		private final String text;
+		private final int tuples;
+		private final Exception exception;
+		
+		private Printout(String text, int tuples, Exception exception) {
+			this.text = text;
+			this.tuples = tuples;
+			this.exception = exception;
 		}
 	}
 }
@@ -0,0 +1,54 @@
+/*
+ * Copyright [2016] [Mannheim University of Applied Sciences]
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package bio.gcat.batch;
+
+import static bio.gcat.batch.Action.TaskAttribute.TEST_CRITERIA;
+import static bio.gcat.batch.Action.TaskAttribute.TEST_HANDLER;
+import static bio.gcat.batch.Action.TaskAttribute.valueOrDefault;
+
+import java.util.Comparator;
+import java.util.List;
+
+import bio.gcat.operation.Cost;
+import bio.gcat.operation.test.Test;
+
+/**
+ * The cost model of the tests of a batch. Consecutive tests commute, as they keep the tuples as they are, so a batch
+ * performs them in the order of their expected cost: cheap tests, which may stop the batch before any expensive one,
+ * first. The cost of a test is estimated with its declared {@link Cost} for the number of tuples only, not with measured
+ * times, so the order (and the log of a batch) only depends on the tuples and is the same in every run. Tests with equal
+ * costs keep the order of the script. Tests with a test handler are not reordered, as the handler observes the order of
+ * the tests.
+ */
+class Costs {
+	static boolean isCommuting(Action action) {
+		return Test.class.isAssignableFrom(action.getOperation())&&action.getAttribute(TEST_HANDLER)==null;
+	}
+	
+	/**
+	 * Sorts commuting tests by their expected cost, tests which never stop the batch come last
+	 */
+	static void order(List<Action> tests, int tuples) {
+		tests.sort(Comparator.comparingDouble(test->cost(test,tuples)));
+	}
+	
+	private static double cost(Action action, int tuples) {
+		if(valueOrDefault(action.getAttributes(),TEST_CRITERIA)==null)
+			return Double.POSITIVE_INFINITY; // never stops the batch
+		Cost cost = action.getOperation().getAnnotation(Cost.class);
+		return Math.pow(Math.max(tuples,1),cost!=null?cost.degree():1);
+	}
+}
@@ -0,0 +1,111 @@
+/*
+ * Copyright [2016] [Mannheim University of Applied Sciences]
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package bio.gcat.batch;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.function.UnaryOperator;
+
+import bio.gcat.Budget;
+import bio.gcat.log.InjectionLogger;
+import bio.gcat.nucleic.Tuple;
+import bio.gcat.operation.transformation.Transformation;
+
+/**
+ * Consecutive element-wise transformations of a batch, performed in one pass over the tuples. Pairs of adjacent
+ * involutions with equal values (e.g. reversing the tuples twice) are eliminated and reversals of the order are
+ * combined, as they commute with any mapping of the tuples. Every action of the fusion is still logged and gets
+ * its own random generator, so the log and the random operations of a batch do not change. The budget of an action
+ * (see {@link Budget}) only covers determining its mapping, the pass over the tuples is performed by the fusion.
+ */
+class Fusion {
+	private final List<Action> actions;
+	private final boolean[] performed;
+	private final boolean reverse;
+	
+	private Fusion(List<Action> actions) throws Exception {
+		this.actions = actions;
+		
+		performed = new boolean[actions.size()]; boolean reverse = false;
+		Deque<Integer> stack = new ArrayDeque<>(); // indices of the actions performed so far
+		for(int index=0;index<actions.size();index++) {
+			Action action = actions.get(index);
+			Transformation.Elementwise transformation = action.getElementwise();
+			Object[] values = action.getBoundValues();
+			if(transformation.reversesOrder(values))
+				reverse = !reverse;
+			
+			Action previous = !stack.isEmpty()?actions.get(stack.peek()):null;
+			if(previous!=null&&previous.getOperation()==action.getOperation()&&Arrays.equals(previous.getBoundValues(),values)&&transformation.isInvolution(values))
+				performed[stack.pop()] = false;
+			else {
+				stack.push(index);
+				performed[index] = true;
+			}
+		}
+		this.reverse = reverse;
+	}
+	
+	/**
+	 * @return the actions, with any consecutive element-wise transformations replaced by their fusion
+	 */
+	static List<Object> compile(List<Action> actions) throws Exception {
+		List<Object> plan = new ArrayList<>(actions.size()); List<Action> elementwise = new ArrayList<>();
+		for(Action action:actions)
+			if(action.isElementwise())
+				elementwise.add(action);
+			else {
+				fuse(plan,elementwise);
+				plan.add(action);
+			}
+		fuse(plan,elementwise);
+		return plan;
+	}
+	private static void fuse(List<Object> plan, List<Action> elementwise) throws Exception {
+		if(elementwise.size()>1)
+			plan.add(new Fusion(new ArrayList<>(elementwise)));
+		else plan.addAll(elementwise);
+		elementwise.clear();
+	}
+	
+	public List<Action> getActions() { return Collections.unmodifiableList(actions); }
+	
+	Collection<Tuple> perform(Batch batch, Batch.Result result, SplittableRandom random) throws Exception {
+		Collection<Tuple> tuples = result.getTuples();
+		List<UnaryOperator<Tuple>> mappings = new ArrayList<>(actions.size());
+		for(int index=0;index<actions.size();index++) {
+			Action action = actions.get(index);
+			SplittableRandom actionRandom = random.split();
+			batch.logAction(result,action);
+			if(performed[index]) {
+				Action.Task task = InjectionLogger.injectLogger(result,action.new Task(tuples).setRandom(actionRandom));
+				result.setPerforming(action,task.getBudget());
+				UnaryOperator<Tuple> mapping = task.mapping();
+				if(!task.getOutcome().isPassed()) {
+					result.setOutcome(task.getOutcome());
+					return tuples;
+				} else if(mapping!=null) mappings.add(mapping);
+			}
+		}
+		return Transformation.Elementwise.perform(tuples,mappings,reverse);
+	}
+}
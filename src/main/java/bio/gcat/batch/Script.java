@@ -1,6 +1,7 @@
 package bio.gcat.batch;
 
 import static bio.gcat.Utilities.CHARSET;
+import static bio.gcat.batch.Action.TaskAttribute.ITERATIONS;
 import static bio.gcat.batch.Action.TaskAttribute.SPLIT_PICK;
 import static bio.gcat.batch.Action.TaskAttribute.SPLIT_PICK_ANY;
 import static bio.gcat.batch.Action.TaskAttribute.SPLIT_PICK_FIRST;
@@ -9,6 +10,7 @@ import static bio.gcat.batch.Action.TaskAttribute.TEST_CRITERIA;
 import static bio.gcat.batch.Action.TaskAttribute.TEST_CRITERIA_BREAK_IF_FALSE;
 import static bio.gcat.batch.Action.TaskAttribute.TEST_CRITERIA_BREAK_IF_TRUE;
 import static bio.gcat.batch.Action.TaskAttribute.TEST_CRITERIA_NEVER_BREAK;
+import static bio.gcat.batch.Action.TaskAttribute.TIMEOUT;
 
 import java.io.BufferedReader;
 import java.io.File;
@@ -28,6 +30,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Optional;
+import java.util.Set;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import java.util.stream.Stream;
@@ -35,6 +38,7 @@ import java.util.stream.Stream;
 import com.google.common.collect.BiMap;
 import com.google.common.collect.HashBiMap;
 import com.google.common.collect.ImmutableBiMap;
+import com.google.common.collect.ImmutableSet;
 
 import bio.gcat.Parameter;
 import bio.gcat.batch.Action.TaskAttribute;
@@ -47,19 +51,26 @@ public class Script {
 		SCRIPT_IDENTIFIER = "-- GENETIC CODE ANALYSIS TOOLKIT SCRIPT --"; 
 		
 	protected static final String
+		SEED_FORMAT = "seed=%d",
 		ATTRIBUTE_FORMAT = "%s=%s,",
 		VALUE_FORMAT = "%s,";
 
 	protected static final String
 		ATTRIBUTE_TEST_CRITERIA = "testCriteria",
-		ATTRIBUTE_SPLIT_PICK = "splitPick";
+		ATTRIBUTE_SPLIT_PICK = "splitPick",
+		ATTRIBUTE_TIMEOUT = "timeout",
+		ATTRIBUTE_ITERATIONS = "iterations";
+	
+	private static final Set<TaskAttribute> NUMERIC_ATTRIBUTES = ImmutableSet.of(TIMEOUT, ITERATIONS); // take any number instead of mapped values
 	
 	private static final Pattern
 		SCRIPT_IDENTIFIER_PATTERN = Pattern.compile("-+ ?GENETIC CODE ANALYSIS TOOLKIT SCRIPT ?-+"),
+		SEED_PATTERN = Pattern.compile("seed[^\\S\r\n]*=[^\\S\r\n]*(-?\\d+)"),
 		ACTION_PATTERN = Pattern.compile("((?:[A-Za-z_$][a-zA-Z0-9_$]*\\.)*[A-Za-z_$][a-zA-Z0-9_$]*)[^\\S\r\n]*(?:\\[([^\\]]*)\\])?[^\\S\r\n]*\\(((?:\\\\\\)|[^)])*)\\)"), //((?:[A-Za-z_$][a-zA-Z0-9_$]*\.)*[A-Za-z_$][a-zA-Z0-9_$]*)[^\S\r\n]*(?:\[([^\]]*)\])?[^\S\r\n]*\(((?:\\\)|[^)])*)\) 
 		COMMA_PATTERN = Pattern.compile("(?<!(?<![^\\\\]\\\\(?:\\\\{2}){0,10})\\\\),"); //(?<!(?<![^\\]\\(?:\\{2}){0,10})\\),
 		
 	private List<Action> actions = new ArrayList<>();
+	private Long seed;
 	
 	private final BiMap<TaskAttribute,String> attributeMap;
 	private final Map<TaskAttribute,BiMap<Object,String>> attributeValueMap;
@@ -82,7 +93,14 @@ public class Script {
 	public void addAction(Action action) { actions.add(action); }
 	public void removeAction(Action action) { actions.remove(action); }
 	
-	public Batch createBatch() { return new Batch(actions); }
+	public Long getSeed() { return seed; }
+	public void setSeed(Long seed) { this.seed = seed; }
+	
+	public Batch createBatch() {
+		Batch batch = new Batch(actions);
+		batch.setSeed(seed);
+		return batch;
+	}
 	
 	public void readFrom(File file) throws IOException {
 		try(Reader reader=new InputStreamReader(new FileInputStream(file), CHARSET)) {
@@ -100,6 +118,9 @@ public class Script {
 				if(!(identified=SCRIPT_IDENTIFIER_PATTERN.matcher(line).matches()))
 					throw new IOException("Script identifier missing. The given resource is not a valid script file.");
 				continue; // we have a script here
+			} else if((matcher=SEED_PATTERN.matcher(line)).matches()) {
+				seed = Long.parseLong(matcher.group(1)); // a seed, for reproducible random operations
+				continue;
 			} else if(!(matcher=ACTION_PATTERN.matcher(line)).matches())
 				throw new IOException(String.format("Action in line %d does not match the required format action[attribute1=value,...](value1,...). The given resource is not a valid script file.",count));
 			
@@ -117,6 +138,7 @@ public class Script {
 	public void writeTo(Writer writer) throws IOException {
 		CommaPrintWriter printWriter = new CommaPrintWriter(writer);
 		printWriter.append(SCRIPT_IDENTIFIER).println();
+		if(seed!=null) printWriter.format(SEED_FORMAT,seed).println();
 		
 		for(Action action:actions) {
 			// write one line per action: <NAME>[<TASK_ATTRIBUTE1>=<VALUE>,...](<ACTION_VALUE1>,...)
@@ -149,6 +171,12 @@ public class Script {
 		
 		for(Entry<TaskAttribute,Object> attribute:action.getAttributes().entrySet()) {			
 			String name = attributeMap.get(attribute.getKey());
+			if(name!=null&&NUMERIC_ATTRIBUTES.contains(attribute.getKey())) {
+				if(attribute.getValue() instanceof Number&&((Number)attribute.getValue()).longValue()>0)
+					writer.format(ATTRIBUTE_FORMAT,name,((Number)attribute.getValue()).longValue());
+				continue; // numeric attributes are stored as they are, zero is the default
+			}
+			
 			Map<Object,String> values = attributeValueMap.get(attribute.getKey());
 			if(name==null||values==null||!values.containsKey(attribute.getValue())) 
 				continue; // if the attribute map doesn't contain the attribute it can't be stored
@@ -193,6 +221,10 @@ public class Script {
 				
 			TaskAttribute attribute = Optional.ofNullable(attributeMap.inverse().get(likelyAttribute[0]))
 				.orElseThrow(()->new IOException(String.format("Unknown task attribute %s.",likelyAttribute[0])));
+			if(NUMERIC_ATTRIBUTES.contains(attribute)) try {
+				attributes.put(attribute,Long.parseLong(likelyAttribute[1]));
+				continue;
+			} catch(NumberFormatException e) { throw new IOException(String.format("Expected number for task attribute %s.",attribute.getName())); }
 			
 			Map<String,Object> values = attributeValueMap.getOrDefault(attribute,ImmutableBiMap.of()).inverse();
 			if(!values.containsKey(likelyAttribute[1])) // use contains, as attribute value may be null deliberately
@@ -237,6 +269,8 @@ public class Script {
 		BiMap<TaskAttribute,String> attributeMap = HashBiMap.create();
 		attributeMap.put(TEST_CRITERIA,"testCriteria");
 		attributeMap.put(SPLIT_PICK,"splitPick");
+		attributeMap.put(TIMEOUT,ATTRIBUTE_TIMEOUT);
+		attributeMap.put(ITERATIONS,ATTRIBUTE_ITERATIONS);
 		return attributeMap;
 	}
 	protected Map<TaskAttribute,BiMap<Object,String>> buildAttributeValueMap() {
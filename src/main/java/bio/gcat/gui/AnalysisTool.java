@@ -101,7 +101,9 @@ import java.util.Map.Entry;
 import java.util.NoSuchElementException;
 import java.util.Optional;
 import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import java.util.regex.PatternSyntaxException;
@@ -139,6 +141,7 @@ import javax.swing.ListCellRenderer;
 import javax.swing.ListSelectionModel;
 import javax.swing.SwingConstants;
 import javax.swing.SwingUtilities;
+import javax.swing.Timer;
 import javax.swing.UIManager;
 import javax.swing.WindowConstants;
 import javax.swing.border.Border;
@@ -160,10 +163,6 @@ import org.biojava.nbio.core.sequence.AccessionID;
 import org.biojava.nbio.core.sequence.DNASequence;
 import org.biojava.nbio.core.sequence.io.FastaReaderHelper;
 import org.biojava.nbio.core.sequence.io.FastaWriterHelper;
-import org.reflections.Reflections;
-import org.reflections.scanners.SubTypesScanner;
-import org.reflections.util.ClasspathHelper;
-import org.reflections.util.ConfigurationBuilder;
 
 import com.google.common.collect.Iterables;
 import com.google.common.collect.Lists;
@@ -173,8 +172,10 @@ import com.google.common.util.concurrent.ListenableFuture;
 import com.google.common.util.concurrent.ListeningExecutorService;
 import com.google.common.util.concurrent.MoreExecutors;
 
+import bio.gcat.Budget;
 import bio.gcat.Configurable;
 import bio.gcat.Documented;
+import bio.gcat.Index;
 import bio.gcat.Option;
 import bio.gcat.Parameter;
 import bio.gcat.Utilities;
@@ -202,6 +203,7 @@ import bio.gcat.gui.input.TesseraTable;
 import bio.gcat.log.InjectionLogger;
 import bio.gcat.nucleic.Acid;
 import bio.gcat.nucleic.Tuple;
+import bio.gcat.nucleic.helper.BDAHelper;
 import bio.gcat.nucleic.helper.GenBank;
 import bio.gcat.operation.Operation;
 import bio.gcat.operation.analysis.Analysis;
@@ -239,6 +241,7 @@ public class AnalysisTool extends JFrame implements ActionListener, NucleicListe
 	}
 	
 	protected static final long MAXIMUM_SEQUENCE_LENGTH = 1048576;
+	protected static final int PROGRESS_INTERVAL = 500; // milliseconds between two updates of the progress of running tasks
 	
 	private static final int
 		MENU_FILE = 0,
@@ -300,6 +303,7 @@ public class AnalysisTool extends JFrame implements ActionListener, NucleicListe
 	
 	protected final ListeningExecutorService service = MoreExecutors.listeningDecorator(Executors.newSingleThreadExecutor());
 	protected final List<ListenableFuture<Collection<Tuple>>> futures = Collections.synchronizedList(new LinkedList<>());
+	protected final Map<Future<?>,Budget> budgets = new ConcurrentHashMap<>(); // to report the progress of the tasks
 	protected final Map<TaskAttribute,Object> attributes;
 	protected int futureModifications;
 	
@@ -313,6 +317,7 @@ public class AnalysisTool extends JFrame implements ActionListener, NucleicListe
 	private JToolBar[] toolbar;
 	private JLabel status;
 	private JButton cancel;
+	private Timer progress;
 	
 	private CatalogPanel catalogPanel;
 	private FindDialog findDialog;
@@ -629,6 +634,9 @@ public class AnalysisTool extends JFrame implements ActionListener, NucleicListe
 		status.setBorder(new EmptyBorder(0,5,0,5));
 		status.setHorizontalAlignment(JLabel.RIGHT);
 		bottom.add(status);
+		progress = new Timer(PROGRESS_INTERVAL,new ActionListener() {
+			@Override public void actionPerformed(ActionEvent event) { updateStatus(); }
+		});
 		
 		cancel = new IconButton(getImageIcon("cancel"),"Cancel");
 		cancel.addActionListener(new ActionListener() {
@@ -800,10 +808,10 @@ public class AnalysisTool extends JFrame implements ActionListener, NucleicListe
 	}
 	protected ListenableFuture<Collection<Tuple>> submitTask(Task task) {
 		ListenableFuture<Collection<Tuple>> future = service.submit(InjectionLogger.injectLogger(consolePane,task));
-		futures.add(future); Futures.addCallback(future,new FutureCallback<Collection<Tuple>>() {
+		futures.add(future); budgets.put(future,task.getBudget()); Futures.addCallback(future,new FutureCallback<Collection<Tuple>>() {
 			@Override public void onFailure(Throwable thrown) { onSuccess(null); }
 			@Override public void onSuccess(Collection<Tuple> tuples) {
-				futures.remove(future);
+				futures.remove(future); budgets.remove(future);
 				updateStatus();
 			}
 		});
@@ -815,11 +823,14 @@ public class AnalysisTool extends JFrame implements ActionListener, NucleicListe
 			@Override public void run() {
 				int size = futures.size();
 				if(size>0) {
-					status.setText(size==1?"Computing...":"Computing ("+size+")...");
+					Budget budget = size==1?budgets.values().stream().findFirst().orElse(null):null; // report the progress of single tasks declaring their work
+					status.setText(size==1?(budget!=null&&!Double.isNaN(budget.getProgress())?"Computing ("+budget+")...":"Computing..."):"Computing ("+size+")...");
 					cancel.setVisible(true);
+					progress.start();
 				} else {
 					status.setText("Ready");
 					cancel.setVisible(false);
+					progress.stop();
 				}
 				editor.getTextPane().setEditable(futureModifications==0);
 			}
@@ -1349,7 +1360,10 @@ public class AnalysisTool extends JFrame implements ActionListener, NucleicListe
 		showBatchTool(); batch.addSequence(editor.getTupleList(),(String)optionLabel.getValue());
 	}
 	
-	public static BDATool getBDATool() { return bda!=null?bda:(bda=new BDATool()); }
+	public static BDATool getBDATool() {
+		if(bda==null) BDAHelper.setDefaultClassTable((bda=new BDATool())::getClassTable);
+		return bda;
+	}
 	public void showBDATool() {
 		BDATool bda = getBDATool();
 		if(!bda.isVisible()) {
@@ -1449,11 +1463,7 @@ public class AnalysisTool extends JFrame implements ActionListener, NucleicListe
 			add(trailer, constraints);
 			
 			Input input,defaultInput=null; inputs = new ArrayList<>();
-			Reflections inputReflections = new Reflections(new ConfigurationBuilder()
-				.addClassLoaders(ClasspathHelper.staticClassLoader(), ClasspathHelper.contextClassLoader()/*,ClassLoader.getSystemClassLoader()*/)
-				.setUrls(ClasspathHelper.forPackage(Input.class.getPackage().getName()))
-				.setScanners(new SubTypesScanner()));
-			for(Class<? extends Input> inputClass:inputReflections.getSubTypesOf(Input.class))
+			for(Class<? extends Input> inputClass:Index.getSubTypesOf(Input.class))
 				try {
 					inputs.add(input=inputClass.newInstance());
 					if(CodonWheel.class.equals(inputClass))
@@ -17,12 +17,12 @@ package bio.gcat.gui;
 
 import static bio.gcat.Utilities.CHARSET;
 import static bio.gcat.Utilities.EMPTY;
-import static bio.gcat.gui.BDATool.Helper.isPredefined;
-import static bio.gcat.gui.BDATool.Helper.readFrom;
-import static bio.gcat.gui.BDATool.Helper.toPair;
-import static bio.gcat.gui.BDATool.Helper.toSet;
-import static bio.gcat.gui.BDATool.Helper.toTuple;
-import static bio.gcat.gui.BDATool.Helper.writeTo;
+import static bio.gcat.nucleic.helper.BDAHelper.isPredefined;
+import static bio.gcat.nucleic.helper.BDAHelper.readFrom;
+import static bio.gcat.nucleic.helper.BDAHelper.toPair;
+import static bio.gcat.nucleic.helper.BDAHelper.toSet;
+import static bio.gcat.nucleic.helper.BDAHelper.toTuple;
+import static bio.gcat.nucleic.helper.BDAHelper.writeTo;
 import static bio.gcat.gui.helper.Guitilities.createMenuItem;
 import static bio.gcat.gui.helper.Guitilities.createMenuText;
 import static bio.gcat.gui.helper.Guitilities.createSeparator;
@@ -48,7 +48,6 @@ import java.awt.event.KeyAdapter;
 import java.awt.event.KeyEvent;
 import java.awt.event.MouseAdapter;
 import java.awt.event.MouseEvent;
-import java.io.BufferedReader;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileOutputStream;
@@ -56,14 +55,9 @@ import java.io.IOException;
 import java.io.InputStreamReader;
 import java.io.OutputStreamWriter;
 import java.io.Reader;
-import java.io.StringReader;
-import java.io.StringWriter;
 import java.io.Writer;
-import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 import javax.swing.DefaultListCellRenderer;
 import javax.swing.GroupLayout;
@@ -99,20 +93,16 @@ import javax.swing.table.DefaultTableCellRenderer;
 import org.apache.commons.math3.util.Pair;
 
 import bio.gcat.Utilities.FileNameExtensionFileChooser;
-import bio.gcat.geneticcode.dich.Adenine$;
 import bio.gcat.geneticcode.dich.AntiCodonBDA$;
 import bio.gcat.geneticcode.dich.BinaryDichotomicAlgorithm;
-import bio.gcat.geneticcode.dich.Classifier;
 import bio.gcat.geneticcode.dich.Compound;
-import bio.gcat.geneticcode.dich.Cytosine$;
-import bio.gcat.geneticcode.dich.Guanine$;
 import bio.gcat.geneticcode.dich.ParityBDA$;
 import bio.gcat.geneticcode.dich.RumerBDA$;
-import bio.gcat.geneticcode.dich.Uracil$;
 import bio.gcat.gui.helper.Guitilities;
 import bio.gcat.gui.helper.ListTableModel;
 import bio.gcat.nucleic.Acid;
 import bio.gcat.nucleic.Base;
+import bio.gcat.nucleic.helper.BDAHelper;
 
 public class BDATool extends JFrame implements ActionListener, ListDataListener, ListSelectionListener {
 	private static final long serialVersionUID = 1l;
@@ -143,6 +133,7 @@ public class BDATool extends JFrame implements ActionListener, ListDataListener,
 	private BinaryDichotomicAlgorithmPanel bdaPanel;
 	private JPanel tablePanel;
 	private bio.gcat.geneticcode.dich.ui.JGeneticCodeTable table;
+	private bio.gcat.geneticcode.dich.ct.ClassTable classTable; // cached, until the BDAs change
 	
 	public BDATool() {
 		super("BDA Tool - "+AnalysisTool.NAME);
@@ -229,6 +220,7 @@ public class BDATool extends JFrame implements ActionListener, ListDataListener,
 	@Override public void intervalRemoved(ListDataEvent event) { contentsChanged(event); }
 	@Override public void intervalAdded(ListDataEvent event) { contentsChanged(event); }
 	@Override public void contentsChanged(ListDataEvent event) {
+		classTable = null;
 		enableBinaryDichotomicAlgorithmMenus();
 		revalidateGeneticCodeTable();
 	}
@@ -293,14 +285,8 @@ public class BDATool extends JFrame implements ActionListener, ListDataListener,
 	public void hideDialog() { setVisible(false); }
 	
 	public List<BinaryDichotomicAlgorithm> getBinaryDichotomicAlgorithms() { return bdaPanel.getBinaryDichotomicAlgorithms(); }
-	@SuppressWarnings("unchecked") public bio.gcat.geneticcode.dich.ct.ClassTable getClassTable() {
-    scala.collection.immutable.List<?> bdas =
-     	scala.collection.JavaConversions.collectionAsScalaIterable(getBinaryDichotomicAlgorithms()).toList();
-    return bdas.isEmpty()?null:new bio.gcat.geneticcode.dich.ct.ClassTable(
-  		(scala.collection.immutable.List<Classifier<Object>>)bdas,
-				bio.gcat.geneticcode.dich.IUPAC.STANDARD(),
-			new bio.gcat.geneticcode.dich.IdAminoAcidProperty(1));
-    	
+	public bio.gcat.geneticcode.dich.ct.ClassTable getClassTable() {
+		return classTable!=null?classTable:(classTable=BDAHelper.toClassTable(getBinaryDichotomicAlgorithms()));
 	}
 	
 	private void revalidateGeneticCodeTable() {
@@ -603,7 +589,7 @@ public class BDATool extends JFrame implements ActionListener, ListDataListener,
 			@Override public Object getValueAt(BinaryDichotomicAlgorithm bda,int columnIndex) {
 				switch(columnIndex) {
 				case 0: //BDA (name)
-					return Helper.getName(bda);
+					return BDAHelper.getName(bda);
 				case 1: //(i1,i2)
 					return "("+(bda.i1()+1)+","+(bda.i2()+1)+")";
 				case 2: //Q1
@@ -644,7 +630,7 @@ public class BDATool extends JFrame implements ActionListener, ListDataListener,
 					private static final long serialVersionUID = 1l;
 					@Override public Component getListCellRendererComponent(JList<?> list,Object value,int index,boolean isSelected,boolean cellHasFocus) {
 						super.getListCellRendererComponent(list,value,index,isSelected,cellHasFocus);
-						setText(Helper.getName((BinaryDichotomicAlgorithm)value));
+						setText(BDAHelper.getName((BinaryDichotomicAlgorithm)value));
 						return this;
 					}
 				});
@@ -722,99 +708,6 @@ public class BDATool extends JFrame implements ActionListener, ListDataListener,
 		}
 	}
 	
-	public static class Helper {
-		private static final Pattern BDA_PATTERN = Pattern.compile("\\((\\d),(\\d)\\) \\((\\w),(\\w)\\) \\{(\\w),(\\w)\\}");
-		
-		public static String toString(Collection<BinaryDichotomicAlgorithm> bdas) {
-			StringWriter writer = new StringWriter();
-			try { writeTo(writer, bdas); } catch(IOException e) { /* nothing to do here */ }
-			return writer.toString();
-		}
-		public static Collection<BinaryDichotomicAlgorithm> parseString(String string) throws IOException {			
-			return readFrom(new StringReader(string));
-		}
-		
-		public static void writeFile(File file,Collection<BinaryDichotomicAlgorithm> bdas) throws IOException {
-			try(Writer writer=new OutputStreamWriter(new FileOutputStream(file), CHARSET)) { writeTo(writer,bdas); }
-		}
-		public static void writeTo(Writer writer,Collection<BinaryDichotomicAlgorithm> bdas) throws IOException {
-			for(BinaryDichotomicAlgorithm bda:bdas) {
-				Pair<Base,Base> q1 = toPair(bda.q1()), q2 = toPair(bda.q2());
-				writer.write(String.format("(%d,%d) (%C,%C) {%C,%C}\n",
-					bda.i1()+1,bda.i2()+1,q1.getFirst().letter,q1.getSecond().letter,q2.getFirst().letter,q2.getSecond().letter));
-			}
-		}
-		
-		public static List<BinaryDichotomicAlgorithm> readFile(File file) throws IOException {
-			try(Reader reader=new InputStreamReader(new FileInputStream(file), CHARSET)) { return readFrom(reader); }
-		}
-		public static List<BinaryDichotomicAlgorithm> readFrom(Reader reader) throws IOException {
-			List<BinaryDichotomicAlgorithm> bdas = new ArrayList<>();
-			String line; Matcher matcher; BufferedReader buffer = new BufferedReader(reader);			
-			while((line=buffer.readLine())!=null) {
-				if(line.isEmpty()) continue;
-				else if((matcher=BDA_PATTERN.matcher(line)).matches()) {
-			  	bdas.add(new BinaryDichotomicAlgorithm(Integer.parseInt(matcher.group(1))-1,Integer.parseInt(matcher.group(2))-1,
-		  			toTuple(new Pair<Base,Base>(Base.valueOf(matcher.group(3).charAt(0)),Base.valueOf(matcher.group(4).charAt(0)))),
-		  			toSet(new Pair<Base,Base>(Base.valueOf(matcher.group(5).charAt(0)),Base.valueOf(matcher.group(6).charAt(0))))));
-				} else throw new IOException("Unknown line format for BDA \""+line+"\", expected (%d,%d) (%C,%C) {%C,%C}");
-			} return bdas;
-		}
-		
-		public static String getName(BinaryDichotomicAlgorithm bda) {
-			if(RumerBDA$.MODULE$.equals(bda))
-				return "Rumer";
-			else if(ParityBDA$.MODULE$.equals(bda))
-				return "Partiy";
-			else if(AntiCodonBDA$.MODULE$.equals(bda))
-				return "Complementary";
-			else return "Other";
-		}
-		public static boolean isPredefined(BinaryDichotomicAlgorithm bda) {
-			return RumerBDA$.MODULE$.equals(bda)
-					|| ParityBDA$.MODULE$.equals(bda)
-					|| AntiCodonBDA$.MODULE$.equals(bda);
-		}
-		
-		public static Pair<Base,Base> toPair(scala.Tuple2<Compound,Compound> tuple) {
-			return new Pair<Base,Base>(toBase(tuple._1),toBase(tuple._2));
-		}
-		public static Pair<Base,Base> toPair(scala.collection.Set<Compound> set) {
-			scala.collection.Iterator<Compound> compounds =
-				set.iterator();
-			return new Pair<Base,Base>(toBase(compounds.next()),toBase(compounds.next()));
-		}
-		public static scala.Tuple2<Compound,Compound> toTuple(Pair<Base,Base> bases) {
-			return new scala.Tuple2<Compound,Compound>(
-					toCompound(bases.getFirst()),toCompound(bases.getSecond()));
-		}
-		public static scala.collection.immutable.Set<Compound> toSet(Pair<Base,Base> bases) {
-			scala.collection.immutable.HashSet<Compound> set =
-		  		new scala.collection.immutable.HashSet<>();
-	  	return set.$plus(toCompound(bases.getFirst())).$plus(toCompound(bases.getSecond()));
-		}
-		
-		public static Base toBase(Compound compound) {
-			if(compound.equals(Adenine$.MODULE$))
-				return Base.ADENINE;
-			else if(compound.equals(Uracil$.MODULE$))
-				return Base.URACIL;
-			else if(compound.equals(Cytosine$.MODULE$))
-				return Base.CYTOSINE;
-			else if(compound.equals(Guanine$.MODULE$))
-				return Base.GUANINE;
-			else return null;
-		}
-		public static Compound toCompound(Base base) {
-			switch(base) {
-			case ADENINE: return Adenine$.MODULE$;
-			case URACIL: case THYMINE: return Uracil$.MODULE$;
-			case CYTOSINE: return Cytosine$.MODULE$;
-			case GUANINE: return Guanine$.MODULE$;
-			default: return null; }
-		}
-	}
-	
 	public static void main(String[] args) {
 		Guitilities.prepareLookAndFeel();
 		SwingUtilities.invokeLater(new Runnable() {
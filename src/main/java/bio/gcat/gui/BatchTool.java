@@ -27,6 +27,7 @@ import static bio.gcat.batch.Action.TaskAttribute.TEST_CRITERIA;
 import static bio.gcat.batch.Action.TaskAttribute.TEST_CRITERIA_BREAK_IF_FALSE;
 import static bio.gcat.batch.Action.TaskAttribute.TEST_CRITERIA_BREAK_IF_TRUE;
 import static bio.gcat.batch.Action.TaskAttribute.TEST_CRITERIA_NEVER_BREAK;
+import static bio.gcat.batch.Action.TaskAttribute.TIMEOUT;
 import static bio.gcat.gui.AnalysisTool.FASTA_EXTENSION_FILTER;
 import static bio.gcat.gui.AnalysisTool.GENETIC_EXTENSION_FILTER;
 import static bio.gcat.gui.AnalysisTool.TEXT_EXTENSION_FILTER;
@@ -76,7 +77,9 @@ import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Optional;
 import java.util.Random;
+import java.util.concurrent.CancellationException;
 import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 import java.util.function.BooleanSupplier;
 import java.util.stream.Collectors;
 
@@ -105,6 +108,7 @@ import javax.swing.ListModel;
 import javax.swing.ListSelectionModel;
 import javax.swing.SpringLayout;
 import javax.swing.SwingConstants;
+import javax.swing.Timer;
 import javax.swing.border.Border;
 import javax.swing.border.CompoundBorder;
 import javax.swing.border.EmptyBorder;
@@ -133,6 +137,7 @@ import com.google.common.util.concurrent.ListeningExecutorService;
 import com.google.common.util.concurrent.MoreExecutors;
 import com.google.common.util.concurrent.ThreadFactoryBuilder;
 
+import bio.gcat.Budget;
 import bio.gcat.Option;
 import bio.gcat.Parameter;
 import bio.gcat.Utilities.FileNameExtensionFileChooser;
@@ -204,7 +209,8 @@ public class BatchTool extends JFrame implements ActionListener, ListDataListene
 	private static final Parameter
 		PARAMETER_TEST_CRITERIA = new TaskAttributeParameter(TEST_CRITERIA, "Test Criteria", TEST_CRITERIA_BREAK_IF_FALSE,
 			new Boolean[]{TEST_CRITERIA_BREAK_IF_FALSE,TEST_CRITERIA_BREAK_IF_TRUE,TEST_CRITERIA_NEVER_BREAK},
-			"Break If False", "Break If True", "Never Break");
+			"Break If False", "Break If True", "Never Break"),
+		PARAMETER_TIMEOUT = new TaskAttributeParameter(TIMEOUT, "Timeout (ms)", 0, 0, Integer.MAX_VALUE, 1000);
 
 	protected final ListeningExecutorService service = MoreExecutors.listeningDecorator(
 		Executors.newFixedThreadPool(Math.max(1,Runtime.getRuntime().availableProcessors()-2),
@@ -244,6 +250,7 @@ public class BatchTool extends JFrame implements ActionListener, ListDataListene
 	private JToolBar[] toolbar;
 	private JLabel status;
 	private JButton cancel;
+	private Timer progress;
 
 	private ActionPanel actionPanel;
 	private SequenceList sequenceList;
@@ -344,6 +351,9 @@ public class BatchTool extends JFrame implements ActionListener, ListDataListene
 		status.setBorder(new EmptyBorder(0,5,0,5));
 		status.setHorizontalAlignment(JLabel.RIGHT);
 		bottom.add(status);
+		progress = new Timer(AnalysisTool.PROGRESS_INTERVAL,new ActionListener() {
+			@Override public void actionPerformed(ActionEvent event) { numbers.repaint(); updateStatus(); }
+		});
 
 		cancel = new JButton(getImageIcon("cancel"));
 		cancel.setFocusable(false); cancel.setBorderPainted(false);
@@ -613,7 +623,7 @@ public class BatchTool extends JFrame implements ActionListener, ListDataListene
 			model.change(item);
 
 			updateConsole();
-			Futures.addCallback(batch.submit(batch.buildIterative(item.result), service, new BooleanSupplier() {
+			addFuture(batch.submit(batch.buildIterative(item.result), service, new BooleanSupplier() {
 				@Override public boolean getAsBoolean() {
 					item.status = Status.ACTIVE;
 					model.change(item);
@@ -624,12 +634,12 @@ public class BatchTool extends JFrame implements ActionListener, ListDataListene
 				@Override public void onSuccess(Result result) {
 					item.tuples = result.getTuples();
 					item.result = result;
-					item.status = Status.SUCCESS;
+					item.status = result.getOutcome().isFailed()?Status.FAILURE:result.getOutcome().isTimedOut()?Status.TIMEOUT:Status.SUCCESS;
 					model.change(item);
 					updateConsole();
 				}
 				@Override public void onFailure(Throwable thrown) {
-					item.status = Status.FAILURE;
+					item.status = thrown instanceof CancellationException?Status.IDLE:Status.FAILURE;
 					model.change(item);
 					updateConsole();
 				}
@@ -652,7 +662,8 @@ public class BatchTool extends JFrame implements ActionListener, ListDataListene
 			@Override public void onFailure(Throwable thrown) {
 				if(callback!=null) callback.onFailure(thrown);
 				futures.remove(future); updateStatus();
-				thrown.printStackTrace();
+				if(!(thrown instanceof CancellationException))
+					thrown.printStackTrace();
 			}
 		});
 	}
@@ -670,11 +681,17 @@ public class BatchTool extends JFrame implements ActionListener, ListDataListene
 						.append(status.getCount()).append(SPACE).append(firstToUpper(status.getElement().toString())).append("</span>").append(seperator);
 				}
 				if(futures.size()>0) {
-					status.setText(text.append("Loading / Computing...").toString());
+					long remaining = -1l; // the longest time remaining of the operations currently performed, which declared their work
+					for(SequenceListItem item:sequenceList.getItems())
+						if(item.status==Status.ACTIVE&&item.result!=null&&item.result.getBudget()!=null)
+							remaining = Math.max(remaining,item.result.getBudget().getRemaining(TimeUnit.NANOSECONDS));
+					status.setText(text.append("Loading / Computing").append(remaining>0l?" (about "+Budget.formatDuration(remaining)+" remaining)":EMPTY).append("...").toString());
 					cancel.setVisible(true);
+					progress.start();
 				} else {
 					status.setText(text.append("Ready").toString());
 					cancel.setVisible(false);
+					progress.stop();
 				}
 			}
 		});
@@ -686,9 +703,9 @@ public class BatchTool extends JFrame implements ActionListener, ListDataListene
 				SequenceListItem item = sequenceList.getSelectedValue();
 				if(item!=null&&item.result!=null) for(Message message:new ArrayList<>(item.result.getLog())) {
 					if(message.throwable!=null) {
-						consolePane.appendText(message.message, ConsolePane.FAILURE);
+						consolePane.appendText(message.getMessage(), ConsolePane.FAILURE);
 						consolePane.appendText(Optional.ofNullable(message.throwable.getMessage()).orElse("Unknown cause"), ConsolePane.FAILURE);
-					} else consolePane.appendText(message.message);
+					} else consolePane.appendText(message.getMessage());
 				}
 			}
 		});
@@ -703,6 +720,8 @@ public class BatchTool extends JFrame implements ActionListener, ListDataListene
 			parameters = parameters!=null?Arrays.copyOf(parameters,parameters.length+1):new Parameter[1];
 			parameters[parameters.length-1] = parameterSplitPick;
 		}
+		parameters = parameters!=null?Arrays.copyOf(parameters,parameters.length+1):new Parameter[1];
+		parameters[parameters.length-1] = PARAMETER_TIMEOUT; // any operation may time out
 		return parameters;
 	}
 
@@ -1084,6 +1103,7 @@ public class BatchTool extends JFrame implements ActionListener, ListDataListene
 		ACTIVE(new Color(45,101,255)),
 		SUCCESS(new Color(183,255,66)),
 		FAILURE(new Color(255,75,15)),
+		TIMEOUT(new Color(255,186,0)),
 		EXCEPTION(new Color(255,0,25));
 
 		public final Color color;
@@ -1248,12 +1268,19 @@ public class BatchTool extends JFrame implements ActionListener, ListDataListene
 			if(startIndex!=-1) for(int index=startIndex;index<=endIndex;index++) {
 				int indexY = sequenceList.indexToLocation(index).y, height = metrics.getHeight();
 
-				graphics.setColor(getBackground());
+				graphics.setColor(getBackground()); double progress = Double.NaN;
 				try {
 					SequenceListItem item = sequenceList.getModel().getElementAt(index);
 					if(item.status!=null) graphics.setColor(item.status.color);
+					if(item.status==Status.ACTIVE&&item.result!=null&&item.result.getBudget()!=null)
+						progress = item.result.getBudget().getProgress();
 				} catch(IndexOutOfBoundsException e) { /* nothing to do here */ }
-				graphics.fillRect(0,indexY,getWidth(),height);
+				if(!Double.isNaN(progress)) { // show the progress of the current operation as a bar
+					int progressWidth = (int)(getWidth()*progress);
+					graphics.fillRect(0,indexY,progressWidth,height);
+					graphics.setColor(Status.IDLE.color);
+					graphics.fillRect(progressWidth,indexY,getWidth()-progressWidth,height);
+				} else graphics.fillRect(0,indexY,getWidth(),height);
 
 				graphics.setColor(getForeground());
 				String indexText = Integer.toString(index+1);
@@ -101,14 +101,9 @@ import javax.swing.undo.CompoundEdit;
 import javax.swing.undo.UndoManager;
 import javax.swing.undo.UndoableEdit;
 
-import org.reflections.Reflections;
-import org.reflections.scanners.SubTypesScanner;
-import org.reflections.scanners.TypeAnnotationsScanner;
-import org.reflections.util.ClasspathHelper;
-import org.reflections.util.ConfigurationBuilder;
-
 import bio.gcat.Documented;
 import bio.gcat.Help;
+import bio.gcat.Index;
 import bio.gcat.Option;
 import bio.gcat.Utilities;
 import bio.gcat.Utilities.ArrayComparator;
@@ -355,11 +350,7 @@ public class NucleicEditor extends JRootPane {
 		displays = new ArrayList<NucleicDisplay>();		
 		addDisplay(new NoDisplay());
 		
-		Reflections displayReflections = new Reflections(new ConfigurationBuilder()
-			.addClassLoaders(ClasspathHelper.staticClassLoader(),ClasspathHelper.contextClassLoader()/*,ClassLoader.getSystemClassLoader()*/)
-			.setUrls(ClasspathHelper.forPackage(NucleicDisplay.class.getPackage().getName()))
-			.setScanners(new SubTypesScanner()));
-		for(Class<? extends NucleicDisplay> displayClass:displayReflections.getSubTypesOf(NucleicDisplay.class))
+		for(Class<? extends NucleicDisplay> displayClass:Index.getSubTypesOf(NucleicDisplay.class))
 			if(!NoDisplay.class.equals(displayClass)&&!HelpDisplay.class.equals(displayClass)) try {
 				addDisplay(displayClass.getConstructor(new Class[]{NucleicEditor.class}).newInstance(this));
 			}	catch(Exception e) { e.printStackTrace(); }
@@ -797,11 +788,7 @@ public class NucleicEditor extends JRootPane {
 			});
 			
 			pages = new TreeMap<>(new ArrayComparator<>());
-			Reflections documentedReflections = new Reflections(new ConfigurationBuilder()
-				.addClassLoaders(ClasspathHelper.staticClassLoader(),ClasspathHelper.contextClassLoader()/*,ClassLoader.getSystemClassLoader()*/)
-				.setUrls(ClasspathHelper.forPackage(Documented.class.getPackage().getName()))
-				.setScanners(new TypeAnnotationsScanner()));
-			for(Class<?> documentedClass:documentedReflections.getTypesAnnotatedWith(Documented.class)) {
+			for(Class<?> documentedClass:Index.getTypesAnnotatedWith(Documented.class)) {
 				Documented documented = documentedClass.getAnnotation(Documented.class);
 				pages.put(Utilities.add(documented.category(), documented.title()), documented.resource());
 			} pages.putAll(Help.GENERAL_HELP_PAGES);
@@ -16,12 +16,21 @@
 package bio.gcat.log;
 
 import java.util.Map;
-import java.util.WeakHashMap;
+import java.util.concurrent.Callable;
 
+import com.google.common.collect.MapMaker;
+
+/**
+ * A logger delegating to an injected logger. Any {@link Injectable} object has its own injection logger, kept in a
+ * concurrent map with weak keys. Tasks may install their logger as the logging context of the current thread while
+ * they are performed (see {@link #call(Logger, Callable)}), so objects used by the task (e.g. operations) log to the
+ * task, without an injection and without a look-up in the map.
+ */
 public class InjectionLogger implements Logger {
-	private final static Map<Object,Logger> injections = new WeakHashMap<Object,Logger>();
+	private final static Map<Object,InjectionLogger> injections = new MapMaker().weakKeys().makeMap();
+	private final static ThreadLocal<Logger> CURRENT = new ThreadLocal<>();
 	
-	private Logger logger;
+	private volatile Logger logger;
 	
 	public void injectLogger(Logger logger) { this.logger = logger; }
 	
@@ -31,18 +40,34 @@ public class InjectionLogger implements Logger {
 		return object;
 	}
 	
+	/**
+	 * @return the logger installed as the logging context of this thread, or null
+	 */
+	public static Logger current() { return CURRENT.get(); }
+	
+	/**
+	 * Call the callable with the given logger installed as the logging context of this thread.
+	 */
+	public static <V> V call(Logger logger, Callable<V> callable) throws Exception {
+		if(logger==null) return callable.call();
+		Logger previous = CURRENT.get();
+		CURRENT.set(logger);
+		try { return callable.call(); }
+		finally { if(previous!=null) CURRENT.set(previous); else CURRENT.remove(); }
+	}
+	
 	@Override public void log(String format,Object... arguments) {
-		if(this.logger!=null) logger.log(format,arguments);
+		Logger logger = this.logger;
+		if(logger!=null) logger.log(format,arguments);
 	}
 	@Override public void log(String message,Throwable throwable) {
-		if(this.logger!=null) logger.log(message,throwable);
+		Logger logger = this.logger;
+		if(logger!=null) logger.log(message,throwable);
 	}
 	
 	public interface Injectable {
 		default public Logger getLogger() {
-			Logger logger = injections.getOrDefault(this, new InjectionLogger());
-			injections.put(this,logger);
-			return logger;
+			return injections.computeIfAbsent(this,object->new InjectionLogger());
 		}
 	}
 }
\ No newline at end of file
@@ -0,0 +1,222 @@
+/*
+ * Copyright [2016] [Mannheim University of Applied Sciences]
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package bio.gcat.nucleic;
+
+import static bio.gcat.nucleic.Acid.DNA;
+import static bio.gcat.nucleic.Acid.RNA;
+import static bio.gcat.nucleic.Base.THYMINE;
+import static bio.gcat.nucleic.Base.URACIL;
+import static bio.gcat.nucleic.Compound.STOP;
+import static bio.gcat.nucleic.Compound.UNKNOWN;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.ObjLongConsumer;
+
+/**
+ * A histogram of tuples, counted into a primitive array indexed by tuple code. The code of a
+ * tuple with up to {@link #MAX_LENGTH} bases out of A, G, C, T and U is its base-5 number plus
+ * the offset for its length. Tuples with compound bases or longer tuples are counted separately.
+ * Compound (amino acid) counts are derived from the tuple counts at the end, with one lookup per
+ * distinct code instead of per tuple.
+ */
+public final class TupleHistogram {
+	public static final int MAX_LENGTH = 6;
+
+	private static final int RADIX = 5; // ADENINE, GUANINE, CYTOSINE, THYMINE, URACIL
+	private static final int[] OFFSET = new int[MAX_LENGTH+2];
+	static { for(int length=0,power=1;length<=MAX_LENGTH;length++,power*=RADIX) OFFSET[length+1] = OFFSET[length]+power; }
+	private static final Base[] DIGIT_BASE = Arrays.copyOf(Base.values(),RADIX);
+	private static final Base[] LETTER_BASE = new Base['Z'-'A'+1];
+	static { for(Base base:Base.values()) LETTER_BASE[base.letter-'A'] = base; }
+	
+	private static final int BUFFER_SIZE = 1<<16;
+	private static final long MAP_THRESHOLD = 1l<<20, MAP_REGION = 1l<<30; // files larger than 1 MiB are mapped, in regions of 1 GiB
+
+	private static final Compound[] COMPOUNDS = Compound.values();
+	private static final byte[] CODE_COMPOUND = new byte[OFFSET[5]]; // compound ordinal for any code up to length 4 (tesseras)
+	static {
+		for(int code=0;code<CODE_COMPOUND.length;code++)
+			CODE_COMPOUND[code] = (byte)compound(tuple(code)).ordinal();
+	}
+
+	private final long[] counts = new long[OFFSET[MAX_LENGTH+1]];
+	private Map<Tuple,Long> overflow; // tuples with compound bases or longer than MAX_LENGTH
+
+	public TupleHistogram() {}
+	public TupleHistogram(Collection<Tuple> tuples) { addAll(tuples); }
+
+	/**
+	 * @return the code of the tuple, or -1 if the tuple can not be coded
+	 */
+	public static int code(Tuple tuple) {
+		Base[] bases = tuple.getBases();
+		int length = bases.length, code = 0;
+		if(length>MAX_LENGTH) return -1;
+		for(int index=0;index<length;index++) {
+			int digit = bases[index].ordinal();
+			if(digit>=RADIX) return -1;
+			code = code*RADIX+digit;
+		} return OFFSET[length]+code;
+	}
+	public static Tuple tuple(int code) {
+		int length = 0; while(code>=OFFSET[length+1]) length++;
+		Base[] bases = new Base[length];
+		for(int index=length-1,value=code-OFFSET[length];index>=0;index--,value/=RADIX)
+			bases[index] = DIGIT_BASE[value%RADIX];
+		return new Tuple(bases);
+	}
+
+	public void add(Tuple tuple) { add(tuple,1); }
+	public void add(Tuple tuple, long count) {
+		if(tuple==null) return;
+		int code = code(tuple);
+		if(code!=-1) counts[code] += count;
+		else (overflow!=null?overflow:(overflow=new HashMap<>())).merge(tuple,count,Long::sum);
+	}
+	public void addAll(Collection<Tuple> tuples) { for(Tuple tuple:tuples) add(tuple); }
+	public void addAll(TupleHistogram histogram) {
+		for(int code=0;code<counts.length;code++)
+			counts[code] += histogram.counts[code];
+		if(histogram.overflow!=null) histogram.overflow.forEach(this::add);
+	}
+
+	/**
+	 * Count all tuples in a text file, treating the file the same as if each line was passed to
+	 * {@link Tuple#tupleString(String)} and {@link Tuple#splitTuples(String)} and all tuples were
+	 * normalized to the given acid. Large files are memory-mapped.
+	 */
+	public static TupleHistogram read(File file, Acid acid) throws IOException {
+		TupleHistogram histogram = new TupleHistogram();
+		Parser parser = histogram.new Parser(acid);
+		try(RandomAccessFile access = new RandomAccessFile(file,"r"); FileChannel channel = access.getChannel()) {
+			long size = channel.size();
+			if(size>=MAP_THRESHOLD)
+				for(long position=0;position<size;position+=MAP_REGION)
+					parser.parse(channel.map(MapMode.READ_ONLY,position,Math.min(MAP_REGION,size-position)));
+			else {
+				ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+				while(channel.read(buffer)!=-1) {
+					buffer.flip(); parser.parse(buffer); buffer.clear(); }
+			}
+		} parser.finish();
+		return histogram;
+	}
+	/**
+	 * Count all tuples in a text stream, see {@link #read(File, Acid)}
+	 */
+	public static TupleHistogram read(InputStream input, Acid acid) throws IOException {
+		TupleHistogram histogram = new TupleHistogram();
+		Parser parser = histogram.new Parser(acid);
+		byte[] buffer = new byte[BUFFER_SIZE]; int read;
+		while((read=input.read(buffer))!=-1)
+			parser.parse(ByteBuffer.wrap(buffer,0,read));
+		parser.finish();
+		return histogram;
+	}
+	
+	public long count(Tuple tuple) {
+		int code = code(tuple);
+		return code!=-1?counts[code]:overflow!=null?overflow.getOrDefault(tuple,0l):0l;
+	}
+	public long total() {
+		long total = 0;
+		for(long count:counts) total += count;
+		if(overflow!=null) for(long count:overflow.values()) total += count;
+		return total;
+	}
+	public boolean isEmpty() { return total()==0; }
+
+	/**
+	 * @return the count of each compound indexed by its ordinal, stop codons are counted as {@link Compound#STOP}, tuples without compound as {@link Compound#UNKNOWN}
+	 */
+	public long[] compounds() {
+		long[] compounds = new long[COMPOUNDS.length];
+		for(int code=0;code<counts.length;code++)
+			if(counts[code]!=0) compounds[code<CODE_COMPOUND.length?CODE_COMPOUND[code]:UNKNOWN.ordinal()] += counts[code];
+		if(overflow!=null) overflow.forEach((tuple,count)->compounds[compound(tuple).ordinal()] += count);
+		return compounds;
+	}
+	public long starts() {
+		long starts = 0;
+		for(Tuple tuple:Compound.START.tuples) starts += count(tuple);
+		return starts;
+	}
+	public long stops() { return compounds()[STOP.ordinal()]; }
+
+	/**
+	 * Call the consumer for every counted tuple (in order of their codes, followed by uncoded tuples)
+	 */
+	public void forEach(ObjLongConsumer<Tuple> consumer) {
+		for(int code=0;code<counts.length;code++)
+			if(counts[code]!=0) consumer.accept(tuple(code),counts[code]);
+		if(overflow!=null) overflow.forEach(consumer::accept);
+	}
+
+	private static Compound compound(Tuple tuple) {
+		return Compound.isStop(tuple)?STOP:Optional.ofNullable(tuple.getCompound()).orElse(UNKNOWN);
+	}
+	
+	/**
+	 * Byte-wise tuple parser, counting tuples without creating strings or tuple objects for any codeable tuple.
+	 * Letters which are no bases, digits and underscores are skipped, any other character separates tuples.
+	 */
+	private class Parser {
+		private final Base substitute, substitution;
+		private final StringBuilder letters = new StringBuilder();
+		private int length, code;
+		private boolean coded = true;
+		
+		private Parser(Acid acid) {
+			substitute = RNA.equals(acid)?THYMINE:DNA.equals(acid)?URACIL:null;
+			substitution = RNA.equals(acid)?URACIL:THYMINE;
+		}
+		
+		private void parse(ByteBuffer buffer) {
+			while(buffer.hasRemaining()) {
+				int character = buffer.get();
+				if(character>='a'&&character<='z') character -= 'a'-'A';
+				if(character>='A'&&character<='Z') {
+					Base base = LETTER_BASE[character-'A'];
+					if(base==null) continue; // no base, removed
+					if(base==substitute) base = substitution;
+					letters.append(base.letter);
+					if(coded&&++length<=MAX_LENGTH&&base.ordinal()<RADIX)
+						code = code*RADIX+base.ordinal();
+					else coded = false;
+				} else if(!(character>='0'&&character<='9'||character=='_'))
+					finish(); // separator
+			}
+		}
+		private void finish() {
+			if(letters.length()!=0) {
+				if(coded) counts[OFFSET[length]+code]++;
+				else add(new Tuple(letters.toString()));
+				letters.setLength(0);
+			} length = code = 0; coded = true;
+		}
+	}
+}
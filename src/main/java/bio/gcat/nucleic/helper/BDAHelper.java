@@ -0,0 +1,222 @@
+/*
+ * Copyright [2016] [Mannheim University of Applied Sciences]
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package bio.gcat.nucleic.helper;
+
+import static bio.gcat.Utilities.CHARSET;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Supplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.apache.commons.math3.util.Pair;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+
+import bio.gcat.geneticcode.dich.Adenine$;
+import bio.gcat.geneticcode.dich.AntiCodonBDA$;
+import bio.gcat.geneticcode.dich.BinaryDichotomicAlgorithm;
+import bio.gcat.geneticcode.dich.Classifier;
+import bio.gcat.geneticcode.dich.Compound;
+import bio.gcat.geneticcode.dich.Cytosine$;
+import bio.gcat.geneticcode.dich.Guanine$;
+import bio.gcat.geneticcode.dich.IUPAC;
+import bio.gcat.geneticcode.dich.IdAminoAcidProperty;
+import bio.gcat.geneticcode.dich.ParityBDA$;
+import bio.gcat.geneticcode.dich.RumerBDA$;
+import bio.gcat.geneticcode.dich.Uracil$;
+import bio.gcat.geneticcode.dich.ct.ClassTable;
+import bio.gcat.nucleic.Base;
+
+/**
+ * Reading, writing and conversion of binary dichotomic algorithms (BDAs), independent of the BDA Tool,
+ * so BDA based operations are also available in headless batch scripts. BDA definitions are either
+ * BDA files (*.gcatb) or inline lists, with one BDA per line or separated by semicolons, in the BDA file
+ * format <code>(1,2) (C,A) {C,G}</code> (positions from 1) or the format of <code>BdaImplicitDefs.toBda</code>,
+ * <code>1 0 CA CG</code> (positions from 0).
+ */
+public class BDAHelper {
+	private static final Pattern
+		BDA_PATTERN = Pattern.compile("\\((\\d),(\\d)\\) \\((\\w),(\\w)\\) \\{(\\w),(\\w)\\}"),
+		INLINE_BDA_PATTERN = Pattern.compile("(\\d) (\\d) (\\w)(\\w) (\\w)(\\w)"); // BdaImplicitDefs.toBda
+	private static final Cache<List<Object>,ClassTable> CLASS_TABLES = CacheBuilder.newBuilder().maximumSize(16).build();
+	private static volatile Supplier<ClassTable> defaultClassTable = ()->null;
+	
+	public static String toString(Collection<BinaryDichotomicAlgorithm> bdas) {
+		StringWriter writer = new StringWriter();
+		try { writeTo(writer, bdas); } catch(IOException e) { /* nothing to do here */ }
+		return writer.toString();
+	}
+	public static Collection<BinaryDichotomicAlgorithm> parseString(String string) throws IOException {			
+		return readFrom(new StringReader(string));
+	}
+	
+	public static void writeFile(File file,Collection<BinaryDichotomicAlgorithm> bdas) throws IOException {
+		try(Writer writer=new OutputStreamWriter(new FileOutputStream(file), CHARSET)) { writeTo(writer,bdas); }
+	}
+	public static void writeTo(Writer writer,Collection<BinaryDichotomicAlgorithm> bdas) throws IOException {
+		for(BinaryDichotomicAlgorithm bda:bdas) {
+			Pair<Base,Base> q1 = toPair(bda.q1()), q2 = toPair(bda.q2());
+			writer.write(String.format("(%d,%d) (%C,%C) {%C,%C}\n",
+				bda.i1()+1,bda.i2()+1,q1.getFirst().letter,q1.getSecond().letter,q2.getFirst().letter,q2.getSecond().letter));
+		}
+	}
+	
+	public static List<BinaryDichotomicAlgorithm> readFile(File file) throws IOException {
+		try(Reader reader=new InputStreamReader(new FileInputStream(file), CHARSET)) { return readFrom(reader); }
+	}
+	public static List<BinaryDichotomicAlgorithm> readFrom(Reader reader) throws IOException {
+		List<BinaryDichotomicAlgorithm> bdas = new ArrayList<>();
+		String line; Matcher matcher; BufferedReader buffer = new BufferedReader(reader);			
+		while((line=buffer.readLine())!=null) {
+			if(line.isEmpty()) continue;
+			else if((matcher=BDA_PATTERN.matcher(line)).matches()) {
+		  	bdas.add(new BinaryDichotomicAlgorithm(Integer.parseInt(matcher.group(1))-1,Integer.parseInt(matcher.group(2))-1,
+	  			toTuple(toBases(matcher,3,line)),
+	  			toSet(toBases(matcher,5,line))));
+			} else throw new IOException("Unknown line format for BDA \""+line+"\", expected (%d,%d) (%C,%C) {%C,%C}");
+		} return bdas;
+	}
+	
+	private static Pair<Base,Base> toBases(Matcher matcher,int group,String line) throws IOException {
+		try { return new Pair<Base,Base>(Base.valueOf(matcher.group(group).charAt(0)),Base.valueOf(matcher.group(group+1).charAt(0))); }
+		catch(IllegalArgumentException e) { throw new IOException("Invalid BDA \""+line+"\", "+e.getMessage()); }
+	}
+	
+	public static String getName(BinaryDichotomicAlgorithm bda) {
+		if(RumerBDA$.MODULE$.equals(bda))
+			return "Rumer";
+		else if(ParityBDA$.MODULE$.equals(bda))
+			return "Partiy";
+		else if(AntiCodonBDA$.MODULE$.equals(bda))
+			return "Complementary";
+		else return "Other";
+	}
+	public static boolean isPredefined(BinaryDichotomicAlgorithm bda) {
+		return RumerBDA$.MODULE$.equals(bda)
+				|| ParityBDA$.MODULE$.equals(bda)
+				|| AntiCodonBDA$.MODULE$.equals(bda);
+	}
+	
+	public static Pair<Base,Base> toPair(scala.Tuple2<Compound,Compound> tuple) {
+		return new Pair<Base,Base>(toBase(tuple._1),toBase(tuple._2));
+	}
+	public static Pair<Base,Base> toPair(scala.collection.Set<Compound> set) {
+		scala.collection.Iterator<Compound> compounds =
+			set.iterator();
+		return new Pair<Base,Base>(toBase(compounds.next()),toBase(compounds.next()));
+	}
+	public static scala.Tuple2<Compound,Compound> toTuple(Pair<Base,Base> bases) {
+		return new scala.Tuple2<Compound,Compound>(
+				toCompound(bases.getFirst()),toCompound(bases.getSecond()));
+	}
+	public static scala.collection.immutable.Set<Compound> toSet(Pair<Base,Base> bases) {
+		scala.collection.immutable.HashSet<Compound> set =
+	  		new scala.collection.immutable.HashSet<>();
+  	return set.$plus(toCompound(bases.getFirst())).$plus(toCompound(bases.getSecond()));
+	}
+	
+	public static Base toBase(Compound compound) {
+		if(compound.equals(Adenine$.MODULE$))
+			return Base.ADENINE;
+		else if(compound.equals(Uracil$.MODULE$))
+			return Base.URACIL;
+		else if(compound.equals(Cytosine$.MODULE$))
+			return Base.CYTOSINE;
+		else if(compound.equals(Guanine$.MODULE$))
+			return Base.GUANINE;
+		else return null;
+	}
+	public static Compound toCompound(Base base) {
+		switch(base) {
+		case ADENINE: return Adenine$.MODULE$;
+		case URACIL: case THYMINE: return Uracil$.MODULE$;
+		case CYTOSINE: return Cytosine$.MODULE$;
+		case GUANINE: return Guanine$.MODULE$;
+		default: return null; }
+	}	
+	/**
+	 * Parse a BDA definition, the path of an existing BDA file or an inline list of BDAs
+	 */
+	public static List<BinaryDichotomicAlgorithm> parseDefinition(String definition) throws IOException {
+		File file = new File(definition.trim());
+		if(file.isFile()) return readFile(file);
+		
+		List<BinaryDichotomicAlgorithm> bdas = new ArrayList<>(); Matcher matcher;
+		for(String line:definition.split("[;\\r\\n]+")) {
+			if((line=line.trim()).isEmpty()) continue;
+			else if((matcher=INLINE_BDA_PATTERN.matcher(line)).matches()) {
+				bdas.add(new BinaryDichotomicAlgorithm(Integer.parseInt(matcher.group(1)),Integer.parseInt(matcher.group(2)),
+					toTuple(toBases(matcher,3,line)),
+					toSet(toBases(matcher,5,line))));
+			} else bdas.addAll(readFrom(new StringReader(line)));
+		} return bdas;
+	}
+	
+	/**
+	 * @return a class table of the BDAs (standard genetic code), or null if there are no BDAs
+	 */
+	@SuppressWarnings("unchecked") public static ClassTable toClassTable(Collection<BinaryDichotomicAlgorithm> bdas) {
+		return bdas.isEmpty()?null:new ClassTable(
+			(scala.collection.immutable.List<Classifier<Object>>)(scala.collection.immutable.List<?>)
+				scala.collection.JavaConversions.collectionAsScalaIterable(bdas).toList(),
+			IUPAC.STANDARD(), new IdAminoAcidProperty(1));
+	}
+	
+	/**
+	 * Set the supplier of the class table used for empty BDA definitions (e.g. the BDAs of the BDA Tool)
+	 */
+	public static void setDefaultClassTable(Supplier<ClassTable> classTable) { defaultClassTable = classTable; }
+	/**
+	 * Get the class table of a BDA definition. The class table is built only once per definition (and BDA file
+	 * version), so all actions of a script using the same definition share one class table and its compiled form.
+	 * 
+	 * @return the class table, or the default class table for an empty definition (null if there is none)
+	 */
+	public static ClassTable getClassTable(String definition) throws IOException {
+		if(definition==null||(definition=definition.trim()).isEmpty())
+			return defaultClassTable.get();
+		
+		File file = new File(definition);
+		List<Object> key = file.isFile()?Arrays.asList(file.getAbsolutePath(),file.lastModified(),file.length()):Arrays.asList(definition);
+		try {
+			String parse = definition;
+			return CLASS_TABLES.get(key,()->{
+				ClassTable classTable = toClassTable(parseDefinition(parse));
+				if(classTable==null) throw new IOException("No BDA in definition \""+parse+"\"");
+				return classTable;
+			});
+		} catch(ExecutionException e) { throw e.getCause() instanceof IOException?(IOException)e.getCause():new IOException(e.getCause()); }
+		catch(UncheckedExecutionException e) { throw new IOException(e.getCause().getMessage(),e.getCause()); }
+	}
+}
@@ -7,6 +7,7 @@ import java.util.Map;
 import java.util.TreeSet;
 import java.util.Map.Entry;
 import java.util.Set;
+import bio.gcat.nucleic.Base;
 import bio.gcat.nucleic.Tuple;
 
 public class C3Code {
@@ -302,4 +303,33 @@ public class C3Code {
 
 		CLASS2CODES = class2codes;
 	}
+	
+	/**
+	 * Membership of the 64 codons (indexed by {@link #codonIndex(Tuple)}) in all 216 codes, as bit masks
+	 * of four longs, with bit (code number - 1) set, if the codon is contained in the code.
+	 */
+	public static final long[][] CODON2CODES;
+	static {
+		long[][] codon2codes = new long[64][4];
+		for(int code=0;code<CODES.size();code++)
+			for(Tuple tuple:CODES.get(code))
+				codon2codes[codonIndex(tuple)][code>>>6] |= 1l<<code;
+		CODON2CODES = codon2codes;
+	}
+	
+	/**
+	 * @return the index of a codon from 0 to 63 (thymine and uracil are treated equal), or -1 if the tuple is no codon
+	 */
+	public static int codonIndex(Tuple tuple) {
+		Base[] bases = tuple.getBases();
+		if(bases.length!=3) return -1;
+		int index = 0;
+		for(Base base:bases) switch(base) {
+			case ADENINE: index = index<<2; break;
+			case CYTOSINE: index = index<<2|1; break;
+			case GUANINE: index = index<<2|2; break;
+			case THYMINE: case URACIL: index = index<<2|3; break;
+			default: return -1; }
+		return index;
+	}
 }
@@ -0,0 +1,76 @@
+package bio.gcat.nucleic.helper;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+import bio.gcat.geneticcode.dich.Codon;
+import bio.gcat.geneticcode.dich.ct.ClassTable;
+import bio.gcat.nucleic.Tuple;
+import scala.Tuple3;
+
+/**
+ * A class table compiled into primitive lookup tables: the class id of each of the 64 codons
+ * (indexed by {@link C3Code#codonIndex(Tuple)}, thymine and uracil are treated equal) and a
+ * bit mask of codons per class. Class ids are assigned in the iteration order of
+ * {@link ClassTable#classes()}. Compiled tables are cached per class table
+ * (weakly, a compiled table holds no reference to its class table).
+ */
+public class CompiledClassTable {
+	private static final String CODON_LETTERS = "ACGU", NO_COLOR = "#ffffff";
+	private static final Map<ClassTable,CompiledClassTable> COMPILED = Collections.synchronizedMap(new WeakHashMap<>());
+
+	private final List<scala.collection.immutable.List<Object>> classes = new ArrayList<>();
+	private final int[] codonClass = new int[64];
+	private final long[] classCodons;
+	private final String[] codonColor = new String[64];
+
+	private CompiledClassTable(ClassTable classTable) {
+		Map<scala.collection.immutable.List<Object>,Integer> classIds = new HashMap<>();
+		for(scala.collection.immutable.List<Object> clazz:classTable.classes()) {
+			classIds.put(clazz,classes.size());
+			classes.add(clazz);
+		}
+
+		classCodons = new long[classes.size()];
+		for(int codon=0;codon<64;codon++) {
+			Codon scalaCodon = new Codon(new String(new char[]{CODON_LETTERS.charAt(codon>>>4),CODON_LETTERS.charAt(codon>>>2&3),CODON_LETTERS.charAt(codon&3)}));
+			int clazz = codonClass[codon] = classIds.get(classTable.codon2class().get(scalaCodon));
+			classCodons[clazz] |= 1l<<codon;
+			Tuple3<Object,Object,Object> rgb = classTable.colorRGB(scalaCodon);
+			codonColor[codon] = String.format("#%02x%02x%02x",rgb._1(),rgb._2(),rgb._3());
+		}
+	}
+
+	public static CompiledClassTable of(ClassTable classTable) {
+		return classTable!=null?COMPILED.computeIfAbsent(classTable,CompiledClassTable::new):null;
+	}
+
+	public int getClasses() { return classes.size(); }
+	public scala.collection.immutable.List<Object> getClassList(int clazz) { return classes.get(clazz); }
+	/**
+	 * @return the bit mask of codons (bit {@link C3Code#codonIndex(Tuple)}) in the class
+	 */
+	public long getCodons(int clazz) { return classCodons[clazz]; }
+
+	/**
+	 * @return the class id of the tuple, or -1 if the tuple is no codon
+	 */
+	public int classify(Tuple tuple) {
+		int codon = tuple!=null?C3Code.codonIndex(tuple):-1;
+		return codon!=-1?codonClass[codon]:-1;
+	}
+	public boolean contains(int clazz, Tuple tuple) {
+		int codon = tuple!=null?C3Code.codonIndex(tuple):-1;
+		return codon!=-1&&(classCodons[clazz]>>>codon&1)!=0;
+	}
+	/**
+	 * @return the color of the class of the tuple in HTML notation, white if the tuple is no codon
+	 */
+	public String getColor(Tuple tuple) {
+		int codon = tuple!=null?C3Code.codonIndex(tuple):-1;
+		return codon!=-1?codonColor[codon]:NO_COLOR;
+	}
+}
@@ -0,0 +1,73 @@
+package bio.gcat.nucleic.helper;
+
+import java.util.Arrays;
+import java.util.function.Consumer;
+import java.util.function.ToIntFunction;
+import bio.gcat.nucleic.Tuple;
+
+/**
+ * Streaming run length statistics. Each tuple is classified once into an int class id
+ * (0 to classes-1), consecutive tuples of the same class form a run. For every class the
+ * number of runs, the minimum, maximum and average run length and a histogram of the run
+ * lengths are accumulated in primitive arrays, without keeping any tuples or runs. Tuples
+ * classified with a negative id end the current run, but their own runs are not counted.
+ * Statistics of classes without any runs follow the conventions of
+ * {@link java.util.IntSummaryStatistics} (minimum {@link Integer#MAX_VALUE}, maximum
+ * {@link Integer#MIN_VALUE}, average 0).
+ */
+public class RunLengths implements Consumer<Tuple> {
+	private final ToIntFunction<Tuple> classifier;
+	private final int[] runs, minimum, maximum;
+	private final long[] sum;
+	private final long[][] histogram;
+
+	private int current = -1, length;
+
+	public RunLengths(int classes, ToIntFunction<Tuple> classifier) {
+		this.classifier = classifier;
+		runs = new int[classes]; sum = new long[classes];
+		Arrays.fill(minimum = new int[classes], Integer.MAX_VALUE);
+		Arrays.fill(maximum = new int[classes], Integer.MIN_VALUE);
+		histogram = new long[classes][];
+	}
+
+	public static RunLengths of(Iterable<Tuple> tuples, int classes, ToIntFunction<Tuple> classifier) {
+		RunLengths runLengths = new RunLengths(classes, classifier);
+		for(Tuple tuple:tuples)
+			runLengths.accept(tuple);
+		return runLengths.finish();
+	}
+
+	@Override public void accept(Tuple tuple) { accept(classifier.applyAsInt(tuple)); }
+	public void accept(int clazz) {
+		if(clazz==current&&clazz>=0) length++;
+		else { close(); current = clazz; length = 1; }
+	}
+	/**
+	 * Closes the current run, call after the last tuple of a sequence was accepted.
+	 */
+	public RunLengths finish() { close(); current = -1; length = 0; return this; }
+
+	private void close() {
+		if(current<0||length==0) return;
+		runs[current]++; sum[current] += length;
+		if(length<minimum[current]) minimum[current] = length;
+		if(length>maximum[current]) maximum[current] = length;
+		long[] counts = histogram[current];
+		if(counts==null||counts.length<=length)
+			counts = histogram[current] = Arrays.copyOf(counts!=null?counts:new long[0],Math.max(length+1,counts!=null?counts.length*2:16));
+		counts[length]++;
+	}
+
+	public int getClasses() { return runs.length; }
+	public int getRuns(int clazz) { return runs[clazz]; }
+	public int getMinimum(int clazz) { return minimum[clazz]; }
+	public int getMaximum(int clazz) { return maximum[clazz]; }
+	public double getAverage(int clazz) { return runs[clazz]!=0?(double)sum[clazz]/runs[clazz]:0d; }
+	/**
+	 * @return the number of runs for each run length (index) up to the maximum run length of the class
+	 */
+	public long[] getHistogram(int clazz) {
+		return runs[clazz]!=0?Arrays.copyOf(histogram[clazz],maximum[clazz]+1):new long[0];
+	}
+}
@@ -10,7 +10,10 @@ import bio.gcat.nucleic.Tuple;
  */
 public class SequenceUtilities {
 
-	public static List<Pair> splitByRuns(List<Tuple> tuples,
+	/**
+	 * @deprecated materializes every run, use the streaming {@link RunLengths} instead
+	 */
+	@Deprecated public static List<Pair> splitByRuns(List<Tuple> tuples,
 			RunDiscriminator f, RunClassifier c) {
 		if (tuples.isEmpty()) {
 			return new ArrayList<Pair>();
@@ -0,0 +1,31 @@
+/*
+ * Copyright [2016] [Mannheim University of Applied Sciences]
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *  
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License. 
+ */
+package bio.gcat.operation;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * The estimated cost of an operation, as the degree of the polynomial its running time grows with in the number of
+ * tuples. Batches perform consecutive tests in the order of their cost (see {@link bio.gcat.batch.Batch#buildIterative}),
+ * operations without a declared cost are estimated to be linear.
+ */
+@Target({ElementType.TYPE}) @Retention(RetentionPolicy.RUNTIME)
+public @interface Cost {
+	int degree() default 1;
+}
@@ -21,14 +21,10 @@ import java.util.Set;
 import java.util.TreeSet;
 import java.util.function.Predicate;
 
-import org.reflections.Reflections;
-import org.reflections.scanners.SubTypesScanner;
-import org.reflections.util.ClasspathHelper;
-import org.reflections.util.ConfigurationBuilder;
-
 import com.google.common.collect.Multimap;
 import com.google.common.collect.TreeMultimap;
 
+import bio.gcat.Index;
 import bio.gcat.Parameter;
 import bio.gcat.log.InjectionLogger;
 import bio.gcat.log.Logger;
@@ -37,6 +33,13 @@ public interface Operation extends InjectionLogger.Injectable {
 	default public String getName() { return getName(this.getClass()); }
 	default public String getIcon() { return getIcon(this.getClass()); }
 	default public String getGroup() { return getGroup(this.getClass()); }
+	/**
+	 * @return the logger of the task performing the operation (see {@link InjectionLogger#call}), or the injected logger
+	 */
+	@Override default public Logger getLogger() {
+		Logger logger = InjectionLogger.current();
+		return logger!=null?logger:InjectionLogger.Injectable.super.getLogger();
+	}
 	
 	public static String getName(Class<? extends Operation> operation) {
 		if(operation.isAnnotationPresent(Named.class))
@@ -71,11 +74,7 @@ public interface Operation extends InjectionLogger.Injectable {
 				return nameA.compareTo(nameB);
 			}
 		});
-		Reflections operationsReflections = new Reflections(new ConfigurationBuilder()
-			.addClassLoaders(ClasspathHelper.staticClassLoader(),ClasspathHelper.contextClassLoader()/*,ClassLoader.getSystemClassLoader()*/)
-			.setUrls(ClasspathHelper.forPackage(Operation.class.getPackage().getName()))
-			.setScanners(new SubTypesScanner()));
-		operations.addAll(operationsReflections.getSubTypesOf(Operation.class));
+		operations.addAll(Index.getSubTypesOf(Operation.class));
 		operations.removeIf(new Predicate<Class<? extends Operation>>() {
 			@Override public boolean test(Class<? extends Operation> operation) {
 				if(onlyCataloged&&!operation.isAnnotationPresent(Cataloged.class))
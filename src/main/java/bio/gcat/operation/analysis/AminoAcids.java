@@ -16,31 +16,27 @@
 package bio.gcat.operation.analysis;
 
 import java.util.Collection;
-import java.util.Optional;
 import bio.gcat.Documented;
 import bio.gcat.nucleic.Compound;
 import bio.gcat.nucleic.Tuple;
+import bio.gcat.nucleic.TupleHistogram;
 import bio.gcat.operation.Cataloged;
 import bio.gcat.operation.Named;
-import com.google.common.collect.EnumMultiset;
-import com.google.common.collect.Multiset;
-import com.google.common.collect.Multiset.Entry;
+import bio.gcat.operation.Stateless;
 import static bio.gcat.Help.*;
 
-@Named(name="amino acids", icon="bricks") @Cataloged(group="Analyse Sequence")
+@Named(name="amino acids", icon="bricks") @Cataloged(group="Analyse Sequence") @Stateless
 @Documented(title="Amino Acids", category={OPERATIONS,ANALYSES}, resource="help/operation/analysis/amino_acids.html")
 public class AminoAcids implements Analysis {
 	private static final String DELIMITER = ", ", TIMES = "x ";
 	
 	@Override public Result analyse(Collection<Tuple> tuples,Object... values) {
-		Multiset<Compound> compounds = EnumMultiset.create(Compound.class);
-		for(Tuple tuple:tuples)
-			compounds.add(Compound.isStop(tuple)?Compound.STOP:
-				Optional.ofNullable(tuple.getCompound()).orElse(Compound.UNKNOWN));
+		long[] compounds = new TupleHistogram(tuples).compounds();
 		
 		StringBuilder builder = new StringBuilder();
-		for(Entry<Compound> compound:compounds.entrySet())
-			builder.append(DELIMITER).append(compound.getCount()).append(TIMES).append(compound.getElement());
+		for(Compound compound:Compound.values())
+			if(compounds[compound.ordinal()]!=0)
+				builder.append(DELIMITER).append(compounds[compound.ordinal()]).append(TIMES).append(compound);
 		
 		return new SimpleResult(this,builder.substring(DELIMITER.length()).toString());
 	}
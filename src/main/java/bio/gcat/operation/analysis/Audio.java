@@ -29,9 +29,10 @@ import bio.gcat.nucleic.Base;
 import bio.gcat.nucleic.Tuple;
 import bio.gcat.operation.Cataloged;
 import bio.gcat.operation.Named;
+import bio.gcat.operation.Stateless;
 import com.google.common.collect.ImmutableMap;
 
-@Named(name="audio", icon="sound") @Cataloged(group="Analyse Sequence")
+@Named(name="audio", icon="sound") @Cataloged(group="Analyse Sequence") @Stateless
 @Documented(title="Audio", category={OPERATIONS,ANALYSES}, resource="help/operation/analysis/audio.html")
 public class Audio implements Analysis {
 	private static Map<Base,Note> notes = ImmutableMap.of(
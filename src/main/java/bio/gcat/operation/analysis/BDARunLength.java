@@ -17,21 +17,23 @@ package bio.gcat.operation.analysis;
 
 import static bio.gcat.Help.*;
 import static bio.gcat.nucleic.Tuple.*;
-import static bio.gcat.nucleic.helper.SequenceUtilities.*;
-import static java.util.stream.Collectors.*;
 
+import java.io.IOException;
 import java.util.*;
 
 import bio.gcat.Documented;
-import bio.gcat.gui.AnalysisTool;
+import bio.gcat.Parameter;
 import bio.gcat.nucleic.Tuple;
-import bio.gcat.nucleic.helper.SequenceUtilities.Pair;
+import bio.gcat.nucleic.helper.BDAHelper;
+import bio.gcat.nucleic.helper.CompiledClassTable;
+import bio.gcat.nucleic.helper.RunLengths;
 import bio.gcat.operation.Cataloged;
 import bio.gcat.operation.Named;
-import bio.gcat.geneticcode.dich.Codon;
+import bio.gcat.operation.Stateless;
 
-@Named(name = "BDA run lengths", icon = "bda")
+@Named(name = "BDA run lengths", icon = "bda") @Stateless
 @Cataloged(group = "Analyse Sequence")
+@Parameter.Annotation(key="bdas",label="BDAs",type=Parameter.Type.TEXT)
 @Documented(title = "BDA Run Length", category = {OPERATIONS, ANALYSES}, resource = "help/operation/analysis/bda_run_length.html")
 public class BDARunLength implements Analysis {
   @Override
@@ -41,40 +43,25 @@ public class BDARunLength implements Analysis {
     else if (Tuple.tuplesLength(tuples) != 3)
       return new SimpleResult(this, "Only sequences with codons (tuples of length 3) are allowed.");
 
-    bio.gcat.geneticcode.dich.ct.ClassTable classTable = AnalysisTool.getBDATool().getClassTable();
+    bio.gcat.geneticcode.dich.ct.ClassTable classTable;
+    try { classTable = BDAHelper.getClassTable((String)values[0]); }
+    catch(IOException e) { return new SimpleResult(this, "Invalid Binary Dichotomic Algorithm definition: "+e.getMessage()); }
     if (classTable == null)
-      return new SimpleResult(this, "No Binary Dichotomic Algorithm. Use BDA Tool to open / create BDAs.");
+      return new SimpleResult(this, "No Binary Dichotomic Algorithm. Use BDA Tool to open / create BDAs or define BDAs as parameter.");
 
-    HashMap<Codon, scala.collection.immutable.List<Object>> m = classTable.codon2class();
-    List<Pair> nl = splitByRuns(new ArrayList<>(tuples),
-            (t1, t2) -> {
-              Codon codon1 = new Codon(t1.toString());
-              Codon codon2 = new Codon(t2.toString());
-              Object clazz1 = m.get(codon1);
-              Object clazz2 = m.get(codon2);
-              return clazz1.equals(clazz2);
-            },
-            t -> {
-              Codon codon = new Codon(t.toString());
-              return classTable.codon2class().get(codon);
-            }
-    );
+    // Each tuple is classified once by an array lookup into its class id:
+    CompiledClassTable compiled = CompiledClassTable.of(classTable);
+    RunLengths runLengths = RunLengths.of(tuples, compiled.getClasses(), compiled::classify);
 
     // TODO requires unit tests...
     StringBuilder sb = new StringBuilder();
     try(Formatter formatter = new Formatter(sb, Locale.US)) {
 	    // Iterate over all classes...
-	    for (scala.collection.immutable.List<Object> clazz : classTable.classes()) {
-	      // Get run lengths for this class:
-	      List<List<Tuple>> lp = nl.stream().filter(p -> p.id.equals(clazz))
-	              .map(p -> p.list).collect(toList());
-	      List<Integer> li = lp.stream().map(it -> it.size()).collect(toList());
-	
-	      IntSummaryStatistics stats = li.stream().mapToInt(it -> it).summaryStatistics();
-	      sb.append(clazz.mkString() + ": ");
-	      formatter.format("min = %5d", stats.getMin());
-	      formatter.format(", avg = %5.2f, ", stats.getAverage());
-	      formatter.format("max = %5d <br/>", stats.getMax());
+	    for (int clazz = 0; clazz < compiled.getClasses(); clazz++) {
+	      sb.append(compiled.getClassList(clazz).mkString() + ": ");
+	      formatter.format("min = %5d", runLengths.getMinimum(clazz));
+	      formatter.format(", avg = %5.2f, ", runLengths.getAverage(clazz));
+	      formatter.format("max = %5d <br/>", runLengths.getMaximum(clazz));
 	    }
     }
 
@@ -0,0 +1,177 @@
+/*
+ * Copyright [2016] [Mannheim University of Applied Sciences]
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package bio.gcat.operation.analysis;
+
+import static bio.gcat.Help.*;
+import static bio.gcat.nucleic.Tuple.*;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Formatter;
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import bio.gcat.Documented;
+import bio.gcat.Parameter;
+import bio.gcat.geneticcode.dich.Classifier;
+import bio.gcat.geneticcode.dich.Codon;
+import bio.gcat.geneticcode.dich.IdStandardAminoAcidProperty$;
+import bio.gcat.geneticcode.dich.ct.FastClassTable;
+import bio.gcat.nucleic.Tuple;
+import bio.gcat.nucleic.helper.C3Code;
+import bio.gcat.nucleic.helper.RunLengths;
+import bio.gcat.operation.Cataloged;
+import bio.gcat.operation.Named;
+import bio.gcat.operation.Stateless;
+import scala.collection.JavaConversions;
+
+@Named(name = "BDA scores", icon = "bda") @Cataloged(group="Analyse Sequence") @Stateless
+@Parameter.Annotation(key = "ranks", label = "Ranked BDAs", type = Parameter.Type.NUMBER, value = "10,1,23220")
+@Parameter.Annotation(key = "pairs", label = "BDA Pairs", type = Parameter.Type.BOOLEAN)
+@Documented(title="BDA Scores", category={OPERATIONS,ANALYSES}, resource="help/operation/analysis/bda_scores.html")
+public class BDAScores implements Analysis {
+	private static final String CODON_LETTERS = "ACGU";
+	private static final Classifier<Object>[] BDAS = bio.gcat.geneticcode.dich.BinaryDichotomicAlgorithm.bdas216().classifiers();
+	/**
+	 * The codons (bit {@link C3Code#codonIndex(Tuple)}) of class 1 for each of the 216 BDAs.
+	 */
+	private static final long[] BDA_CODONS = new long[BDAS.length];
+	static {
+		for(int codon=0;codon<64;codon++) {
+			Codon scalaCodon = new Codon(new String(new char[]{CODON_LETTERS.charAt(codon>>>4),CODON_LETTERS.charAt(codon>>>2&3),CODON_LETTERS.charAt(codon&3)}));
+			for(int bda=0;bda<BDAS.length;bda++)
+				if(((Integer)BDAS[bda].classify(scalaCodon))!=0)
+					BDA_CODONS[bda] |= 1l<<codon;
+		}
+	}
+
+	@Override public Result analyse(Collection<Tuple> tuples, Object... values) { return analyse(tuples, ((Number)values[0]).intValue(), (Boolean)values[1]); }
+	public Result analyse(Collection<Tuple> tuples, int ranks, boolean pairs) {
+		if(condenseTuples(tuples).isEmpty())
+			return new SimpleResult(this, "No tuples.");
+		else if(Tuple.tuplesLength(tuples)!=3)
+			return new SimpleResult(this, "Only sequences with codons (tuples of length 3) are allowed.");
+		return new Scores(this, tuples, ranks, pairs);
+	}
+
+	/**
+	 * Class usage and run lengths of a sequence for all 216 BDAs (or all pairs of BDAs). The sequence is
+	 * compiled into codon indices and codon counts once, the usage of a BDA is then summed over the codons
+	 * of its classes. Scores are ranked by the deviation of the class usage from the class sizes, i.e. the
+	 * share of codons that would have to change their class to get a usage in proportion to the class sizes.
+	 * Run lengths and errors are only determined for the ranks listed, or on request.
+	 */
+	public static class Scores extends Result {
+		private final int ranks, length;
+		private final int[] codons, counts = new int[64];
+		private final List<Score> scores;
+
+		private Scores(Analysis analysis, Collection<Tuple> tuples, int ranks, boolean pairs) {
+			super(analysis); this.ranks = ranks;
+
+			int position = 0, counted = 0; codons = new int[tuples.size()];
+			for(Tuple tuple:tuples) {
+				int codon = codons[position++] = tuple!=null?C3Code.codonIndex(tuple):-1;
+				if(codon!=-1) { counts[codon]++; counted++; }
+			}
+			length = counted;
+
+			IntStream bdas = IntStream.range(0,BDAS.length);
+			scores = (pairs?bdas.boxed().flatMap(first->IntStream.range(first+1,BDAS.length).mapToObj(second->new int[]{first,second})):bdas.mapToObj(bda->new int[]{bda}))
+				.parallel().map(Score::new).sorted(Comparator.<Score>comparingDouble(Score::getDeviation).reversed()).collect(Collectors.toList());
+			scores.stream().limit(ranks).parallel().forEach(score->{ score.getRunLengths(); score.getError(); });
+		}
+
+		public int getLength() { return length; }
+		/**
+		 * @return all scores, ranked by deviation
+		 */
+		public List<Score> getRankedScores() { return scores; }
+
+		/**
+		 * The score of one BDA or a pair of BDAs, class ids are the binary strings of the BDA classes.
+		 */
+		public class Score {
+			private final int[] bdas, usage;
+			private final long[] classCodons;
+			private final double deviation;
+			private RunLengths runLengths;
+			private Double error;
+
+			private Score(int[] bdas) {
+				this.bdas = bdas;
+				classCodons = new long[1<<bdas.length]; usage = new int[classCodons.length];
+				for(int codon=0;codon<64;codon++)
+					classCodons[classify(codon)] |= 1l<<codon;
+				double deviation = 0d;
+				for(int clazz=0;clazz<classCodons.length;clazz++) {
+					for(long codons=classCodons[clazz];codons!=0;codons&=codons-1)
+						usage[clazz] += counts[Long.numberOfTrailingZeros(codons)];
+					deviation += Math.abs((length!=0?(double)usage[clazz]/length:0d)-Long.bitCount(classCodons[clazz])/64d);
+				}
+				this.deviation = deviation/2;
+			}
+			private int classify(int codon) {
+				int clazz = 0;
+				for(int bda:bdas)
+					clazz = clazz<<1|(int)(BDA_CODONS[bda]>>>codon&1);
+				return clazz;
+			}
+
+			/**
+			 * @return the BDA numbers from 1 to 216
+			 */
+			public int[] getBDAs() { return Arrays.stream(bdas).map(bda->bda+1).toArray(); }
+			public int getClasses() { return usage.length; }
+			public int getUsage(int clazz) { return usage[clazz]; }
+			public double getDeviation() { return deviation; }
+			public synchronized RunLengths getRunLengths() {
+				if(runLengths==null) {
+					runLengths = new RunLengths(usage.length, tuple->C3Code.codonIndex(tuple)!=-1?classify(C3Code.codonIndex(tuple)):-1);
+					for(int codon:codons)
+						runLengths.accept(codon!=-1?classify(codon):-1);
+					runLengths.finish();
+				} return runLengths;
+			}
+			/**
+			 * @return the relative error of the BDA classes with respect to the amino acids of the standard code
+			 */
+			public synchronized double getError() {
+				return error!=null?error:(error = new FastClassTable(JavaConversions.asScalaBuffer(Arrays.stream(bdas)
+					.mapToObj(bda->(Classifier<Object>)BDAS[bda]).collect(Collectors.toList())).toList(), IdStandardAminoAcidProperty$.MODULE$).relErrorC());
+			}
+		}
+
+		@Override public String toString() {
+			StringBuilder builder = new StringBuilder();
+			try(Formatter formatter = new Formatter(builder, Locale.US)) {
+				builder.append("<br/><table><tr><th>Rank</th><th>BDA</th><th>Class usage</th><th>Deviation</th><th>Average run lengths</th><th>Error</th></tr>");
+				for(int rank=0;rank<Math.min(ranks,scores.size());rank++) {
+					Score score = scores.get(rank); RunLengths runLengths = score.getRunLengths();
+					formatter.format("<tr><td>%d</td><td>%s</td><td>%s</td><td>%.2f%%</td><td>%s</td><td>%.4f</td></tr>",rank+1,
+						Arrays.stream(score.bdas).mapToObj(bda->"BDA("+(bda+1)+") "+BDAS[bda]).collect(Collectors.joining("<br/>")),
+						IntStream.range(0,score.getClasses()).mapToObj(clazz->String.valueOf(score.getUsage(clazz))).collect(Collectors.joining(" / ")),
+						100d*score.getDeviation(),
+						IntStream.range(0,score.getClasses()).mapToObj(clazz->String.format(Locale.US,"%.2f",runLengths.getAverage(clazz))).collect(Collectors.joining(" / ")),
+						score.getError());
+				}
+				builder.append("</table>");
+			}
+			return builder.toString();
+		}
+	}
+}
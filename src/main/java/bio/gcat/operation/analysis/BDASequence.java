@@ -2,16 +2,19 @@ package bio.gcat.operation.analysis;
 
 import static bio.gcat.Help.*;
 import static bio.gcat.nucleic.Tuple.*;
+import java.io.IOException;
 import java.util.Collection;
 import bio.gcat.Documented;
-import bio.gcat.gui.AnalysisTool;
+import bio.gcat.Parameter;
 import bio.gcat.nucleic.Tuple;
+import bio.gcat.nucleic.helper.BDAHelper;
+import bio.gcat.nucleic.helper.CompiledClassTable;
 import bio.gcat.operation.Cataloged;
 import bio.gcat.operation.Named;
-import scala.Tuple3;
-import bio.gcat.geneticcode.dich.Codon;
+import bio.gcat.operation.Stateless;
 
-@Named(name = "BDA sequence", icon = "bda") @Cataloged(group="Analyse Sequence")
+@Named(name = "BDA sequence", icon = "bda") @Cataloged(group="Analyse Sequence") @Stateless
+@Parameter.Annotation(key="bdas",label="BDAs",type=Parameter.Type.TEXT)
 @Documented(title="BDA Sequence", category={OPERATIONS,ANALYSES}, resource="help/operation/analysis/bda_sequence.html")
 public class BDASequence implements Analysis {
 	@Override public Result analyse(Collection<Tuple> tuples, Object... values) {
@@ -20,15 +23,16 @@ public class BDASequence implements Analysis {
 		else if(Tuple.tuplesLength(tuples)!=3)
 			return new SimpleResult(this, "Only sequences with codons (tuples of length 3) are allowed.");
 
-		bio.gcat.geneticcode.dich.ct.ClassTable classTable = AnalysisTool.getBDATool().getClassTable();
+		bio.gcat.geneticcode.dich.ct.ClassTable classTable;
+		try { classTable = BDAHelper.getClassTable((String)values[0]); }
+		catch(IOException e) { return new SimpleResult(this, "Invalid Binary Dichotomic Algorithm definition: "+e.getMessage()); }
     if(classTable==null)
-    	return new SimpleResult(this, "No Binary Dichotomic Algorithm. Use BDA Tool to open / create BDAs.");
+    	return new SimpleResult(this, "No Binary Dichotomic Algorithm. Use BDA Tool to open / create BDAs or define BDAs as parameter.");
     
+		CompiledClassTable compiled = CompiledClassTable.of(classTable);
 		StringBuilder builder = new StringBuilder();
-		for(Tuple tuple : tuples) {
-			Tuple3<Object, Object, Object> tu = classTable.colorRGB(new Codon(tuple.toString()));
-			builder.append("<span style=\"background-color:" + String.format("#%02x%02x%02x", tu._1(), tu._2(), tu._3()) + "\"> " + tuple + "</span> ");
-		}
+		for(Tuple tuple : tuples)
+			builder.append("<span style=\"background-color:").append(compiled.getColor(tuple)).append("\"> ").append(tuple).append("</span> ");
 		return new SimpleResult(this, "\n" + builder.toString());
 	}
 }
\ No newline at end of file
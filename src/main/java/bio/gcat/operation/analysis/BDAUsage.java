@@ -17,21 +17,19 @@ package bio.gcat.operation.analysis;
 
 import static bio.gcat.Help.*;
 import static bio.gcat.nucleic.Tuple.*;
+import java.io.IOException;
 import java.util.Collection;
-import java.util.HashMap;
-import java.util.stream.Collectors;
-import bio.gcat.geneticcode.dich.Codon;
-import scala.collection.immutable.List;
 import bio.gcat.Documented;
-import bio.gcat.gui.AnalysisTool;
+import bio.gcat.Parameter;
 import bio.gcat.nucleic.Tuple;
+import bio.gcat.nucleic.helper.BDAHelper;
+import bio.gcat.nucleic.helper.CompiledClassTable;
 import bio.gcat.operation.Cataloged;
 import bio.gcat.operation.Named;
-import com.google.common.collect.HashMultiset;
-import com.google.common.collect.Multiset;
-import com.google.common.collect.Multiset.Entry;
+import bio.gcat.operation.Stateless;
 
-@Named(name = "BDA usage", icon = "bda") @Cataloged(group="Analyse Sequence")
+@Named(name = "BDA usage", icon = "bda") @Cataloged(group="Analyse Sequence") @Stateless
+@Parameter.Annotation(key="bdas",label="BDAs",type=Parameter.Type.TEXT)
 @Documented(title="BDA Usage", category={OPERATIONS,ANALYSES}, resource="help/operation/analysis/bda_usage.html")
 public class BDAUsage implements Analysis {
 	@Override public Result analyse(Collection<Tuple> tuples, Object... values) {
@@ -40,17 +38,23 @@ public class BDAUsage implements Analysis {
 		else if(Tuple.tuplesLength(tuples)!=3)
 			return new SimpleResult(this, "Only sequences with codons (tuples of length 3) are allowed.");
 
-		bio.gcat.geneticcode.dich.ct.ClassTable classTable = AnalysisTool.getBDATool().getClassTable();
+		bio.gcat.geneticcode.dich.ct.ClassTable classTable;
+		try { classTable = BDAHelper.getClassTable((String)values[0]); }
+		catch(IOException e) { return new SimpleResult(this, "Invalid Binary Dichotomic Algorithm definition: "+e.getMessage()); }
 		if(classTable==null)
-			return new SimpleResult(this, "No Binary Dichotomic Algorithm. Use BDA Tool to open / create BDAs.");
-		HashMap<Codon, List<Object>> codonToClass = classTable.codon2class();
+			return new SimpleResult(this, "No Binary Dichotomic Algorithm. Use BDA Tool to open / create BDAs or define BDAs as parameter.");
+		CompiledClassTable compiled = CompiledClassTable.of(classTable);
 
-		Multiset<List<Object>> classCount = HashMultiset.create(tuples.stream().map(
-			tuple->codonToClass.get(new Codon(tuple.toString()))).collect(Collectors.toList()));
+		int[] classCount = new int[compiled.getClasses()];
+		for(Tuple tuple:tuples) {
+			int clazz = compiled.classify(tuple);
+			if(clazz!=-1) classCount[clazz]++;
+		}
 
 		StringBuilder builder = new StringBuilder();
-		for(Entry<List<Object>> count:classCount.entrySet())
-			builder.append(count.getElement().mkString("","","") + ": " + count.getCount()+ "<br/>");
+		for(int clazz=0;clazz<classCount.length;clazz++)
+			if(classCount[clazz]!=0)
+				builder.append(compiled.getClassList(clazz).mkString("","","") + ": " + classCount[clazz] + "<br/>");
 		return new SimpleResult(this, builder.toString());
 	}
 }
\ No newline at end of file
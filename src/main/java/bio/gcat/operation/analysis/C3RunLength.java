@@ -17,8 +17,6 @@ package bio.gcat.operation.analysis;
 
 import static bio.gcat.Help.*;
 import static bio.gcat.nucleic.Tuple.*;
-import static bio.gcat.nucleic.helper.SequenceUtilities.*;
-import static java.util.stream.Collectors.*;
 
 import java.util.*;
 
@@ -26,11 +24,12 @@ import bio.gcat.Documented;
 import bio.gcat.Parameter;
 import bio.gcat.nucleic.Tuple;
 import bio.gcat.nucleic.helper.C3Code;
-import bio.gcat.nucleic.helper.SequenceUtilities.Pair;
+import bio.gcat.nucleic.helper.RunLengths;
 import bio.gcat.operation.Cataloged;
 import bio.gcat.operation.Named;
+import bio.gcat.operation.Stateless;
 
-@Named(name = "C3 run lengths", icon = "c3") @Cataloged(group="Analyse Sequence")
+@Named(name = "C3 run lengths", icon = "c3") @Cataloged(group="Analyse Sequence") @Stateless
 @Parameter.Annotation(key = "codeNumber", label = "Code Number", type = Parameter.Type.NUMBER, value = "1,1,216")
 @Documented(title="C3 Code Run Lenghts", category={OPERATIONS,ANALYSES}, resource="help/operation/analysis/c3_run_length.html")
 public class C3RunLength implements Analysis {
@@ -42,25 +41,18 @@ public class C3RunLength implements Analysis {
 		else if(Tuple.tuplesLength(tuples)!=3)
 			return new SimpleResult(this, "Only sequences with codons (tuples of length 3) are allowed.");
 
-		List<Tuple> code = C3Code.CODES.get(codeNumber);
-		List<Pair> nl = splitByRuns(new ArrayList<>(tuples),
-			(t1, t2) -> code.contains(t1) == code.contains(t2),
-			t -> code.contains(t));
+		Set<Tuple> code = new HashSet<>(C3Code.CODES.get(codeNumber));
+		RunLengths runLengths = RunLengths.of(tuples, 2, t -> code.contains(t) ? 0 : 1);
 
 		StringBuffer sb = new StringBuffer();
 		try(Formatter formatter = new Formatter(sb, Locale.US)) {
 			for (boolean isInClass : Arrays.asList(true, false)) {
-				List<List<Tuple>> lp = nl.stream().filter(p -> p.id.equals(isInClass))
-						.map(p -> p.list).collect(toList());
-				List<Integer> li = lp.stream().map(it -> it.size()).collect(toList());
-	
-				IntSummaryStatistics stats = li.stream().mapToInt(it -> it).summaryStatistics();
-	
+				int clazz = isInClass ? 0 : 1;
 				sb.append((isInClass ? "&nbsp;&nbsp;&nbsp;&nbsp;C3" : "not C3") +
 								"(" + (codeNumber + 1) + "): ");
-				formatter.format("min = %5d", stats.getMin());
-				formatter.format(", avg = %5.2f, ", stats.getAverage());
-				formatter.format("max = %5d <br/>", stats.getMax());
+				formatter.format("min = %5d", runLengths.getMinimum(clazz));
+				formatter.format(", avg = %5.2f, ", runLengths.getAverage(clazz));
+				formatter.format("max = %5d <br/>", runLengths.getMaximum(clazz));
 			}
 		}
 
@@ -0,0 +1,147 @@
+/*
+ * Copyright [2016] [Mannheim University of Applied Sciences]
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package bio.gcat.operation.analysis;
+
+import static bio.gcat.Help.*;
+import static bio.gcat.nucleic.Tuple.*;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Formatter;
+import java.util.Locale;
+import java.util.stream.IntStream;
+import bio.gcat.Documented;
+import bio.gcat.Parameter;
+import bio.gcat.nucleic.Tuple;
+import bio.gcat.nucleic.helper.C3Code;
+import bio.gcat.operation.Cataloged;
+import bio.gcat.operation.Named;
+import bio.gcat.operation.Stateless;
+
+@Named(name = "C3 code scores", icon = "c3") @Cataloged(group="Analyse Sequence") @Stateless
+@Parameter.Annotation(key = "ranks", label = "Ranked Codes", type = Parameter.Type.NUMBER, value = "10,1,216")
+@Documented(title="C3 Code Scores", category={OPERATIONS,ANALYSES}, resource="help/operation/analysis/c3_scores.html")
+public class C3Scores implements Analysis {
+	private static final int CODES = 216, CLASSES = 27;
+	private static final long[] NO_CODES = new long[4];
+
+	@Override public Result analyse(Collection<Tuple> tuples, Object... values) { return analyse(tuples, ((Number)values[0]).intValue()); }
+	public Result analyse(Collection<Tuple> tuples, int ranks) {
+		if(condenseTuples(tuples).isEmpty())
+			return new SimpleResult(this, "No tuples.");
+		else if(Tuple.tuplesLength(tuples)!=3)
+			return new SimpleResult(this, "Only sequences with codons (tuples of length 3) are allowed.");
+		return new Scores(this, tuples, ranks);
+	}
+
+	/**
+	 * Usage and run lengths of a sequence for all 216 C3 codes, determined in a single pass over the sequence.
+	 * Per tuple only the codes where the membership changes compared to the previous tuple are touched.
+	 */
+	public static class Scores extends Result {
+		private final int ranks, length;
+		private final int[] usage = new int[CODES];
+		private final int[][] runs = new int[2][CODES], minimum = new int[2][CODES], maximum = new int[2][CODES];
+		private final long[][] sum = new long[2][CODES];
+
+		private Scores(Analysis analysis, Collection<Tuple> tuples, int ranks) {
+			super(analysis); this.ranks = ranks;
+
+			int[] codons = new int[64], start = new int[CODES];
+			for(int[] minimum:this.minimum) Arrays.fill(minimum,Integer.MAX_VALUE);
+
+			int position = 0; long[] previous = null;
+			for(Tuple tuple:tuples) {
+				int codon = tuple!=null?C3Code.codonIndex(tuple):-1;
+				long[] current = codon!=-1?C3Code.CODON2CODES[codon]:NO_CODES;
+				if(codon!=-1) codons[codon]++;
+				if(previous!=null) for(int word=0;word<4;word++)
+					for(long changed=current[word]^previous[word];changed!=0;changed&=changed-1) {
+						int bit = Long.numberOfTrailingZeros(changed), code = word<<6|bit;
+						run(code,position-start[code],(previous[word]>>>bit&1)!=0);
+						start[code] = position;
+					}
+				previous = current; position++;
+			}
+			for(int code=0;code<CODES;code++) // close all open runs
+				run(code,position-start[code],(previous[code>>>6]>>>code&1)!=0);
+			length = position;
+
+			for(int codon=0;codon<64;codon++)
+				if(codons[codon]!=0) for(int code=0;code<CODES;code++)
+					if((C3Code.CODON2CODES[codon][code>>>6]>>>code&1)!=0)
+						usage[code] += codons[codon];
+		}
+		private void run(int code, int length, boolean in) {
+			int kind = in?0:1;
+			runs[kind][code]++; sum[kind][code] += length;
+			if(length<minimum[kind][code]) minimum[kind][code] = length;
+			if(length>maximum[kind][code]) maximum[kind][code] = length;
+		}
+
+		public int getLength() { return length; }
+		/**
+		 * @param code the code number from 1 to 216
+		 */
+		public int getUsage(int code) { return usage[code-1]; }
+		public double getAverageRunLength(int code, boolean in) { int kind = in?0:1; return runs[kind][code-1]!=0?(double)sum[kind][code-1]/runs[kind][code-1]:0d; }
+		public int getMinimumRunLength(int code, boolean in) { int kind = in?0:1; return runs[kind][code-1]!=0?minimum[kind][code-1]:0; }
+		public int getMaximumRunLength(int code, boolean in) { int kind = in?0:1; return runs[kind][code-1]!=0?maximum[kind][code-1]:0; }
+		public int getClassUsage(int clazz) { return C3Code.CLASS2CODES.get(clazz).stream().mapToInt(this::getUsage).sum(); }
+
+		/**
+		 * @return the code numbers, ranked by usage, the average in-code run length and the code number
+		 */
+		public int[] getRankedCodes() {
+			return IntStream.rangeClosed(1,CODES).boxed().sorted(Comparator.<Integer>comparingInt(this::getUsage).reversed()
+				.thenComparing(Comparator.<Integer>comparingDouble(code->getAverageRunLength(code,true)).reversed())
+				.thenComparingInt(code->code)).mapToInt(code->code).toArray();
+		}
+		/**
+		 * @return the class numbers, ranked by the average usage of their codes
+		 */
+		public int[] getRankedClasses() {
+			return IntStream.rangeClosed(1,CLASSES).boxed().sorted(Comparator.<Integer>comparingDouble(clazz->
+				(double)getClassUsage(clazz)/C3Code.CLASS2CODES.get(clazz).size()).reversed().thenComparingInt(clazz->clazz))
+				.mapToInt(clazz->clazz).toArray();
+		}
+
+		@Override public String toString() {
+			StringBuilder builder = new StringBuilder();
+			try(Formatter formatter = new Formatter(builder, Locale.US)) {
+				builder.append("<br/><table><tr><th>Rank</th><th>Code</th><th>Class</th><th>Usage</th><th>C3 runs (min / avg / max)</th><th>not C3 runs (min / avg / max)</th></tr>");
+				int[] codes = getRankedCodes();
+				for(int rank=0;rank<Math.min(ranks,codes.length);rank++) {
+					int code = codes[rank];
+					formatter.format("<tr><td>%d</td><td>C3(%d)</td><td>%d</td><td>%d (%.2f%%)</td>",rank+1,code,C3Code.CODE2CLASS.get(code),getUsage(code),length!=0?100d*getUsage(code)/length:0d);
+					for(boolean in:new boolean[]{true,false})
+						formatter.format("<td>%d / %.2f / %d</td>",getMinimumRunLength(code,in),getAverageRunLength(code,in),getMaximumRunLength(code,in));
+					builder.append("</tr>");
+				}
+				builder.append("</table><br/><table><tr><th>Rank</th><th>Class</th><th>Average Usage</th><th>Best Code</th></tr>");
+				int[] classes = getRankedClasses();
+				for(int rank=0;rank<classes.length;rank++) {
+					int clazz = classes[rank], best = C3Code.CLASS2CODES.get(clazz).stream().max(Comparator.<Integer>comparingInt(this::getUsage)
+						.thenComparing(Comparator.<Integer>naturalOrder().reversed())).get();
+					formatter.format("<tr><td>%d</td><td>%d</td><td>%.2f</td><td>C3(%d)</td></tr>",rank+1,clazz,
+						(double)getClassUsage(clazz)/C3Code.CLASS2CODES.get(clazz).size(),best);
+				}
+				builder.append("</table>");
+			}
+			return builder.toString();
+		}
+	}
+}
@@ -25,8 +25,9 @@ import bio.gcat.nucleic.Tuple;
 import bio.gcat.nucleic.helper.C3Code;
 import bio.gcat.operation.Cataloged;
 import bio.gcat.operation.Named;
+import bio.gcat.operation.Stateless;
 
-@Named(name = "C3 code usage", icon = "c3") @Cataloged(group="Analyse Sequence")
+@Named(name = "C3 code usage", icon = "c3") @Cataloged(group="Analyse Sequence") @Stateless
 @Parameter.Annotation(key = "codeNumber", label = "Code Number", type = Parameter.Type.NUMBER, value = "1,1,216")
 @Documented(title="C3 Usage", category={OPERATIONS,ANALYSES}, resource="help/operation/analysis/c3_usage.html")
 public class C3Usage implements Analysis {
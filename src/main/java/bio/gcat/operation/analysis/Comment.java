@@ -10,8 +10,9 @@ import bio.gcat.Parameter;
 import bio.gcat.nucleic.Tuple;
 import bio.gcat.operation.Cataloged;
 import bio.gcat.operation.Named;
+import bio.gcat.operation.Stateless;
 
-@Named(name="add comment", icon="comment_add") @Cataloged(group="Analyse Sequence")
+@Named(name="add comment", icon="comment_add") @Cataloged(group="Analyse Sequence") @Stateless
 @Parameter.Annotation(key = "comment", label = "Comment", type = Parameter.Type.TEXT)
 @Documented(title="Comment", category={OPERATIONS,ANALYSES}, resource="help/operation/analysis/comment.html")
 public class Comment implements Analysis {
@@ -1,23 +1,28 @@
 package bio.gcat.operation.analysis;
 
 import static bio.gcat.Help.*;
-import static bio.gcat.nucleic.Tuple.*;
+import java.util.ArrayList;
 import java.util.Collection;
-import java.util.stream.Collectors;
+import java.util.Collections;
+import java.util.List;
 import bio.gcat.Documented;
 import bio.gcat.nucleic.Tuple;
+import bio.gcat.nucleic.TupleHistogram;
 import bio.gcat.operation.Cataloged;
 import bio.gcat.operation.Named;
-import com.google.common.collect.HashMultiset;
+import bio.gcat.operation.Stateless;
 
-@Named(name="tuple count", icon="chart_bar") @Cataloged(group="Analyse Sequence")
+@Named(name="tuple count", icon="chart_bar") @Cataloged(group="Analyse Sequence") @Stateless
 @Documented(title="Tuple Count", category={OPERATIONS,ANALYSES}, resource="help/operation/analysis/tuple_count.html")
 public class TupleCount implements Analysis {
 	private static final String DELIMITER = ": ", NEW_LINE = "<br/>";
 	
 	public Result analyse(Collection<Tuple> tuples, Object... values) {
-		String result = HashMultiset.create(condenseTuples(tuples)).entrySet().stream().map(
-			tuple->tuple.getElement()+DELIMITER+tuple.getCount()).sorted().collect(Collectors.joining(NEW_LINE));
+		List<String> counts = new ArrayList<>();
+		new TupleHistogram(tuples).forEach((tuple,count)->{
+			if(tuple.length()!=0) counts.add(tuple+DELIMITER+count); });
+		Collections.sort(counts); // format and sort only the distinct tuples
+		String result = String.join(NEW_LINE,counts);
 		return new SimpleResult(this,result.isEmpty()?"no tuples":NEW_LINE+result);
 	}
 }
\ No newline at end of file
@@ -19,17 +19,17 @@ import static bio.gcat.Help.ANALYSES;
 import static bio.gcat.Help.OPERATIONS;
 import static bio.gcat.Utilities.containsOnly;
 import static bio.gcat.nucleic.Tuple.normalizeTuples;
-import static bio.gcat.nucleic.Tuple.splitTuples;
-import static bio.gcat.nucleic.Tuple.tupleString;
 
-import java.io.BufferedReader;
+import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.InputStreamReader;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
 
-import com.google.common.collect.HashMultiset;
-import com.google.common.collect.Multiset;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 
 import bio.gcat.Documented;
 import bio.gcat.Parameter;
@@ -37,16 +37,25 @@ import bio.gcat.Parameter.Type;
 import bio.gcat.log.Logger;
 import bio.gcat.nucleic.Acid;
 import bio.gcat.nucleic.Tuple;
+import bio.gcat.nucleic.TupleHistogram;
 import bio.gcat.operation.Cataloged;
 import bio.gcat.operation.Named;
+import bio.gcat.operation.Stateless;
 
-@Named(name="tuple usage", icon="report") @Cataloged(group="Analyse Sequence")
+@Named(name="tuple usage", icon="report") @Cataloged(group="Analyse Sequence") @Stateless
 @Parameter.Annotation(key="file",label="File",type=Type.FILE)
 @Documented(title="Tuple Usage", category={OPERATIONS,ANALYSES}, resource="help/operation/analysis/tuple_usage.html")
 public class TupleUsage implements Analysis {	
 	private static final String DELIMITER = ", ", TIMES = "x ";
 	private static final Tuple EMPTY_TUPLE = new Tuple();
 	
+	/*
+	 * The background tuple counts of files, keyed by path, modification time, size and acid, so a file
+	 * used for many sequences (e.g. in a batch) gets parsed only once. Values are softly referenced.
+	 */
+	private static final Cache<List<Object>,TupleHistogram> BACKGROUNDS =
+		CacheBuilder.newBuilder().maximumSize(16).softValues().build();
+	
 	@Override public Result analyse(Collection<Tuple> tuples,Object... values) {
 		Logger logger = getLogger();
 		
@@ -61,16 +70,29 @@ public class TupleUsage implements Analysis {
 			return null; //tuples not all in same acid
 		}
 		
-		Multiset<Tuple> tupleCount = HashMultiset.create();
-		try(BufferedReader reader = new BufferedReader(new InputStreamReader((InputStream)values[0]))) {
-			String line; while((line=reader.readLine())!=null)
-				tupleCount.addAll(normalizeTuples(splitTuples(tupleString(line).trim()),acid));
-		} catch(IOException e) { logger.log("Error while reading file.",e); return null; }
+		TupleHistogram tupleCount;
+		try { tupleCount = background(values[0],acid); }
+		catch(IOException e) { logger.log("Error while reading file.",e); return null; }
 		
 		StringBuilder builder = new StringBuilder();
-		for(Tuple tuple:(!tuples.isEmpty()&&!containsOnly(tuples,EMPTY_TUPLE)?
-				normalizeTuples(tuples,acid):tupleCount.elementSet()))
-			builder.append(DELIMITER).append(tupleCount.count(tuple)).append(TIMES).append(tuple);
+		if(!tuples.isEmpty()&&!containsOnly(tuples,EMPTY_TUPLE)) {
+			for(Tuple tuple:normalizeTuples(tuples,acid))
+				builder.append(DELIMITER).append(tupleCount.count(tuple)).append(TIMES).append(tuple);
+		} else tupleCount.forEach((tuple,count)->builder.append(DELIMITER).append(count).append(TIMES).append(tuple));
 		return new SimpleResult(this,builder.length()!=0?builder.substring(DELIMITER.length()).toString():"no tuples");
 	}
-}
\ No newline at end of file
+	
+	/**
+	 * count the tuples of a file (cached) or of any other input stream (uncached)
+	 */
+	private static TupleHistogram background(Object value, Acid acid) throws IOException {
+		File file = value instanceof File?(File)value:value instanceof Parameter.FileStream?((Parameter.FileStream)value).getFile():null;
+		if(file==null) try(InputStream input = (InputStream)value) {
+			return TupleHistogram.read(input,acid); }
+		else if(value instanceof InputStream)
+			((InputStream)value).close(); // the file is read by path, the stream is not needed
+		
+		try { return BACKGROUNDS.get(Arrays.asList(file.getAbsolutePath(),file.lastModified(),file.length(),acid),()->TupleHistogram.read(file,acid)); }
+		catch(ExecutionException e) { throw e.getCause() instanceof IOException?(IOException)e.getCause():new IOException(e.getCause()); }
+	}
+}
@@ -17,34 +17,45 @@ package bio.gcat.operation.split;
 
 import static bio.gcat.Help.*;
 import java.util.ArrayList;
+import java.io.IOException;
 import java.util.Collection;
 import java.util.List;
-import java.util.stream.Collectors;
 import bio.gcat.Documented;
-import bio.gcat.geneticcode.dich.Codon;
-import bio.gcat.gui.AnalysisTool;
+import bio.gcat.Parameter;
 import bio.gcat.log.Logger;
 import bio.gcat.nucleic.Tuple;
+import bio.gcat.nucleic.helper.BDAHelper;
+import bio.gcat.nucleic.helper.CompiledClassTable;
 import bio.gcat.operation.Cataloged;
 import bio.gcat.operation.Named;
+import bio.gcat.operation.Stateless;
 
-@Named(name="binary dichotomic algorithm", icon="bda") @Cataloged(group="Split Sequence")
+@Named(name="binary dichotomic algorithm", icon="bda") @Cataloged(group="Split Sequence") @Stateless
+@Parameter.Annotation(key="bdas",label="BDAs",type=Parameter.Type.TEXT)
 @Documented(title="BDA", category={OPERATIONS,SPLITS}, resource="help/operation/split/bda.html")
 public class BDA implements Split {
 	@Override public List<Collection<Tuple>> split(Collection<Tuple> tuples,Object... values) {
 		Logger logger = getLogger();
 
-		bio.gcat.geneticcode.dich.ct.ClassTable classTable = AnalysisTool.getBDATool().getClassTable();
+		bio.gcat.geneticcode.dich.ct.ClassTable classTable;
+		try { classTable = BDAHelper.getClassTable((String)values[0]); }
+		catch(IOException e) {
+			logger.log("Invalid Binary Dichotomic Algorithm definition: "+e.getMessage());
+			return null;
+		}
 		if(classTable==null) {
-			logger.log("No Binary Dichotomic Algorithm. Use BDA Tool to open / create BDAs.");
+			logger.log("No Binary Dichotomic Algorithm. Use BDA Tool to open / create BDAs or define BDAs as parameter.");
 			return null; //no BDA
 		}
 
+		CompiledClassTable compiled = CompiledClassTable.of(classTable);
 		List<Collection<Tuple>> split = new ArrayList<>();
-		for(scala.collection.immutable.List<Codon> codons:classTable.class2codonList().values())
-			split.add(new ArrayList<Tuple>(tuples) { private static final long serialVersionUID = 1l; {
-				retainAll(scala.collection.JavaConversions.asJavaCollection(codons.toList()).stream().map(codon->new Tuple(codon.toString())).collect(Collectors.toList()));
-			}});
+		for(int clazz=0;clazz<compiled.getClasses();clazz++)
+			split.add(new ArrayList<>());
+		for(Tuple tuple:tuples) { // distribute all tuples in one pass
+			int clazz = compiled.classify(tuple);
+			if(clazz!=-1) split.get(clazz).add(tuple);
+		}
 
 		split.removeIf(splitCandidate->splitCandidate.isEmpty());
 		return split;
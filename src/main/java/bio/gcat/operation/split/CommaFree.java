@@ -10,6 +10,7 @@ import java.util.List;
 import org.paukov.combinatorics.Factory;
 import org.paukov.combinatorics.ICombinatoricsVector;
 
+import bio.gcat.Budget;
 import bio.gcat.Documented;
 import bio.gcat.Parameter;
 import bio.gcat.Parameter.Type;
@@ -17,10 +18,11 @@ import bio.gcat.log.Logger;
 import bio.gcat.nucleic.Tuple;
 import bio.gcat.operation.Cataloged;
 import bio.gcat.operation.Named;
+import bio.gcat.operation.Stateless;
 import bio.gcat.operation.test.DuplicateFree;
 import bio.gcat.operation.test.Test;
 
-@Named(name="comma-free", icon="comma_free") @Cataloged(group="Split Sequence")
+@Named(name="comma-free", icon="comma_free") @Cataloged(group="Split Sequence") @Stateless
 @Parameter.Annotation(key="parts",label="Parts",type=Type.NUMBER,value="2,32767")
 @Parameter.Annotation(key="equal-sized",label="Equal Sized",type=Type.BOOLEAN)
 @Documented(title="Comma-Free", category={OPERATIONS,SPLITS}, resource="help/operation/split/comma_free.html")
@@ -46,7 +48,9 @@ public class CommaFree implements Split {
 			return null;
 		}
 		
+		Budget.Work work = Budget.expect((long)Math.pow(2,tuples.size())); // progress of the outermost split only
 		for(ICombinatoricsVector<Tuple> subset:Factory.createSubSetGenerator(Factory.createVector(tuples))) {
+			work.step();
 			if(subset.getSize()==0||(equalSized&&tuples.size()/parts!=subset.getSize())) continue;
 			List<Tuple> vector = subset.getVector();
 			if(COMMA_FREE.test(vector)) {
@@ -25,9 +25,10 @@ import bio.gcat.Parameter.Type;
 import bio.gcat.nucleic.Tuple;
 import bio.gcat.operation.Cataloged;
 import bio.gcat.operation.Named;
+import bio.gcat.operation.Stateless;
 import com.google.common.collect.Lists;
 
-@Named(name="n-partition", icon="timeline_marker") @Cataloged(group="Split Sequence")
+@Named(name="n-partition", icon="timeline_marker") @Cataloged(group="Split Sequence") @Stateless
 @Parameter.Annotation(key="parts",label="Parts",type=Type.NUMBER,value="2,32767")
 @Documented(title="Partition", category={OPERATIONS,SPLITS}, resource="help/operation/split/partition.html")
 public class Partition implements Split {
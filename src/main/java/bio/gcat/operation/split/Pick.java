@@ -29,8 +29,9 @@ import bio.gcat.Parameter.Type;
 import bio.gcat.nucleic.Tuple;
 import bio.gcat.operation.Cataloged;
 import bio.gcat.operation.Named;
+import bio.gcat.operation.Stateless;
 
-@Named(name="pick", icon="basket_remove") @Cataloged(group="Split Sequence")
+@Named(name="pick", icon="basket_remove") @Cataloged(group="Split Sequence") @Stateless
 @Parameter.Annotation(key="pattern",label="Split",type=Type.TEXT)
 @Parameter.Annotation(key="regex",label="Regex",type=Type.BOOLEAN,value=Utilities.TRUE)
 @Documented(title="Pick", category={OPERATIONS,SPLITS}, resource="help/operation/split/pick.html")
@@ -22,22 +22,28 @@ import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
+import bio.gcat.Budget;
 import bio.gcat.Documented;
 import bio.gcat.nucleic.Tuple;
 import bio.gcat.operation.Cataloged;
 import bio.gcat.operation.Named;
+import bio.gcat.operation.Stateless;
 
-@Named(name="power set", icon="chart_organisation") @Cataloged(group="Split Sequence")
+@Named(name="power set", icon="chart_organisation") @Cataloged(group="Split Sequence") @Stateless
 @Documented(title="Power Set", category={OPERATIONS,SPLITS}, resource="help/operation/split/power_set.html")
 public class PowerSet implements Split {
- 	@Override public List<Collection<Tuple>> split(Collection<Tuple> tuples,Object... values) { return new ArrayList<>(powerSet(new HashSet<>(tuples))); }
-	@SuppressWarnings("serial") private static <T> Set<Set<T>> powerSet(Set<T> originalSet) {
+ 	@Override public List<Collection<Tuple>> split(Collection<Tuple> tuples,Object... values) {
+		Set<Tuple> set = new HashSet<>(tuples);
+		return new ArrayList<>(powerSet(set, Budget.expect((long)Math.pow(2,set.size())-1))); // one step per subset of the rest sets
+	}
+	@SuppressWarnings("serial") private static <T> Set<Set<T>> powerSet(Set<T> originalSet, Budget.Work work) {
 		Set<Set<T>> sets = new HashSet<Set<T>>();
 	    if(!originalSet.isEmpty()) {
 	      List<T> list = new ArrayList<T>(originalSet);
 	      T head = list.get(0);
 	      Set<T> restSet = new HashSet<T>(list.subList(1, list.size())); 
-	      for(Set<T> set:powerSet(restSet)) {
+	      for(Set<T> set:powerSet(restSet, work)) {
+	      	work.step();
 	      	sets.add(new HashSet<T>(set) {{ add(head); }});
 	      	sets.add(set);
 	      }
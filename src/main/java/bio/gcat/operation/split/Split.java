@@ -28,6 +28,7 @@ import bio.gcat.Utilities;
 import bio.gcat.Parameter.Type;
 import bio.gcat.nucleic.Tuple;
 import bio.gcat.operation.Named;
+import bio.gcat.operation.Stateless;
 import bio.gcat.operation.Operation;
 
 public interface Split extends Operation {
@@ -39,7 +40,7 @@ public interface Split extends Operation {
 	
 	@SafeVarargs public static List<Collection<Tuple>> asList(Collection<Tuple>... tuples) { return Arrays.asList(tuples); }
 	
-	@Named(name="split", icon="application_split")
+	@Named(name="split", icon="application_split") @Stateless
 	@Parameter.Annotation(key="pattern",label="Split",type=Type.TEXT)
 	@Parameter.Annotation(key="regex",label="Regex",type=Type.BOOLEAN,value=Utilities.TRUE)
 	@Parameter.Annotation(key="delimiter",label="Remove Delimiter",type=Type.BOOLEAN,value=Utilities.FALSE)
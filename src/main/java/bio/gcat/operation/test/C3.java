@@ -21,11 +21,13 @@ import bio.gcat.Documented;
 import bio.gcat.log.Logger;
 import bio.gcat.nucleic.Tuple;
 import bio.gcat.operation.Cataloged;
+import bio.gcat.operation.Cost;
 import bio.gcat.operation.Named;
+import bio.gcat.operation.Stateless;
 import bio.gcat.operation.transformation.ShiftTuples;
 import bio.gcat.operation.transformation.Transformation;
 
-@Named(name="c3", icon="c3") @Cataloged(group="Test Sequence", order=30)
+@Named(name="c3", icon="c3") @Cataloged(group="Test Sequence", order=30) @Stateless @Cost(degree=4)
 @Documented(title="C3", category={OPERATIONS,TESTS}, resource="help/operation/test/c3.html")
 public class C3 implements Test {
 	private static final Test
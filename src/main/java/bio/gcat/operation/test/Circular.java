@@ -22,17 +22,20 @@ import java.util.Collection;
 
 import org.paukov.combinatorics.Factory;
 import org.paukov.combinatorics.ICombinatoricsVector;
+import bio.gcat.Budget;
 import bio.gcat.Documented;
 import bio.gcat.Parameter;
 import bio.gcat.Parameter.Type;
 import bio.gcat.log.Logger;
 import bio.gcat.nucleic.Tuple;
 import bio.gcat.operation.Cataloged;
+import bio.gcat.operation.Cost;
 import bio.gcat.operation.Named;
+import bio.gcat.operation.Stateless;
 import bio.gcat.operation.transformation.ShiftSequence;
 import bio.gcat.operation.transformation.Transformation;
 
-@Named(name = "n-circular", icon = "arrow_rotate_clockwise")
+@Named(name = "n-circular", icon = "arrow_rotate_clockwise") @Stateless @Cost(degree = 2)
 @Cataloged(group = "Test Sequence", order = 21)
 @Parameter.Annotation(key = "n", label = "n-Circular", type = Type.NUMBER, value = "1,10")
 @Documented(title = "Circular", category = {OPERATIONS, TESTS}, resource = "help/operation/test/circular.html")
@@ -48,6 +51,10 @@ public class Circular implements Test {
     }
 
     public boolean test(Collection<Tuple> tuples, int n) {
+        return test(tuples, n, Budget.expect(steps(tuples.size(), n)));
+    }
+
+    private boolean test(Collection<Tuple> tuples, int n, Budget.Work work) {
         Logger logger = getLogger();
 
         if (tuples.isEmpty())
@@ -68,31 +75,45 @@ public class Circular implements Test {
         else if (n == 1) {
             int shift;
             Tuple shifted;
-            for (Tuple tuple : tuples)
+            for (Tuple tuple : tuples) {
+                work.step();
                 for (shift = 1, shifted = tuple; shift < length; shift++)
                     if (tuples.contains(shifted = SHIFT.transform(Arrays.asList(shifted)).iterator().next())) {
                         logger.log((!tuple.equals(shifted) ? "Tuples " + tuple + " and " + shifted + " belong to the same equivalence class" :
                                 "Tuple " + tuple + " is contained in sequence") + ", code not 1-circular.");
                         return false; //lemma 3.2, is 1-circular if and only if X contains at most one codon from each complete conjugacy class
                     }
+            }
         } else {
-            if (!test(tuples, n - 1))
+            if (!test(tuples, n - 1, work))
                 return false; //lemma 3.2, if X is a n-circularcode, then X is also m-circular for all m<n
 
             Collection<Tuple> shifted;
             for (ICombinatoricsVector<Tuple> combination : Factory.createSimpleCombinationGenerator(Factory.createVector(tuples), n))
-                for (ICombinatoricsVector<Tuple> permutation : Factory.createPermutationGenerator(combination))
+                for (ICombinatoricsVector<Tuple> permutation : Factory.createPermutationGenerator(combination)) {
+                    work.step();
                     for (int shift = 1; shift < length; shift++)
                         if (tuples.containsAll(shifted = SHIFT.transform(permutation.getVector(), shift))) {
                             logger.log("Partition " + permutation.getVector() + " and shift " + shifted + " contained in sequence, code not " + n + "-circular.");
                             return false;
                         }
+                }
         }
 
         return true;
     }
 
-    @Named(name = "circular", icon = "arrow_rotate_clockwise")
+    /**
+     * @return the number of steps to test for n-circular, the tuples and the permutations of 2 to n tuples
+     */
+    private static long steps(int size, int n) {
+        double steps = 0d, permutations = 1d;
+        for (int m = 1; m <= Math.min(size, n); m++)
+            steps += permutations *= size - m + 1;
+        return (long) steps;
+    }
+
+    @Named(name = "circular", icon = "arrow_rotate_clockwise") @Stateless @Cost(degree = 4)
     @Cataloged(group = "Test Sequence", order = 20)
     @Documented(title = "Circular", category = {OPERATIONS, TESTS}, resource = "help/operation/test/circular.html")
     public static class CommonCircular extends Circular {
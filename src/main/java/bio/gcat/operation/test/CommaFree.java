@@ -19,15 +19,18 @@ import static bio.gcat.Help.*;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import bio.gcat.Budget;
 import bio.gcat.Documented;
 import bio.gcat.log.Logger;
 import bio.gcat.nucleic.Tuple;
 import bio.gcat.operation.Cataloged;
+import bio.gcat.operation.Cost;
 import bio.gcat.operation.Named;
+import bio.gcat.operation.Stateless;
 import bio.gcat.operation.transformation.ShiftSequence;
 import bio.gcat.operation.transformation.Transformation;
 
-@Named(name="comma-free", icon="comma_free") @Cataloged(group="Test Sequence", order=10)
+@Named(name="comma-free", icon="comma_free") @Cataloged(group="Test Sequence", order=10) @Stateless @Cost(degree=3)
 @Documented(title="Comma-Free", category={OPERATIONS,TESTS}, resource="help/operation/test/comma_free.html")
 public class CommaFree implements Test {
 	private static final Test
@@ -53,12 +56,15 @@ public class CommaFree implements Test {
 		}
 		
 		int shift; Collection<Tuple> shifted;
-		for(Tuple tupleA:tuples) for(Tuple tupleB:tuples)
+		Budget.Work work = Budget.expect((long)tuples.size()*tuples.size());
+		for(Tuple tupleA:tuples) for(Tuple tupleB:tuples) {
+			work.step();
 			if(tupleA!=tupleB) for(shift=1,shifted=Arrays.asList(tupleA,tupleB);shift<length;shift++)
 				if(!Collections.disjoint(tuples,shifted = SHIFT.transform(shifted))) {
 					logger.log("Shifted tuple created from "+tupleA+" and "+tupleB+" is contained in sequence, code not comma-free.");
 					return false; //contains shifted tuple
 				}
+		}
 		
 		return true;
 	}
@@ -21,9 +21,11 @@ import java.util.HashSet;
 import bio.gcat.Documented;
 import bio.gcat.nucleic.Tuple;
 import bio.gcat.operation.Cataloged;
+import bio.gcat.operation.Cost;
 import bio.gcat.operation.Named;
+import bio.gcat.operation.Stateless;
 
-@Named(name="duplicate free", icon="style_delete") @Cataloged(group="Test Sequence", order=60)
+@Named(name="duplicate free", icon="style_delete") @Cataloged(group="Test Sequence", order=60) @Stateless @Cost(degree=1)
 @Documented(title="Duplicate Free", category={OPERATIONS,TESTS}, resource="help/operation/test/duplicate_free.html")
 public class DuplicateFree implements Test {
 	@Override public boolean test(Collection<Tuple> tuples,Object... values) {
@@ -6,11 +6,13 @@ import bio.gcat.Documented;
 import bio.gcat.Parameter;
 import bio.gcat.nucleic.Tuple;
 import bio.gcat.operation.Cataloged;
+import bio.gcat.operation.Cost;
 import bio.gcat.operation.Named;
+import bio.gcat.operation.Stateless;
 import bio.gcat.operation.transformation.CommonSubstitution;
 import bio.gcat.operation.transformation.Transformation;
 
-@Named(name="invariant to", icon="book_next") @Cataloged(group="Test Sequence", order=50)
+@Named(name="invariant to", icon="book_next") @Cataloged(group="Test Sequence", order=50) @Stateless @Cost(degree=2)
 @Documented(title="Invariant To", category={OPERATIONS,TESTS}, resource="help/operation/test/invariant_to.html")
 public class InvariantTo implements Test {
 	private static final Transformation
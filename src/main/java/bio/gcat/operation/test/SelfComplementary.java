@@ -22,9 +22,11 @@ import bio.gcat.log.Logger;
 import bio.gcat.nucleic.Acid;
 import bio.gcat.nucleic.Tuple;
 import bio.gcat.operation.Cataloged;
+import bio.gcat.operation.Cost;
 import bio.gcat.operation.Named;
+import bio.gcat.operation.Stateless;
 
-@Named(name="self-complementary", icon="style_go") @Cataloged(group="Test Sequence", order=40)
+@Named(name="self-complementary", icon="style_go") @Cataloged(group="Test Sequence", order=40) @Stateless @Cost(degree=2)
 @Documented(title="Self-Complementary", category={OPERATIONS,TESTS}, resource="help/operation/test/self_complementary.html")
 public class SelfComplementary implements Test {
 	@Override public boolean test(Collection<Tuple> tuples,Object... values) {
@@ -28,6 +28,7 @@ import bio.gcat.Parameter.Type;
 import bio.gcat.Utilities;
 import bio.gcat.nucleic.Tuple;
 import bio.gcat.operation.Named;
+import bio.gcat.operation.Stateless;
 import bio.gcat.operation.Operation;
 
 public interface Test extends Operation {
@@ -54,6 +55,37 @@ public interface Test extends Operation {
 		public Failed(Test test) { super(test, "Test Failed"); }	  
 
 	}
+	/**
+	 * The outcome of a test performed by a batch, signalled as a value instead of a {@link Failed} exception. Passed
+	 * tests share one outcome, so the common case needs no allocation at all. Any operation of a batch, which exceeded
+	 * its {@link bio.gcat.Budget budget}, has a timed out outcome.
+	 */
+	public static final class Outcome {
+		public enum Status { PASSED, FAILED, SKIPPED, TIMED_OUT }
+		
+		public static final Outcome PASSED = new Outcome(Status.PASSED, null, null);
+		
+		private final Status status;
+		private final Test test;
+		private final String reason;
+		
+		private Outcome(Status status, Test test, String reason) { this.status = status; this.test = test; this.reason = reason; }
+		
+		public static Outcome failed(Test test, String reason) { return new Outcome(Status.FAILED, test, reason); }
+		public static Outcome skipped(String reason) { return new Outcome(Status.SKIPPED, null, reason); }
+		public static Outcome timedOut(String reason) { return new Outcome(Status.TIMED_OUT, null, reason); }
+		
+		public Status getStatus() { return status; }
+		public Test getTest() { return test; }
+		public String getReason() { return reason; }
+		
+		public boolean isPassed() { return status==Status.PASSED; }
+		public boolean isFailed() { return status==Status.FAILED; }
+		public boolean isSkipped() { return status==Status.SKIPPED; }
+		public boolean isTimedOut() { return status==Status.TIMED_OUT; }
+		
+		@Override public String toString() { return status+(reason!=null?": "+reason:""); }
+	}
 	public static class Default extends Exception {
 		private static final long serialVersionUID = 1l;
 		
@@ -67,7 +99,7 @@ public interface Test extends Operation {
 		public boolean getResult() { return result; }
 	}
 	
-	@Named(name="match", icon="magnifier_zoom_in")
+	@Named(name="match", icon="magnifier_zoom_in") @Stateless
 	@Parameter.Annotation(key="pattern",label="Term",type=Type.TEXT)
 	@Parameter.Annotation(key="regex",label="Regex",type=Type.BOOLEAN,value=Utilities.TRUE)
 	@Documented(title="Find", category={OPERATIONS,GENERAL}, resource="help/operation/test/find.html")
@@ -10,8 +10,9 @@ import bio.gcat.Parameter;
 import bio.gcat.Parameter.Type;
 import bio.gcat.nucleic.Tuple;
 import bio.gcat.operation.Named;
+import bio.gcat.operation.Stateless;
 
-@Named(name="add tuples", icon="add")
+@Named(name="add tuples", icon="add") @Stateless
 @Parameter.Annotation(key="tuples",label="Tuples",type=Type.TEXT)
 public class AddTuples implements Transformation {
 	@Override public Collection<Tuple> transform(Collection<Tuple> tuples,Object... values) {
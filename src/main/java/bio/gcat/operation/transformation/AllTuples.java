@@ -26,21 +26,26 @@ import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
+import bio.gcat.Budget;
 import bio.gcat.Documented;
 import bio.gcat.Parameter;
 import bio.gcat.Parameter.Type;
 import bio.gcat.nucleic.Tuple;
 import bio.gcat.operation.Cataloged;
 import bio.gcat.operation.Named;
+import bio.gcat.operation.Stateless;
 
-@Named(name="add all (missing) tuples", icon="color_swatch") @Cataloged(group="Add / Remove Tuples")
+@Named(name="add all (missing) tuples", icon="color_swatch") @Cataloged(group="Add / Remove Tuples") @Stateless
 @Parameter.Annotation(key="length",label="Length",type=Type.NUMBER,value="1,3,10")
 @Documented(title="All (Missing) Tuples", category={OPERATIONS,TRANSFORMATIONS}, resource="help/operation/transformation/all_tuples.html")
 public class AllTuples implements Transformation {	
 	@Override public Collection<Tuple> transform(Collection<Tuple> tuples,Object... values) {
-		List<Tuple> newTuples = new ArrayList<>(tuples);
-		for(Tuple tuple:allTuples(Optional.ofNullable(tuplesAcid(tuples)).orElse(RNA), (Integer)values[0]))
+		List<Tuple> newTuples = new ArrayList<>(tuples), allTuples = allTuples(Optional.ofNullable(tuplesAcid(tuples)).orElse(RNA), (Integer)values[0]);
+		Budget.Work work = Budget.expect(allTuples.size());
+		for(Tuple tuple:allTuples) {
+			work.step();
 			if(!tuples.contains(tuple)) newTuples.add(tuple);
+		}
 		return newTuples;
 	}
 }
\ No newline at end of file
@@ -22,7 +22,7 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.LinkedHashMap;
 import java.util.Map;
-import java.util.stream.Collectors;
+import java.util.function.UnaryOperator;
 import bio.gcat.Documented;
 import bio.gcat.Parameter;
 import bio.gcat.log.Logger;
@@ -31,11 +31,12 @@ import bio.gcat.nucleic.Base;
 import bio.gcat.nucleic.Tuple;
 import bio.gcat.operation.Cataloged;
 import bio.gcat.operation.Named;
+import bio.gcat.operation.Stateless;
 import com.google.common.collect.ImmutableMap;
 
-@Named(name="common substitution", icon="book_next") @Cataloged(group="Substitute Nucleotide Bases")
+@Named(name="common substitution", icon="book_next") @Cataloged(group="Substitute Nucleotide Bases") @Stateless
 @Documented(title="Common Substitution", category={OPERATIONS,TRANSFORMATIONS}, resource="help/operation/transformation/common_substitution.html")
-public class CommonSubstitution implements Transformation {
+public class CommonSubstitution implements Transformation.Elementwise {
 	public static final Map<String,Map<Base,Base>> SUBSTITUTIONS;
 	
 	private static final Parameter[] PARAMETERS;
@@ -175,19 +176,23 @@ public class CommonSubstitution implements Transformation {
 	
 	public static Parameter[] getParameters() { return PARAMETERS; }
 
-	@Override public Collection<Tuple> transform(Collection<Tuple> tuples,Object... values) { return transform(tuples,(String)values[0]); }
-	public Collection<Tuple> transform(Collection<Tuple> tuples,String name) {
+	@Override public UnaryOperator<Tuple> mapping(Collection<Tuple> tuples,Object... values) { return mapping(tuples,(String)values[0]); }
+	public UnaryOperator<Tuple> mapping(Collection<Tuple> tuples,String name) {
 		Logger logger = getLogger();
 		
 		Acid acid;
 		if((acid=Tuple.tuplesAcid(tuples))==null) {
 			logger.log("Tuples with variable acids, can't transform.");
-			return tuples; //tuples not all in same acid
+			return null; //tuples not all in same acid
 		}
 		
 		Map<Base,Base> substitution = SUBSTITUTIONS.get(name);
-		return substitution!=null?tuples.stream().map(tuple->
-			new Tuple(substitute(tuple.toAcid(Acid.RNA).getBases(),substitution)).toAcid(acid))
-				.collect(Collectors.toList()):tuples;
+		return substitution!=null?tuple->new Tuple(substitute(tuple.toAcid(Acid.RNA).getBases(),substitution)).toAcid(acid):null;
 	}
+	@Override public boolean isInvolution(Object... values) {
+		Map<Base,Base> substitution = SUBSTITUTIONS.get(values[0]);
+		return substitution!=null&&substitution.entrySet().stream().allMatch(entry->substitution.get(entry.getValue())==entry.getKey());
+	}
+	
+	public Collection<Tuple> transform(Collection<Tuple> tuples,String name) { return transform(tuples,(Object)name); }
 }
@@ -1,23 +1,22 @@
 package bio.gcat.operation.transformation;
 
 import static bio.gcat.Help.*;
-import java.security.SecureRandom;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
-import java.util.Random;
 import bio.gcat.Documented;
 import bio.gcat.Parameter;
 import bio.gcat.Parameter.Type;
+import bio.gcat.RandomSource;
 import bio.gcat.nucleic.Acid;
-import bio.gcat.nucleic.Base;
 import bio.gcat.nucleic.Tuple;
 import bio.gcat.operation.Cataloged;
 import bio.gcat.operation.Named;
+import bio.gcat.operation.Stateless;
 
-@Named(name="add random tuples", icon="arrow_switch") @Cataloged(group="Add / Remove Tuples")
+@Named(name="add random tuples", icon="arrow_switch") @Cataloged(group="Add / Remove Tuples") @Stateless
 @Parameter.Annotation(key="number",label="Number of Tuples",type=Type.NUMBER,value="1,32767")
 @Documented(title="Random Tuples", category={OPERATIONS,TRANSFORMATIONS}, resource="help/operation/transformation/random_tuples.html")
 public class RandomTuples implements Transformation {
@@ -25,23 +24,10 @@ public class RandomTuples implements Transformation {
 		Acid acid = Optional.ofNullable(Tuple.tuplesAcid(tuples)).orElse(Acid.RNA);
 		int length = (length=Tuple.tuplesLength(tuples))>0?length:3;
 		
-		List<Tuple> random = new ArrayList<>(tuples);
-		for(int index=0;index<(Integer)values[0];index++)
-			random.add(RandomHolder.randomTuple(acid,length));
+		int number = ((Number)values[0]).intValue();
+		List<Tuple> random = new ArrayList<>(tuples.size()+number);
+		random.addAll(tuples);
+		random.addAll(Arrays.asList(RandomSource.randomTuples(acid,length,number,RandomSource.current())));
 		return random;
 	}
-	
-	/*
-	 * The random generator used by this class to create random keys.
-	 * In a holder class to defer initialization until needed.
-	 */
-	private static class RandomHolder {
-		static final Random random = new SecureRandom();
-		public static Base randomBase(Acid acid) {
-			return acid.bases[random.nextInt(acid.bases.length)];
-		}
-		public static Tuple randomTuple(Acid acid, int length) {
-			return new Tuple(Arrays.stream(new Object[length]).map(dummy->randomBase(acid)).toArray(Base[]::new));
-		}
-	}
 }
\ No newline at end of file
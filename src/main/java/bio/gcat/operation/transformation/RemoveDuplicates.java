@@ -22,8 +22,9 @@ import bio.gcat.Documented;
 import bio.gcat.nucleic.Tuple;
 import bio.gcat.operation.Cataloged;
 import bio.gcat.operation.Named;
+import bio.gcat.operation.Stateless;
 
-@Named(name="remove duplicates", icon="style_delete") @Cataloged(group="Add / Remove Tuples")
+@Named(name="remove duplicates", icon="style_delete") @Cataloged(group="Add / Remove Tuples") @Stateless
 @Documented(title="Remove Duplicates", category={OPERATIONS,TRANSFORMATIONS}, resource="help/operation/transformation/remove_duplicates.html")
 public class RemoveDuplicates implements Transformation { 	
 	@Override public Collection<Tuple> transform(Collection<Tuple> tuples,Object... values) {
@@ -23,8 +23,9 @@ import bio.gcat.Documented;
 import bio.gcat.nucleic.Tuple;
 import bio.gcat.operation.Cataloged;
 import bio.gcat.operation.Named;
+import bio.gcat.operation.Stateless;
 
-@Named(name="remove unknown compounds", icon="bug_delete") @Cataloged(group="Add / Remove Tuples")
+@Named(name="remove unknown compounds", icon="bug_delete") @Cataloged(group="Add / Remove Tuples") @Stateless
 @Documented(title="Remove Unknown Compounds", category={OPERATIONS,TRANSFORMATIONS}, resource="help/operation/transformation/remove_unknown_compounds.html")
 public class RemoveUnknownCompounds implements Transformation {
 	@Override public Collection<Tuple> transform(Collection<Tuple> tuples,Object... values) {
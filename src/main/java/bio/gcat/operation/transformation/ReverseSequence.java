@@ -1,21 +1,18 @@
 package bio.gcat.operation.transformation;
 
 import static bio.gcat.Help.*;
-import java.util.ArrayList;
 import java.util.Collection;
-import java.util.Collections;
-import java.util.List;
+import java.util.function.UnaryOperator;
 import bio.gcat.Documented;
 import bio.gcat.nucleic.Tuple;
 import bio.gcat.operation.Cataloged;
 import bio.gcat.operation.Named;
+import bio.gcat.operation.Stateless;
 
-@Named(name="reverse sequence", icon="arrow_rotate_clockwise") @Cataloged(group="Permute Tuple Position")
+@Named(name="reverse sequence", icon="arrow_rotate_clockwise") @Cataloged(group="Permute Tuple Position") @Stateless
 @Documented(title="Reverse Sequence", category={OPERATIONS,TRANSFORMATIONS}, resource="help/operation/transformation/reverse_sequence.html")
-public class ReverseSequence implements Transformation {
-	@Override public Collection<Tuple> transform(Collection<Tuple> tuples,Object... values) {
-		List<Tuple> reverse = new ArrayList<>(tuples);
-		Collections.reverse(reverse);
-		return reverse;
-	}
-}
\ No newline at end of file
+public class ReverseSequence implements Transformation.Elementwise {
+	@Override public UnaryOperator<Tuple> mapping(Collection<Tuple> tuples,Object... values) { return null; }
+	@Override public boolean reversesOrder(Object... values) { return true; }
+	@Override public boolean isInvolution(Object... values) { return true; }
+}
\ No newline at end of file
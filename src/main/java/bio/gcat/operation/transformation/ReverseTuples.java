@@ -2,20 +2,19 @@ package bio.gcat.operation.transformation;
 
 import static bio.gcat.Help.*;
 import static bio.gcat.Utilities.*;
-import java.util.ArrayList;
 import java.util.Collection;
-import java.util.List;
+import java.util.function.UnaryOperator;
 import bio.gcat.Documented;
 import bio.gcat.nucleic.Tuple;
 import bio.gcat.operation.Cataloged;
 import bio.gcat.operation.Named;
+import bio.gcat.operation.Stateless;
 
-@Named(name="reverse tuples", icon="text_letterspacing") @Cataloged(group="Permute Nucleotide Bases Positions")
+@Named(name="reverse tuples", icon="text_letterspacing") @Cataloged(group="Permute Nucleotide Bases Positions") @Stateless
 @Documented(title="Reverse Tuples", category={OPERATIONS,TRANSFORMATIONS}, resource="help/operation/transformation/reverse_tuples.html")
-public class ReverseTuples implements Transformation {
-	@Override public Collection<Tuple> transform(Collection<Tuple> tuples,Object... values) {
-		List<Tuple> reverse = new ArrayList<>(tuples);
-		reverse.replaceAll(tuple->new Tuple(reverse(tuple.getBases())));
-		return reverse;
+public class ReverseTuples implements Transformation.Elementwise {
+	@Override public UnaryOperator<Tuple> mapping(Collection<Tuple> tuples,Object... values) {
+		return tuple->new Tuple(reverse(tuple.getBases()));
 	}
-}
\ No newline at end of file
+	@Override public boolean isInvolution(Object... values) { return true; }
+}
\ No newline at end of file
@@ -24,8 +24,9 @@ import bio.gcat.Parameter.Type;
 import bio.gcat.nucleic.Tuple;
 import bio.gcat.operation.Cataloged;
 import bio.gcat.operation.Named;
+import bio.gcat.operation.Stateless;
 
-@Named(name="n-shift sequence", icon="text_indent") @Cataloged(group="Permute Nucleotide Bases Positions")
+@Named(name="n-shift sequence", icon="text_indent") @Cataloged(group="Permute Nucleotide Bases Positions") @Stateless
 @Parameter.Annotation(key="shift",label="Shift",type=Type.NUMBER,value="1,10")
 @Documented(title="Shift Sequence", category={OPERATIONS,TRANSFORMATIONS}, resource="help/operation/transformation/shift_sequence.html")
 public class ShiftSequence implements Transformation {
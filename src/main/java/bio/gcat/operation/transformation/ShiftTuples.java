@@ -17,25 +17,34 @@ package bio.gcat.operation.transformation;
 
 import static bio.gcat.Help.*;
 import java.util.Collection;
-import java.util.regex.Pattern;
+import java.util.function.UnaryOperator;
 import bio.gcat.Documented;
 import bio.gcat.Parameter;
 import bio.gcat.Parameter.Type;
+import bio.gcat.nucleic.Base;
 import bio.gcat.nucleic.Tuple;
 import bio.gcat.operation.Cataloged;
 import bio.gcat.operation.Named;
+import bio.gcat.operation.Stateless;
 
-@Named(name="n-shift all tuples", icon="text_kerning") @Cataloged(group="Permute Nucleotide Bases Positions")
+@Named(name="n-shift all tuples", icon="text_kerning") @Cataloged(group="Permute Nucleotide Bases Positions") @Stateless
 @Parameter.Annotation(key="shift",label="Shift",type=Type.NUMBER,value="1,10")
 @Documented(title="Shift Tuples", category={OPERATIONS,TRANSFORMATIONS}, resource="help/operation/transformation/shift_tuples.html")
-public class ShiftTuples implements Transformation {
-	private static final Pattern PATTERN_ROTATE = Pattern.compile("(\\S)(\\S*)");
-	private static final String REPLACE_ROTATE = "$2$1";
+public class ShiftTuples implements Transformation.Elementwise {
+	@Override public UnaryOperator<Tuple> mapping(Collection<Tuple> tuples,Object... values) { return mapping((Integer)values[0]); }
+	public Collection<Tuple> transform(Collection<Tuple> tuples,int shift) { return transform(tuples,new Object[]{shift}); }
 	
-	@Override public Collection<Tuple> transform(Collection<Tuple> tuples,Object... values) { return transform(tuples,(Integer)values[0]); }
-	public Collection<Tuple> transform(Collection<Tuple> tuples,int shift) {
-		String string = Tuple.joinTuples(tuples);
-		while(shift-->0) string = PATTERN_ROTATE.matcher(string).replaceAll(REPLACE_ROTATE);
-		return Tuple.splitTuples(string);
+	/**
+	 * Rotates the bases of each tuple by shift positions to the left
+	 */
+	private static UnaryOperator<Tuple> mapping(int shift) {
+		return shift>0?tuple->{
+			Base[] bases = tuple.getBases();
+			if(bases.length==0||shift%bases.length==0) return tuple;
+			Base[] rotated = new Base[bases.length];
+			for(int index=0;index<bases.length;index++)
+				rotated[index] = bases[(index+shift)%bases.length];
+			return new Tuple(rotated);
+		}:null;
 	}
 }
\ No newline at end of file
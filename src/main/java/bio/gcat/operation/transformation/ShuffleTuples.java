@@ -18,19 +18,20 @@ package bio.gcat.operation.transformation;
 import static bio.gcat.Help.*;
 import java.util.ArrayList;
 import java.util.Collection;
-import java.util.Collections;
 import java.util.List;
 import bio.gcat.Documented;
+import bio.gcat.RandomSource;
 import bio.gcat.nucleic.Tuple;
 import bio.gcat.operation.Cataloged;
 import bio.gcat.operation.Named;
+import bio.gcat.operation.Stateless;
 
-@Named(name="shuffle all tuples", icon="arrow_refresh") @Cataloged(group="Permute Tuple Position")
+@Named(name="shuffle all tuples", icon="arrow_refresh") @Cataloged(group="Permute Tuple Position") @Stateless
 @Documented(title="Shuffle All Tuples", category={OPERATIONS,TRANSFORMATIONS}, resource="help/operation/transformation/shuffle_tuples.html")
 public class ShuffleTuples implements Transformation {		
 	@Override public Collection<Tuple> transform(Collection<Tuple> tuples,Object... values) {
 		List<Tuple> shuffle = new ArrayList<>(tuples);
-		Collections.shuffle(shuffle);
+		RandomSource.shuffle(shuffle,RandomSource.current());
 		return shuffle;
 	}
 }
\ No newline at end of file
@@ -16,7 +16,11 @@
 package bio.gcat.operation.transformation;
 
 import static bio.gcat.Help.*;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.UnaryOperator;
 import java.util.regex.Pattern;
 import java.util.regex.PatternSyntaxException;
 import bio.gcat.Documented;
@@ -25,13 +29,53 @@ import bio.gcat.Utilities;
 import bio.gcat.Parameter.Type;
 import bio.gcat.nucleic.Tuple;
 import bio.gcat.operation.Named;
+import bio.gcat.operation.Stateless;
 import bio.gcat.operation.Operation;
 
 public interface Transformation extends Operation {
 	default public Collection<Tuple> transform(Collection<Tuple> tuples) { return transform(tuples, Parameter.getValues(Operation.getParameters(this.getClass())));  }
 	public Collection<Tuple> transform(Collection<Tuple> tuples, Object... values);
 	
-	@Named(name="find & replace", icon="find")
+	/**
+	 * A transformation of each tuple on its own, which may also reverse the order of the tuples. Batches fuse consecutive
+	 * element-wise transformations into one pass over the tuples. The mapping of a transformation is therefore determined
+	 * for the tuples before any preceding element-wise transformation and may only depend on properties of the tuples,
+	 * which are kept by element-wise transformations, like the acid of the tuples.
+	 */
+	public interface Elementwise extends Transformation {
+		/**
+		 * @return the mapping of one tuple, or null if the tuples are kept as they are
+		 */
+		public UnaryOperator<Tuple> mapping(Collection<Tuple> tuples, Object... values);
+		default public boolean reversesOrder(Object... values) { return false; }
+		/**
+		 * @return true if performing the transformation twice with the same values keeps the tuples as they are
+		 */
+		default public boolean isInvolution(Object... values) { return false; }
+		
+		@Override default public Collection<Tuple> transform(Collection<Tuple> tuples, Object... values) {
+			UnaryOperator<Tuple> mapping = mapping(tuples, values);
+			return perform(tuples, mapping!=null?Collections.singletonList(mapping):Collections.emptyList(), reversesOrder(values));
+		}
+		
+		/**
+		 * Performs a number of mappings in one pass over the tuples
+		 */
+		public static Collection<Tuple> perform(Collection<Tuple> tuples, List<UnaryOperator<Tuple>> mappings, boolean reverse) {
+			if(mappings.isEmpty()&&!reverse)
+				return tuples;
+			List<Tuple> result = new ArrayList<>(tuples.size());
+			for(Tuple tuple:tuples) {
+				for(UnaryOperator<Tuple> mapping:mappings)
+					tuple = mapping.apply(tuple);
+				result.add(tuple);
+			}
+			if(reverse) Collections.reverse(result);
+			return result;
+		}
+	}
+	
+	@Named(name="find & replace", icon="find") @Stateless
 	@Parameter.Annotation(key="pattern",label="Term",type=Type.TEXT)
 	@Parameter.Annotation(key="replace",label="Replace",type=Type.TEXT)
 	@Parameter.Annotation(key="regex",label="Regex",type=Type.BOOLEAN,value=Utilities.TRUE)
@@ -16,6 +16,7 @@
 package bio.gcat.geneticcode.dich
 
 import bio.gcat.geneticcode.dich.Nucleotides._
+import bio.gcat.geneticcode.dich.ct.FastClassTable
 
 /**
  * @author Markus Gumbel (m.gumbel@hs-mannheim.de)
@@ -56,6 +57,11 @@ class BinaryDichotomicAlgorithm(val i1: Int, val i2: Int,
     new BinaryDichotomicAlgorithm(i1, i2, (q1._2, q1._1), q2Compl)
   }
 
+  /**
+   * The codons of class 1 as bit mask (see FastClassTable).
+   */
+  lazy val codonMask = FastClassTable.computeMask(this)
+
   override def equals(that: Any) = that match {
     case d: BinaryDichotomicAlgorithm => {
       // TODO consider complement BDA
@@ -15,13 +15,20 @@
  */
 package bio.gcat.geneticcode.dich
 
+import java.io.{BufferedWriter, File, FileInputStream, FileOutputStream, OutputStreamWriter, PrintWriter, RandomAccessFile}
+import java.math.BigInteger
+import java.nio.file.{Files, StandardCopyOption}
+import java.security.MessageDigest
 import java.text.SimpleDateFormat
-import java.util.{Date, HashMap}
-import bio.gcat.geneticcode.dich.ct.{ClassTable, CodingClassTable}
+import java.util.{Date, HashMap, Properties}
+import java.util.concurrent.ConcurrentHashMap
+import bio.gcat.geneticcode.dich.ct.{ClassTable, CodingClassTable, FastClassTable}
 import bio.gcat.geneticcode.dich.db.DB
 import bio.gcat.util.Version
 
 import scala.collection.JavaConversions._
+import scala.collection.mutable.ArrayBuffer
+import scala.io.Source
 import scala.reflect.ClassTag
 
 case class ClassifierSet(classifiers: Array[Classifier[Int]], label: String)
@@ -49,11 +56,46 @@ abstract class Scan[T <: ClassTable : ClassTag]
     */
   var doPersist = true
 
+  /**
+   * True if configurations with an already seen class partition are skipped, see isSeen.
+   */
+  var pruneDuplicates = false
+
+  /**
+   * Maximum number of partitions remembered for pruneDuplicates. Partitions
+   * seen after that are not remembered, so fewer configurations are pruned.
+   */
+  var maxSeen = 1000000
+
+  /**
+   * True if solutions are appended to the file <name>.sol as soon as they are
+   * found. Each line holds the indices (in allClassifiers) of the classifiers
+   * of a solution that are not fixed.
+   */
+  var doStream = false
+
+  /**
+   * False if solutions are not kept in memory, e.g. as they are streamed.
+   */
+  var keepSolutions = true
+
+  /**
+   * Milliseconds between two checkpoints to the file <name>.chk, 0 if no
+   * checkpoints are written. A checkpoint records how many solutions were
+   * streamed, so checkpoints switch doStream on.
+   */
+  var checkpointInterval = 0L
+
   /**
    * Number of configurations that have been tested.
    */
   var configs: Double = 0.0
 
+  /**
+   * Number of configurations that have been skipped as their partition was seen before.
+   */
+  var pruned: Double = 0.0
+
   private var cMax = 0
 
   def max_=(value: Int) {
@@ -79,22 +121,199 @@ abstract class Scan[T <: ClassTable : ClassTag]
     if (bdas.size < depth) {
       // Go through all BDAs excepts those which have already been considered;
       // i.e. those with and index i<h.
-      for (i <- h until allClassifiers.classifiers.size) {
+      var start = h
+      resumePath match {
+        case (i, wi) :: rest if !rest.isEmpty => // Tested before the checkpoint...
+          resumePath = rest
+          descend(allClassifiers.classifiers(i) :: bdas, i, wi) // ...so only continue.
+          start = i + 1
+        case (i, _) :: Nil => // The first configuration not tested yet.
+          resumePath = Nil
+          start = i
+        case Nil =>
+      }
+      for (i <- start until allClassifiers.classifiers.size) {
+        if (checkpointDue) checkpoint(i)
         val nBda = allClassifiers.classifiers(i) // new BDA candidate.
         // Check if it is not already in the bda list.
         // This might happen as we can pass in a list of pre-defined BDAs.
         if (!bdas.contains(nBda)) {
           val nbdas = nBda :: bdas // Element is added at front...
-          val (valid, wn) = createClassTable(nbdas.reverse, w) // ..so revert list.
-          configs += 1 // This is a configuration that was tested.
-          // If this configuration is valid the search is continued:
-          if (valid) createMsg(nbdas, i + 1, wn)
+          val key = partitionKey(nbdas)
+          if (isSeen(key, i + 1)) pruned += 1 // Same subtree was already searched.
+          else {
+            val (valid, wn) = createClassTable(nbdas.reverse, w) // ..so revert list.
+            configs += 1 // This is a configuration that was tested.
+            // If this configuration is valid the search is continued:
+            if (valid) {
+              see(key, i + 1)
+              descend(nbdas, i, wn)
+            }
+          }
         }
       }
     }
     doneMsg()
   }
 
+  private def descend(bdas: List[Classifier[Int]], i: Int, w: Int) {
+    frontier += ((i, w))
+    createMsg(bdas, i + 1, w)
+    frontier.remove(frontier.size - 1)
+  }
+
+  /**
+   * The base name of the streamed solutions and the checkpoints.
+   */
+  def name = if (resumeName != null) resumeName else filename
+
+  // Index and scan parameter of the configurations of the current path:
+  @transient private lazy val frontier = new ArrayBuffer[(Int, Int)]()
+  private var resumePath = List[(Int, Int)]()
+  private var resumeName: String = null
+  private var resumeBytes = 0L
+  private var lastCheckpoint = 0L
+  private var resumeSolutions = 0
+  @transient private var out: PrintWriter = null
+
+  /**
+   * A digest of the fixed classifiers, the depth, the classifier set and the
+   * parameters (see ScanConstraint.parameters). Scans with the same signature
+   * test the same configurations and find the same solutions.
+   */
+  def signature = {
+    val s = (List(bdas.mkString("; "), depth, allClassifiers.classifiers.mkString("; ")) ++ parameters).mkString("\n")
+    new BigInteger(1, MessageDigest.getInstance("SHA-256").digest(s.getBytes("UTF-8"))).toString(16)
+  }
+
+  /**
+   * True if checkpointInterval has passed since the last checkpoint.
+   */
+  protected[this] def checkpointDue =
+    checkpointInterval > 0 && System.currentTimeMillis - lastCheckpoint >= checkpointInterval
+
+  /**
+   * The path of the checkpoint the scan resumes from, see resume.
+   */
+  protected[this] def resumeFrom = resumePath
+
+  /**
+   * Saves the counters and the path to the next configuration to <name>.chk.
+   * Solutions streamed after a checkpoint are discarded when resuming.
+   * @param i The index of the next configuration on the current level.
+   */
+  protected[this] def checkpoint(i: Int) {
+    val p = new Properties()
+    p.setProperty("bdas", bdas.mkString("; "))
+    p.setProperty("depth", depth.toString)
+    p.setProperty("signature", signature)
+    p.setProperty("path", (frontier.map(e => e._1 + ":" + e._2) :+ i).mkString(" "))
+    p.setProperty("configs", configs.toString)
+    p.setProperty("pruned", pruned.toString)
+    p.setProperty("max", max.toString)
+    p.setProperty("solutions", noSolutions.toString)
+    out.flush()
+    p.setProperty("bytes", new File(name + ".sol").length.toString)
+    val tmp = new File(name + ".chk.tmp")
+    val w = new FileOutputStream(tmp)
+    try p.store(w, toString) finally w.close()
+    Files.move(tmp.toPath, new File(name + ".chk").toPath, StandardCopyOption.REPLACE_EXISTING)
+    lastCheckpoint = System.currentTimeMillis
+    log fine "Checkpoint at " + configs + " configurations."
+  }
+
+  /**
+   * Continues a scan with the same signature from its last checkpoint when
+   * run() is called. Solutions streamed before the checkpoint are read again;
+   * streaming is switched on.
+   * @param name The base name of the interrupted scan, see name.
+   */
+  def resume(name: String) {
+    val p = new Properties()
+    val r = new FileInputStream(name + ".chk")
+    try p.load(r) finally r.close()
+    if (p.getProperty("signature") != signature)
+      throw new IllegalArgumentException(name + " is a checkpoint of another scan.")
+    val file = new File(name + ".sol")
+    if (p.getProperty("bytes") == null || file.length < p.getProperty("bytes").toLong)
+      throw new IllegalArgumentException(file + " does not hold the solutions of the checkpoint.")
+    resumeName = name
+    resumePath = p.getProperty("path").split(" ").toList.map(_.split(":")).map(e =>
+      (e(0).toInt, if (e.length > 1) e(1).toInt else 0))
+    configs = p.getProperty("configs").toDouble
+    pruned = p.getProperty("pruned").toDouble
+    max = p.getProperty("max").toInt
+    resumeBytes = p.getProperty("bytes").toLong
+    resumeSolutions = p.getProperty("solutions").toInt
+    doStream = true
+  }
+
+  private def openStream() {
+    val file = new File(name + ".sol")
+    if (resumeName != null && file.exists) {
+      val raf = new RandomAccessFile(file, "rw") // Drop solutions after the checkpoint.
+      try raf.setLength(resumeBytes) finally raf.close()
+      val source = Source.fromFile(file, "UTF-8")
+      try source.getLines().foreach(l => solution(newClassTable(streamedBdas(l)), false))
+      finally source.close()
+      if (noSolutions != resumeSolutions)
+        throw new IllegalStateException(file + " holds " + noSolutions + " solutions instead of " + resumeSolutions + ".")
+      log info noSolutions + " solutions read from " + file
+    }
+    out = new PrintWriter(new BufferedWriter(new OutputStreamWriter(
+      new FileOutputStream(file, resumeName != null), "UTF-8")))
+  }
+
+  private def streamedBdas(line: String) =
+    classifiersAt(line.split(" ").filter(!_.isEmpty).map(_.toInt))
+
+  /**
+   * The fixed classifiers followed by the classifiers at the indices (in allClassifiers),
+   * in the order of the class tables of create (which reverses the fixed classifiers).
+   */
+  protected[this] def classifiersAt(indices: Seq[Int]) =
+    bdas.reverse ++ indices.map(allClassifiers.classifiers(_))
+
+  /**
+   * The indices (in allClassifiers) of the classifiers of a solution that are not fixed.
+   */
+  protected[this] def indicesOf(t: T) = t.bdas.drop(bdas.size).map(classifierIndex)
+
+  protected[this] def scanDepth = depth
+
+  @transient private lazy val classifierIndex = allClassifiers.classifiers.zipWithIndex.toMap
+
+  /**
+   * The classifiers of all solutions streamed to <name>.sol, read lazily.
+   */
+  def streamedSolutions: Iterator[List[Classifier[Int]]] =
+    Source.fromFile(name + ".sol", "UTF-8").getLines().map(streamedBdas)
+
+  @transient private lazy val seen = new ConcurrentHashMap[(Int, Seq[Long]), Int]()
+
+  /**
+   * The number of classifiers and the canonical class partition of a
+   * configuration, or null if duplicates are not pruned.
+   */
+  protected[this] def partitionKey(bdas: List[Classifier[Int]]) =
+    if (pruneDuplicates) (bdas.size, new FastClassTable(bdas).partition) else null
+
+  /**
+   * True if a valid configuration with the same number of classifiers and the
+   * same partition was seen, whose subtree started at an index h' <= h. As the
+   * constraints depend on the class table only, the subtree of that configuration
+   * contains a configuration with the same partition for every configuration of
+   * this subtree, so every partition is still found.
+   */
+  protected[this] def isSeen(key: (Int, Seq[Long]), h: Int) =
+    key != null && seen.containsKey(key) && seen.get(key) <= h
+
+  protected[this] def see(key: (Int, Seq[Long]), h: Int) {
+    if (key != null && (seen.size < maxSeen || seen.containsKey(key))) seen.merge(key, h, new java.util.function.BiFunction[Int, Int, Int] {
+      def apply(a: Int, b: Int) = math.min(a, b)
+    })
+  }
+
   /**
    * For concurrency
    * @param bdas
@@ -111,8 +330,12 @@ abstract class Scan[T <: ClassTable : ClassTag]
   // DB4O bug
   private val csolutions = new java.util.ArrayList[T]()
 
+  private var solutionCounter = 0
+
   def foundSolution(ct: T) {
-    csolutions.add(ct)
+    solutionCounter += 1
+    if (keepSolutions) csolutions.add(ct)
+    if (out != null) out.println(indicesOf(ct).mkString(" "))
   }
 
   /**
@@ -127,6 +350,11 @@ abstract class Scan[T <: ClassTable : ClassTag]
     csolutions.toArray[T](new Array[T](0))
   }
 
+  /**
+   * Number of solutions found yet.
+   */
+  def noSolutions = solutionCounter
+
   /**
    * Factory method for the underlying class table.
    * @param bda
@@ -144,20 +372,40 @@ abstract class Scan[T <: ClassTable : ClassTag]
    *         2. a scan parameter value that is passed to the next call.
    */
   protected[this] def createClassTable(bda: List[Classifier[Int]], w: Int) = {
-    val t = newClassTable(bda)
-    val valid = isValidConfig(t, w)
-    if (valid && isSolution(t)) {
-      foundSolution(t)
-      bda.foreach(count(_))
-      output(t)
+    if (fastConstraints) {
+      val f = newFastClassTable(bda)
+      val valid = isValidConfig(f, w)
+      if (valid && isSolution(f)) solution(newClassTable(bda)) // full table for solutions only
+      (valid, scanParameter(f))
+    } else {
+      val t = newClassTable(bda)
+      val valid = isValidConfig(t, w)
+      if (valid && isSolution(t)) solution(t)
+      (valid, scanParameter(t))
     }
-    (valid, scanParameter(t))
+  }
+
+  /**
+   * Factory method for the class table the constraints are checked on,
+   * if the constraints support fast class tables.
+   * @param bda
+   * @return
+   */
+  def newFastClassTable(bda: List[Classifier[Int]]) = new FastClassTable(bda)
+
+  private def solution(t: T, stream: Boolean = true) {
+    if (stream) foundSolution(t) else {
+      solutionCounter += 1
+      if (keepSolutions) csolutions.add(t)
+    }
+    t.bdas.foreach(count(_))
+    if (stream) output(t)
   }
 
   def output(t: ClassTable) {
     log fine "\n--------------------------------------------------------"
     log fine new Date().toString + " / " + Version
-    log fine "solution # = " + solutions.size
+    log fine "solution # = " + noSolutions
     log fine t.mkFullString
     log finest "\n# configurations so far = " + configs
     log finest "|used questions so far| = " + qCounter.size
@@ -205,22 +453,34 @@ abstract class Scan[T <: ClassTable : ClassTag]
     log info "Classifier/BDA set: " + allClassifiers.label
     log info (if (bdas.isEmpty) "No fixed classifiers/BDAs." else bdas.mkString("[", "; ", "]") + " fixed.")
     log info "max. " + combinations + " combinations will be tested."
-    if (bdas.size >= depth) {
-      log info "Nothing to scan. Only using fixed classifiers/BDAs as parameters."
-      configs += 1
-      createClassTable(bdas, 0)
-    } else {
-      // Regular scan:
-      init()
+    if (checkpointInterval > 0) doStream = true
+    if (doStream) openStream()
+    lastCheckpoint = System.currentTimeMillis
+    try {
+      if (bdas.size >= depth) {
+        log info "Nothing to scan. Only using fixed classifiers/BDAs as parameters."
+        configs += 1
+        createClassTable(bdas, 0)
+      } else {
+        // Regular scan:
+        init()
+      }
+    } finally {
+      if (out != null) out.close()
+      out = null
+      if (pruneDuplicates) seen.clear()
     }
+    new File(name + ".chk").delete() // Complete, nothing to resume.
     log fine "\nDone!"
-    log fine configs + " combinations out of about " +
-      combinations + " combinations (duplicates are not yet considered.)"
-    log info "solutions = " + solutions.size
+    log fine configs + " combinations out of about " + combinations + " combinations" +
+      (if (pruneDuplicates) ", " + pruned + " combinations with known partitions pruned." else
+        " (duplicates are not considered.)")
+    log info "solutions = " + noSolutions
+    if (doStream) log info "Solutions streamed to " + name + ".sol"
 
     if (doPersist) {
-      store(filename)
-      log info "Saved to " + filename + ".ser"
+      store(name)
+      log info "Saved to " + name + ".ser"
     }
     val duration = (System.currentTimeMillis() - startTime) / 1000.0
     log info "T = " + duration + " s"
@@ -15,7 +15,7 @@
  */
 package bio.gcat.geneticcode.dich
 
-import bio.gcat.geneticcode.dich.ct.ClassTable
+import bio.gcat.geneticcode.dich.ct.{ClassTable, FastClassTable}
 import bio.gcat.util.Loggable
 
 /**
@@ -47,4 +47,25 @@ trait ScanConstraint[T <: ClassTable] extends Loggable {
   def isSolution(classTable: T) = false
 
   def scanParameter(classTable: T) = classTable.classes.size
+
+  /**
+   * The parameters of the constraints and of the class tables, e.g. the
+   * maximum error. A checkpoint or a worker of a scan with other parameters
+   * is rejected, see Scan.signature.
+   * @return
+   */
+  def parameters: List[Any] = Nil
+
+  /**
+   * True if the constraints can be decided on a FastClassTable as well,
+   * i.e. isValidConfig, isSolution and scanParameter are overwritten for it.
+   * The full class table is then only created for solutions.
+   */
+  def fastConstraints = false
+
+  def isValidConfig(classTable: FastClassTable, w: Int) = true
+
+  def isSolution(classTable: FastClassTable) = false
+
+  def scanParameter(classTable: FastClassTable) = classTable.noClasses
 }
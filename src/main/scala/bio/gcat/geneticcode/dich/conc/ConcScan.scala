@@ -1,129 +1,201 @@
 /*
  * Copyright [2017] [Mannheim University of Applied Sciences]
- * 
+ *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
  * You may obtain a copy of the License at
- * 
+ *
  *     http://www.apache.org/licenses/LICENSE-2.0
- *  
+ *
  * Unless required by applicable law or agreed to in writing, software
  * distributed under the License is distributed on an "AS IS" BASIS,
  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
  * See the License for the specific language governing permissions and
- * limitations under the License. 
+ * limitations under the License.
  */
 package bio.gcat.geneticcode.dich.conc
 
+import java.util.concurrent.{ConcurrentLinkedQueue, ForkJoinPool, ForkJoinTask, RecursiveTask}
+import java.util.{ArrayDeque, ArrayList, List => JList}
+
 import bio.gcat.geneticcode.dich.ct.ClassTable
-import bio.gcat.geneticcode.dich.{ClassifierSet, Scan, Classifier, BinaryDichotomicAlgorithm}
+import bio.gcat.geneticcode.dich.{BinaryDichotomicAlgorithm, Classifier, ClassifierSet, Scan}
 
-import scala.actors.Actor
-import scala.concurrent.SyncVar
+import scala.collection.JavaConversions._
+import scala.collection.mutable.ArrayBuffer
 import scala.reflect.ClassTag
 
 /**
- * Run the scan algorithm in parallel.
- * param noActors The number of actors used (default is 3).
+ * Run the scan algorithm in parallel on a fork/join pool. Every valid
+ * configuration that can be extended further is a task, so idle workers
+ * steal subtrees of the search tree from busy ones. Solutions are collected
+ * per task and merged in the order of the sequential scan, thus the
+ * solutions do not depend on the number of workers or on scheduling. This does
+ * not hold if pruneDuplicates is set: which of several configurations with the
+ * same partition is kept depends on the order the workers see them.
+ * At most window subtrees below the first classifier are searched at the same
+ * time. The solutions of a subtree are merged (and streamed, see doStream) as
+ * soon as it and the subtrees before it are done, then a checkpoint may be
+ * written. So only the solutions of the subtrees in the window are kept.
+ * param noActors The number of workers used (default is 3).
  * @author Markus Gumbel (m.gumbel@hs-mannheim.de)
  *         (c) 2013 Markus Gumbel
  */
 abstract class ConcScan[T <: ClassTable : ClassTag]
 (bdas: List[Classifier[Int]], depth: Int, val noActors: Int = 3,
  allClassifiers: ClassifierSet = BinaryDichotomicAlgorithm.bdas216)
-  extends Scan[T](bdas, depth, allClassifiers) with Actor {
+  extends Scan[T](bdas, depth, allClassifiers) {
 
-  var master = this
+  /**
+   * Statistics of one worker (thread) of the pool.
+   */
+  class WorkerStats(val name: String) {
+    var tasks = 0L
+    var configs = 0L
+    var solutions = 0L
+    var pruned = 0L
+
+    override def toString = name + ": " + tasks + " tasks, " +
+      configs + " configurations, " + solutions + " solutions, " + pruned + " pruned"
+  }
 
-  val jobCounter = new Counter(this)
+  @transient private lazy val stats = new ThreadLocal[WorkerStats]() {
+    override def initialValue() = {
+      val s = new WorkerStats(Thread.currentThread.getName)
+      allStats.add(s)
+      s
+    }
+  }
 
-  var slaves = Array(this)
+  @transient private lazy val allStats = new ConcurrentLinkedQueue[WorkerStats]()
 
-  var id = 0
+  /**
+   * Solutions of the configuration currently tested by a worker.
+   */
+  @transient private lazy val found = new ThreadLocal[JList[T]]()
 
-  def cloneScan(): ConcScan[T]
+  /**
+   * Maximum number of subtrees below the first classifier searched at the same time.
+   */
+  var window = 4 * noActors
 
-  // TODO make Master have its own class?
   /**
-   * This method initializes the slaves and assigns them to the master actor.
+   * Statistics of all workers of the last run.
    */
-  override def init() {
-    jobCounter.start()
-
-    val actors = (1 to noActors).map {
-      i =>
-      // TODO Bug!
-        val actor = cloneScan()
-        actor.id = i
-        actor.master = this
-        log info "Created " + actor.toString
-        actor
-    }
-    val aa = actors.toList.toArray
-    slaves = aa
-    actors.foreach {
-      a =>
-        a.slaves = aa
-        a.master = this
-    }
-    actors.foreach(_.start)
-    log info "Slaves started."
-    create(bdas, 0, 0)
-    start()
-    sv.take
-    log info "Concurrency done."
-  }
+  def workerStats = allStats.toList
 
-  val sv = new SyncVar[Boolean]
+  /**
+   * The solutions and counters of a subtree.
+   */
+  private class Part(val solutions: JList[T], var configs: Long = 0, var pruned: Long = 0)
 
-  def act() {
-    loop {
-      receive {
-        case ScanMsg(bdas, h, w) => create(bdas, h, w)
-        case OutputMsg(t, actor) => {
-          log fine "*** Result by " + actor + ":"
-          super.output(t)
-        }
-        case SolutionMsg(t: T, actor) => super.foundSolution(t)
-        case EndMsg => {
-          // TODO kill slaves: slaves.foreach(s => s.exit())
-          sv.put(true)
-          log info "Concurrent calculation end message."
+  /**
+   * A subtree of the search, see Scan.create, with the configurations
+   * with an index below end on its first level.
+   */
+  private class Node(bdas: List[Classifier[Int]], h: Int, w: Int, end: Int)
+    extends RecursiveTask[Part] {
+
+    def compute() = {
+      val s = stats.get
+      s.tasks += 1
+      val part = new Part(new ArrayList[T]())
+      // Solutions of a configuration, followed by the solutions of its subtree:
+      val parts = new ArrayBuffer[Either[JList[T], Node]]()
+      for (i <- h until end) {
+        val nBda = allClassifiers.classifiers(i) // new BDA candidate.
+        if (!bdas.contains(nBda)) {
+          val nbdas = nBda :: bdas
+          val key = partitionKey(nbdas)
+          if (isSeen(key, i + 1)) {
+            s.pruned += 1
+            part.pruned += 1
+          } else {
+            val solutions = new ArrayList[T]()
+            found.set(solutions)
+            val (valid, wn) = try createClassTable(nbdas.reverse, w) finally found.remove()
+            s.configs += 1
+            part.configs += 1
+            s.solutions += solutions.size
+            if (!solutions.isEmpty) parts += Left(solutions)
+            if (valid) see(key, i + 1)
+            if (valid && nbdas.size < depth) parts += Right(new Node(nbdas, i + 1, wn, allClassifiers.classifiers.size))
+          }
         }
       }
+      ForkJoinTask.invokeAll(parts.collect { case Right(n) => n })
+      parts.foreach {
+        case Left(l) => part.solutions.addAll(l)
+        case Right(n) =>
+          val p = n.join()
+          part.solutions.addAll(p.solutions)
+          part.configs += p.configs
+          part.pruned += p.pruned
+      }
+      part
     }
   }
 
-  override def createMsg(bdas: List[Classifier[Int]], h: Int, w: Int) {
-    master.jobCounter ! ComputingMsg(1)
-    val msg = ScanMsg(bdas, h, w)
-    val n = (slaves.size * math.random).asInstanceOf[Int]
-    slaves(n) ! msg
+  override def init() {
+    allStats.clear()
+    val n = allClassifiers.classifiers.size
+    var next = resumeFrom match {
+      case (i, _) :: Nil => i
+      case _ => 0
+    }
+    // The subtrees below the first classifier in the window, in the order of the sequential scan:
+    val searched = new ArrayDeque[(Int, ForkJoinTask[Part])]()
+    val pool = new ForkJoinPool(noActors)
+    try {
+      while (next < n || !searched.isEmpty) {
+        while (next < n && searched.size < math.max(window, 1)) {
+          searched.add((next, pool.submit(new Node(bdas, next, 0, next + 1))))
+          next += 1
+        }
+        val part = searched.poll()._2.join()
+        merge(part.solutions).foreach(super.foundSolution(_))
+        configs += part.configs
+        pruned += part.pruned
+        if (checkpointDue) checkpoint(if (searched.isEmpty) next else searched.peek._1)
+      }
+    } finally {
+      pool.shutdownNow()
+    }
+    allStats.foreach(s => log info s.toString)
+    log info "Concurrency done."
   }
 
-  override def doneMsg() {
-    master.jobCounter ! ComputingMsg(-1)
+  /**
+   * Selects the solutions of the scan from the solutions of a subtree below
+   * the first classifier. The subtrees are merged one after another in the
+   * order of the sequential scan. Scans whose solutions depend on the
+   * solutions found before override this.
+   */
+  protected def merge(solutions: Seq[T]): Seq[T] = solutions
+
+  /**
+   * Continues the scan from a checkpoint written between two subtrees below
+   * the first classifier, i.e. by a concurrent scan or at the first level of
+   * a sequential scan, see Scan.resume.
+   */
+  override def resume(name: String) {
+    super.resume(name)
+    if (resumeFrom.size > 1)
+      throw new IllegalArgumentException(name + " is a checkpoint within a subtree, only a sequential scan can resume it.")
   }
 
   override def foundSolution(t: T) {
-    master ! SolutionMsg(t, this)
+    val solutions = found.get
+    if (solutions != null) solutions.add(t) else super.foundSolution(t)
   }
 
-  override def output(t: ClassTable) {
-    master ! OutputMsg(t, this)
+  override def count(q: Classifier[Int]) = synchronized {
+    super.count(q)
   }
 
-  override def store(filename: String) {
-    println("Serializable not possible yet.")
+  override def output(t: ClassTable) = synchronized {
+    super.output(t)
   }
 
-  override def toString = "ConcScan" + id
+  override def toString = "ConcScan"
 }
-
-case class ScanMsg(bdas: List[Classifier[Int]], h: Int, w: Int)
-
-case class OutputMsg[T <: ClassTable](t: T, who: Actor)
-
-case class SolutionMsg[T <: ClassTable](t: T, who: Actor)
-
-case class ComputingMsg(c: Int)
\ No newline at end of file
@@ -0,0 +1,485 @@
+/*
+ * Copyright [2017] [Mannheim University of Applied Sciences]
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package bio.gcat.geneticcode.dich.conc
+
+import java.io._
+import java.math.BigInteger
+import java.net._
+import java.security.{MessageDigest, SecureRandom}
+import java.util.concurrent.atomic.AtomicInteger
+import java.util.concurrent.{ConcurrentHashMap, CountDownLatch, LinkedBlockingQueue, TimeUnit}
+import javax.crypto.Mac
+import javax.crypto.spec.SecretKeySpec
+
+import bio.gcat.geneticcode.dich.Scan
+import bio.gcat.geneticcode.dich.ct.ClassTable
+import bio.gcat.util.Loggable
+
+import scala.collection.JavaConversions._
+import scala.collection.mutable.ArrayBuffer
+
+/**
+ * A subtree of a distributed scan.
+ * @param id The number of the unit.
+ * @param prefix Indices (in allClassifiers) of the classifiers added to the fixed ones.
+ * @param w The scan parameter of the prefix configuration.
+ */
+case class ScanUnit(id: Int, prefix: List[Int], w: Int)
+
+/**
+ * The result of a unit: its solutions as indices (see Scan.doStream) and counters.
+ */
+case class ScanResult(id: Int, solutions: Array[List[Int]], configs: Double, pruned: Double)
+
+/**
+ * Run the scan algorithm distributed over worker processes (see ScanWorker),
+ * e.g. DistErrorScan. The coordinator tests all configurations with up to splitDepth classifiers
+ * (besides the fixed ones) itself. The subtrees below the valid configurations
+ * with splitDepth classifiers are the work units. The coordinator listens on a
+ * socket. Every worker that connects has to prove that it knows the shared
+ * secret, then it gets the class, the arguments and the signature (see
+ * Scan.signature) of the scan and one unit after another. Units and results
+ * are exchanged as plain numbers, nothing is deserialized. The workers create
+ * their scan from the arguments (see arguments) and reject it if its signature
+ * differs, e.g. as its classifiers or its parameters do. A unit whose result
+ * does not arrive within unitTimeout is handed to the next worker. Results are
+ * merged in the order of the sequential scan, so the solutions do not depend
+ * on the workers. Duplicates are not pruned on the workers.
+ * @author Markus Gumbel (m.gumbel@hs-mannheim.de)
+ *         (c) 2017 Markus Gumbel
+ */
+trait DistScan[T <: ClassTable] extends Scan[T] {
+
+  /**
+   * The port the coordinator listens on, 0 for any free port.
+   */
+  var port = 0
+
+  /**
+   * The address the coordinator listens on, null for the loopback address.
+   * Set it (e.g. to "0.0.0.0") to accept workers from other machines.
+   */
+  var bindAddress: String = null
+
+  /**
+   * The secret shared with the workers (see DistScan.SecretVariable). If it
+   * is null, a random secret is used that only local workers know.
+   */
+  @transient var secret = System.getenv(DistScan.SecretVariable)
+
+  /**
+   * Number of classifiers (besides the fixed ones) of the unit prefixes.
+   */
+  var splitDepth = 1
+
+  /**
+   * Milliseconds a worker may take for a unit before it is re-queued. The
+   * scan fails if no worker is connected for that long.
+   */
+  var unitTimeout = 3600000
+
+  /**
+   * Number of worker processes started on this machine, in addition to
+   * workers started elsewhere (see ScanWorker). A local worker that exits
+   * before all units are done is restarted, at most localWorkers times.
+   */
+  var localWorkers = 0
+
+  @transient private var server: ServerSocket = null
+  @transient private var queue: LinkedBlockingQueue[ScanUnit] = null
+  @transient private var results: ConcurrentHashMap[Int, ScanResult] = null
+  @transient private var remaining: CountDownLatch = null
+  @transient private var captured: ArrayBuffer[T] = null
+  @transient private lazy val requeued = new AtomicInteger()
+  @transient private lazy val workers = new AtomicInteger()
+  @transient private lazy val connected = new AtomicInteger()
+
+  /**
+   * Number of units that were handed to another worker after a failure or timeout.
+   */
+  def requeuedUnits = requeued.get
+
+  /**
+   * The port the coordinator listens on while the scan is running.
+   */
+  def boundPort = if (server != null) server.getLocalPort else port
+
+  /**
+   * The arguments the workers create the scan with. If there are any, the
+   * class needs a constructor with an Array[String] parameter, otherwise one
+   * without parameters.
+   */
+  def arguments = Array[String]()
+
+  override def init() {
+    // Solutions of a configuration, followed by the solutions of its subtree:
+    val parts = new ArrayBuffer[Either[Seq[T], ScanUnit]]()
+    split(Nil, 0, 0, parts)
+    val units = parts.collect { case Right(u) => u }
+    log info units.size + " units with " + splitDepth + " classifiers."
+    if (!units.isEmpty) distribute(units)
+    for (part <- parts) part match {
+      case Left(l) => l.foreach(super.foundSolution(_)) // Already counted.
+      case Right(u) =>
+        val r = results.get(u.id)
+        for (indices <- r.solutions) {
+          val t = newClassTable(classifiersAt(indices))
+          super.foundSolution(t)
+          t.bdas.foreach(count(_))
+        }
+        configs += r.configs
+        pruned += r.pruned
+    }
+    log info workers.get + " workers, " + requeued.get + " units re-queued."
+    log info "Distribution done."
+  }
+
+  /**
+   * Tests the configurations up to splitDepth like Scan.create and collects the units.
+   */
+  private def split(prefix: List[Int], h: Int, w: Int, parts: ArrayBuffer[Either[Seq[T], ScanUnit]]) {
+    for (i <- h until allClassifiers.classifiers.size) {
+      val nPrefix = prefix :+ i
+      val nbdas = classifiersAt(nPrefix)
+      if (!classifiersAt(prefix).contains(nbdas.last)) {
+        captured = new ArrayBuffer[T]()
+        val (valid, wn) = try createClassTable(nbdas, w) finally {
+          if (!captured.isEmpty) parts += Left(captured)
+          captured = null
+        }
+        configs += 1
+        if (valid && nbdas.size < scanDepth) {
+          if (nPrefix.size < splitDepth) split(nPrefix, i + 1, wn, parts)
+          else parts += Right(ScanUnit(parts.size, nPrefix, wn))
+        }
+      }
+    }
+  }
+
+  private def distribute(units: Seq[ScanUnit]) {
+    queue = new LinkedBlockingQueue[ScanUnit](seqAsJavaList(units))
+    results = new ConcurrentHashMap[Int, ScanResult]()
+    remaining = new CountDownLatch(units.size)
+    if (secret == null) secret = new BigInteger(130, new SecureRandom()).toString(32)
+    server = new ServerSocket(port, 50,
+      if (bindAddress == null) InetAddress.getLoopbackAddress else InetAddress.getByName(bindAddress))
+    log info "Waiting for workers on " + server.getLocalSocketAddress + "."
+    val acceptor = new Thread(new Runnable {
+      def run() {
+        try {
+          while (true) {
+            val socket = server.accept()
+            val handler = new Thread(new Runnable {
+              def run() = serve(socket)
+            }, "ScanWorker-" + socket.getRemoteSocketAddress)
+            handler.setDaemon(true)
+            handler.start()
+          }
+        } catch {
+          case e: IOException => // Server closed.
+        }
+      }
+    }, "ScanCoordinator")
+    acceptor.setDaemon(true)
+    acceptor.start()
+    val host = (if (server.getInetAddress.isAnyLocalAddress) InetAddress.getLoopbackAddress
+    else server.getInetAddress).getHostAddress
+    val processes = ArrayBuffer.fill(localWorkers)(startWorker(host))
+    var restarts = 0
+    var idleSince = System.currentTimeMillis
+    try {
+      while (!remaining.await(1, TimeUnit.SECONDS)) {
+        for (i <- processes.indices if !processes(i).isAlive && restarts < localWorkers) {
+          log warning "Local worker exited with " + processes(i).exitValue + ", restarted."
+          processes(i) = startWorker(host)
+          restarts += 1
+        }
+        if (connected.get > 0 || processes.exists(_.isAlive)) idleSince = System.currentTimeMillis
+        else if (localWorkers > 0 || System.currentTimeMillis - idleSince > unitTimeout)
+          throw new IllegalStateException(remaining.getCount + " units left, but no worker is connected.")
+      }
+    } finally {
+      server.close()
+      processes.foreach(p => if (!p.waitFor(10, TimeUnit.SECONDS)) p.destroy())
+    }
+  }
+
+  private def startWorker(host: String) = {
+    val builder = new ProcessBuilder(
+      new File(System.getProperty("java.home"), "bin/java").getPath,
+      "-cp", System.getProperty("java.class.path"), classOf[ScanWorker].getName,
+      host, server.getLocalPort.toString)
+    builder.environment().put(DistScan.SecretVariable, secret) // Not on the command line.
+    builder.inheritIO().start()
+  }
+
+  /**
+   * Sends units to one worker until all units are done.
+   */
+  private def serve(socket: Socket) {
+    var unit: ScanUnit = null
+    try {
+      socket.setSoTimeout(DistScan.HandshakeTimeout)
+      val out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream))
+      val in = new DataInputStream(new BufferedInputStream(socket.getInputStream))
+      try DistScan.handshake(secret, DistScan.Coordinator, in, out) catch {
+        case e: IOException =>
+          log warning "Connection from " + socket.getRemoteSocketAddress + " rejected: " + e
+          return
+      }
+      workers.incrementAndGet()
+      connected.incrementAndGet()
+      try {
+        socket.setSoTimeout(unitTimeout)
+        DistScan.writeScan(out, this)
+        val n = allClassifiers.classifiers.size
+        while (remaining.getCount > 0) {
+          unit = queue.poll(100, TimeUnit.MILLISECONDS)
+          if (unit != null && !results.containsKey(unit.id)) {
+            DistScan.writeUnit(out, unit)
+            val r = DistScan.readResult(in, n)
+            if (r.id != unit.id) throw new IOException("Result of unit " + r.id + " instead of " + unit.id + ".")
+            if (results.putIfAbsent(r.id, r) == null) remaining.countDown()
+          }
+          unit = null
+        }
+        DistScan.writeUnit(out, null) // Stop.
+      } finally {
+        connected.decrementAndGet()
+      }
+    } catch {
+      case e: Exception =>
+        if (unit != null) {
+          log warning "Unit " + unit.id + " re-queued: " + e
+          requeued.incrementAndGet()
+          queue.add(unit)
+        }
+    } finally {
+      socket.close()
+    }
+  }
+
+  /**
+   * Searches the subtree of a unit, on a worker.
+   */
+  def search(unit: ScanUnit) = {
+    val (c, p) = (configs, pruned)
+    captured = new ArrayBuffer[T]()
+    try {
+      create(classifiersAt(unit.prefix).reverse, unit.prefix.last + 1, unit.w)
+      ScanResult(unit.id, captured.map(indicesOf).toArray, configs - c, pruned - p)
+    } finally {
+      captured = null
+    }
+  }
+
+  override def foundSolution(t: T) {
+    if (captured != null) captured += t else super.foundSolution(t)
+  }
+
+  override def resume(name: String) {
+    throw new UnsupportedOperationException("A distributed scan cannot be resumed.")
+  }
+
+  override def toString = "DistScan"
+}
+
+/**
+ * The protocol between the coordinator and the workers of a distributed scan.
+ */
+object DistScan {
+
+  /**
+   * The environment variable with the secret shared by the coordinator and the workers.
+   */
+  val SecretVariable = "GCAT_SCAN_SECRET"
+
+  private[conc] val HandshakeTimeout = 10000
+  private val MaxArguments = 1000
+  private[conc] val Coordinator: Byte = 1
+  private[conc] val Worker: Byte = 2
+
+  private val random = new SecureRandom()
+
+  /**
+   * Both sides send a random challenge and answer the challenge of the other
+   * side with its HMAC under the secret, so the secret itself is never sent.
+   */
+  private[conc] def handshake(secret: String, role: Byte, in: DataInputStream, out: DataOutputStream) {
+    if (secret == null || secret.isEmpty) throw new IllegalArgumentException("No secret.")
+    val challenge = new Array[Byte](16)
+    random.nextBytes(challenge)
+    out.write(challenge)
+    out.flush()
+    val received = new Array[Byte](16)
+    in.readFully(received)
+    out.write(mac(secret, role, received))
+    out.flush()
+    val answer = new Array[Byte](32)
+    in.readFully(answer)
+    if (!MessageDigest.isEqual(answer, mac(secret, (Coordinator + Worker - role).toByte, challenge)))
+      throw new IOException("Wrong secret.")
+  }
+
+  private def mac(secret: String, role: Byte, challenge: Array[Byte]) = {
+    val mac = Mac.getInstance("HmacSHA256")
+    mac.init(new SecretKeySpec(secret.getBytes("UTF-8"), "HmacSHA256"))
+    mac.update(role) // An answer cannot be reflected to the other side.
+    mac.doFinal(challenge)
+  }
+
+  private[conc] def writeScan(out: DataOutputStream, scan: DistScan[_]) {
+    out.writeUTF(scan.getClass.getName)
+    out.writeInt(scan.arguments.length)
+    scan.arguments.foreach(out.writeUTF(_))
+    out.writeUTF(scan.signature)
+    out.flush()
+  }
+
+  /**
+   * Creates the scan of the coordinator from its arguments, see DistScan.arguments.
+   * It must have the same signature as on the coordinator.
+   */
+  private[conc] def readScan(in: DataInputStream) = {
+    val c = Class.forName(in.readUTF(), false, getClass.getClassLoader)
+    if (!classOf[DistScan[_]].isAssignableFrom(c)) throw new IOException(c.getName + " is not a DistScan.")
+    val arguments = Array.fill(checked(in.readInt(), MaxArguments))(in.readUTF())
+    val signature = in.readUTF()
+    val scan = try {
+      (if (arguments.isEmpty) c.getConstructor().newInstance()
+      else c.getConstructor(classOf[Array[String]]).newInstance(Array[AnyRef](arguments): _*)).asInstanceOf[DistScan[_ <: ClassTable]]
+    } catch {
+      case e: NoSuchMethodException => throw new IOException(c.getName + " cannot be created from " + arguments.length + " arguments.")
+    }
+    if (scan.signature != signature)
+      throw new IOException(c.getName + " was created with other classifiers or parameters than on the coordinator.")
+    scan
+  }
+
+  /**
+   * Writes a unit, or the stop message if the unit is null.
+   */
+  private[conc] def writeUnit(out: DataOutputStream, unit: ScanUnit) {
+    if (unit == null) out.writeInt(-1) else {
+      out.writeInt(unit.id)
+      writeIndices(out, unit.prefix)
+      out.writeInt(unit.w)
+    }
+    out.flush()
+  }
+
+  /**
+   * Reads a unit of a scan with n classifiers, null if the coordinator stops.
+   */
+  private[conc] def readUnit(in: DataInputStream, n: Int) = {
+    val id = in.readInt()
+    if (id < 0) null else ScanUnit(id, readIndices(in, n), in.readInt())
+  }
+
+  private[conc] def writeResult(out: DataOutputStream, result: ScanResult) {
+    out.writeInt(result.id)
+    out.writeInt(result.solutions.length)
+    result.solutions.foreach(writeIndices(out, _))
+    out.writeDouble(result.configs)
+    out.writeDouble(result.pruned)
+    out.flush()
+  }
+
+  /**
+   * Reads the result of a unit of a scan with n classifiers.
+   */
+  private[conc] def readResult(in: DataInputStream, n: Int) = {
+    val id = in.readInt()
+    val solutions = Array.fill(checked(in.readInt(), Int.MaxValue))(readIndices(in, n))
+    ScanResult(id, solutions, in.readDouble(), in.readDouble())
+  }
+
+  private def writeIndices(out: DataOutputStream, indices: Seq[Int]) {
+    out.writeInt(indices.size)
+    indices.foreach(out.writeInt(_))
+  }
+
+  private def readIndices(in: DataInputStream, n: Int) =
+    List.fill(checked(in.readInt(), n))(checked(in.readInt(), n - 1))
+
+  private def checked(i: Int, max: Int) =
+    if (i < 0 || i > max) throw new IOException("Invalid value " + i + ".") else i
+}
+
+/**
+ * A worker of a distributed scan, see DistScan.
+ * Usage: ScanWorker host port, with the secret in the environment variable
+ * DistScan.SecretVariable.
+ */
+class ScanWorker(host: String, port: Int, secret: String) extends Loggable {
+
+  /**
+   * Connects to the coordinator (retrying for up to a minute) and searches
+   * units until the coordinator stops.
+   * @return Number of units searched.
+   */
+  def run() = {
+    val socket = connect(System.currentTimeMillis + 60000)
+    var units = 0
+    try {
+      socket.setSoTimeout(DistScan.HandshakeTimeout)
+      val out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream))
+      val in = new DataInputStream(new BufferedInputStream(socket.getInputStream))
+      DistScan.handshake(secret, DistScan.Worker, in, out)
+      val scan = DistScan.readScan(in)
+      socket.setSoTimeout(0)
+      scan.pruneDuplicates = false
+      scan.doStream = false
+      scan.checkpointInterval = 0 // Local workers would share the checkpoint files.
+      val n = scan.allClassifiers.classifiers.size
+      var unit = DistScan.readUnit(in, n)
+      while (unit != null) {
+        DistScan.writeResult(out, search(scan, unit))
+        units += 1
+        unit = DistScan.readUnit(in, n)
+      }
+    } finally {
+      socket.close()
+    }
+    log info units + " units done."
+    units
+  }
+
+  protected def search(scan: DistScan[_ <: ClassTable], unit: ScanUnit) = scan.search(unit)
+
+  private def connect(until: Long): Socket = {
+    try {
+      val socket = new Socket()
+      socket.connect(new InetSocketAddress(host, port))
+      socket
+    } catch {
+      case e: ConnectException if System.currentTimeMillis < until =>
+        Thread.sleep(500)
+        connect(until)
+    }
+  }
+}
+
+object ScanWorker {
+  def main(args: Array[String]) {
+    val secret = System.getenv(DistScan.SecretVariable)
+    if (args.length != 2 || secret == null) {
+      System.err.println("Usage: ScanWorker host port, with the secret in " + DistScan.SecretVariable + ".")
+      System.exit(1)
+    }
+    new ScanWorker(args(0), args(1).toInt, secret).run()
+  }
+}
@@ -204,8 +204,8 @@ class ClassTable(val bdas: List[Classifier[Int]],
 
       p.size - m(p)
     }
-    // Sum over all classes:
-    classes.map(c => h(c)).sum
+    // Sum over all classes (as list, equal errors of different classes must not collapse):
+    classes.toList.map(c => h(c)).sum
   }
 
   val relErrorA = errorA / 64.0
@@ -22,7 +22,6 @@ import bio.gcat.geneticcode.dich.{Uracil => U}
 import bio.gcat.geneticcode.dich.{Guanine => G}
 import bio.gcat.geneticcode.dich.{Cytosine => C}
 import bio.gcat.lal.{F2Vector, F2VectorSpace}
-import bio.gcat.util.Combine.combine
 
 import scala.collection.JavaConversions.{asScalaSet, mapAsScalaMap}
 
@@ -42,9 +41,25 @@ class CodingClassTable(override val bdas: List[Classifier[Int]],
    */
   def f2Vectors = classes.map(c => F2Vector(c: _*)).toList
 
-  lazy val isVectorSubSpace = f2.isSubSpace(f2Vectors)
+  /**
+   * True if the classes fit into bit vectors (fewer than 64 classifiers),
+   * otherwise the classes are compared as lists.
+   */
+  private val bitVectors = bdas.size < 64
+
+  /**
+   * The class of each codon (in the order of codons) as bits, see F2VectorSpace.toBits.
+   */
+  lazy val codonBits = {
+    require(bitVectors, "Too many classifiers for bit vectors: " + bdas.size)
+    codons.map(c => F2VectorSpace.toBits(codon2class(c))).toArray
+  }
 
-  lazy val isMovedVectorSubSpace = f2.isMovedSubSpace(f2Vectors)
+  lazy val isVectorSubSpace =
+    if (bitVectors) F2VectorSpace.isSubSpace(codonBits) else f2.isSubSpace(f2Vectors)
+
+  lazy val isMovedVectorSubSpace =
+    if (bitVectors) F2VectorSpace.isMovedSubSpace(codonBits.distinct) else f2.isMovedSubSpace(f2Vectors)
 
   /**
    * Hamming distance for a list of 0s and 1s. Empty list gives 0.
@@ -68,29 +83,42 @@ class CodingClassTable(override val bdas: List[Classifier[Int]],
    * @param c2
    * @return
    */
-  def hammingCDist(c1: Codon, c2: Codon) = {
-    val l1 = codon2class(c1)
-    val l2 = codon2class(c2)
-    hammingLDist(codon2class(c1), codon2class(c2))
-  }
+  def hammingCDist(c1: Codon, c2: Codon) =
+    if (bitVectors) java.lang.Long.bitCount(
+      F2VectorSpace.toBits(codon2class(c1)) ^ F2VectorSpace.toBits(codon2class(c2)))
+    else hammingLDist(codon2class(c1), codon2class(c2))
+
+  /**
+   * Hamming distances of all codons (in the order of codons).
+   */
+  lazy val hammingMatrix =
+    if (bitVectors) Array.tabulate(codonBits.length, codonBits.length)((i, j) =>
+      java.lang.Long.bitCount(codonBits(i) ^ codonBits(j)))
+    else {
+      val c = codons.map(codon2class).toArray
+      Array.tabulate(c.length, c.length)((i, j) => hammingLDist(c(i), c(j)))
+    }
 
   /**
    * Hamming distance of all codons. The list is ordered such
    * that for two elements always hold: i<j.
    */
   lazy val hammingDist: List[((Codon, Codon), Int)] = {
-    val c = combine(codons)
-    for ((c1, c2) <- c) yield {
-      val h = hammingCDist(c1, c2)
-      ((c1, c2), h)
-    }
+    val c = codons.toArray
+    (for (i <- c.indices; j <- i + 1 until c.length) yield ((c(i), c(j)), hammingMatrix(i)(j))).toList
   }
 
   /**
    * Minimum and maximum hamming distances for all codons.
    */
-  lazy val hammingDistMinMax =
-    MinMax(hammingDist.minBy(x => x._2)._2, hammingDist.maxBy(x => x._2)._2)
+  lazy val hammingDistMinMax = {
+    var (min, max) = (Int.MaxValue, Int.MinValue)
+    for (i <- hammingMatrix.indices; j <- i + 1 until hammingMatrix.length) {
+      min = math.min(min, hammingMatrix(i)(j))
+      max = math.max(max, hammingMatrix(i)(j))
+    }
+    MinMax(min, max)
+  }
 
   /**
    * The hamming distance grouped by amino acids.
@@ -110,10 +138,16 @@ class CodingClassTable(override val bdas: List[Classifier[Int]],
 
   lazy val hammingDistanceGroupedMinMax:
   Map[(CodonMapping, CodonMapping), MinMax] = {
-    hammingDistanceGrouped.mapValues {
-      v =>
-        MinMax(v.minBy(e => e._2)._2, v.maxBy(e => e._2)._2)
+    val aas = codons.map(codon2AA).toArray
+    val m = scala.collection.mutable.HashMap[(CodonMapping, CodonMapping), MinMax]()
+    for (i <- aas.indices; j <- i + 1 until aas.length) {
+      val h = hammingMatrix(i)(j)
+      m((aas(i), aas(j))) = m.get((aas(i), aas(j))) match {
+        case Some(MinMax(min, max)) => MinMax(math.min(min, h), math.max(max, h))
+        case None => MinMax(h, h)
+      }
     }
+    m.toMap
   }
 
   /**
@@ -0,0 +1,204 @@
+/*
+ * Copyright [2017] [Mannheim University of Applied Sciences]
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package bio.gcat.geneticcode.dich.ct
+
+import java.util.Arrays
+import java.util.concurrent.ConcurrentHashMap
+
+import bio.gcat.geneticcode.dich._
+import bio.gcat.lal.F2VectorSpace
+
+/**
+ * A class table reduced to primitive arrays, to decide quickly whether a
+ * configuration of binary classifiers (BDAs) is of interest in a scan.
+ * Each classifier contributes one bit of the class of a codon: bit i (counted
+ * from the most significant of bdas.size bits) is the result of the i-th classifier,
+ * so the binary string of a class equals the class list of a ClassTable.
+ * The number of classes, errorA, errorC and the degeneracy match the ones
+ * of a ClassTable with the same classifiers and codon property.
+ * @param bdas Up to 31 binary classifiers, i.e. classifiers returning 0 or 1.
+ * @param codonProperty The property used to determine the errors.
+ */
+class FastClassTable(val bdas: List[Classifier[Int]],
+                     val codonProperty: CodonProperty = IdStandardAminoAcidProperty) {
+
+  require(!bdas.isEmpty && bdas.size <= 31)
+
+  /**
+   * The class of each codon (in the order of Codon.codons).
+   */
+  val codonClass = {
+    val masks = bdas.map(FastClassTable.mask).toArray
+    val c = new Array[Int](64)
+    for (i <- 0 until 64) {
+      var clazz = 0
+      for (m <- masks) clazz = clazz << 1 | (m >>> i & 1).toInt
+      c(i) = clazz
+    }
+    c
+  }
+
+  private val sizes = { // The number of codons per class.
+    val s = codonClass.clone()
+    Arrays.sort(s)
+    runs(s.map(_.toLong))
+  }
+
+  /**
+   * Number of classes.
+   */
+  val noClasses = sizes.size
+
+  /**
+   * The number of classes with n codons (n from 1 to 64).
+   */
+  lazy val degeneracy = {
+    val d = new Array[Int](65)
+    sizes.foreach(n => d(n) += 1)
+    d
+  }
+
+  /**
+   * The partition of the codons in a canonical form: classes are numbered in
+   * the order of their first codon, so configurations with the same partition
+   * (e.g. with complement BDAs or in another order) have equal partitions.
+   */
+  lazy val partition: Seq[Long] = {
+    val first = new Array[Int](64) // the class of each number
+    var n = 0
+    val words = new Array[Long](7) // 10 numbers of 6 bits per word
+    for (i <- 0 until 64) {
+      var l = 0
+      while (l < n && first(l) != codonClass(i)) l += 1
+      if (l == n) {
+        first(n) = codonClass(i)
+        n += 1
+      }
+      words(i / 10) |= l.toLong << (i % 10 * 6)
+    }
+    words
+  }
+
+  lazy val isVectorSubSpace = F2VectorSpace.isSubSpace(codonClass.map(_.toLong))
+
+  lazy val isMovedVectorSubSpace = F2VectorSpace.isMovedSubSpace(codonClass.distinct.map(_.toLong))
+
+  /**
+   * Minimum and maximum Hamming distances of the classes of all codon pairs.
+   */
+  lazy val hammingDistMinMax = {
+    var (min, max) = (Int.MaxValue, Int.MinValue)
+    for (i <- 0 until 64; j <- i + 1 until 64) {
+      val h = Integer.bitCount(codonClass(i) ^ codonClass(j))
+      min = math.min(min, h)
+      max = math.max(max, h)
+    }
+    MinMax(min, max)
+  }
+
+  private lazy val props = FastClassTable.properties(codonProperty)
+
+  /**
+   * Absolute error indicating if this code table is compatible to the property.
+   */
+  lazy val errorC = groupError(Array.tabulate(64)(i => props(i).toLong << 32 | codonClass(i)), 32)
+
+  lazy val relErrorC = errorC / 64.0
+
+  lazy val errorA = groupError(Array.tabulate(64)(i => codonClass(i).toLong << 32 | props(i)), 32)
+
+  lazy val relErrorA = errorA / 64.0
+
+  lazy val error: Int = errorA + errorC
+
+  lazy val relError = error / 64.0
+
+  def isPropertyCompatible = errorC == 0
+
+  /**
+   * The lengths of runs of equal values in a sorted array.
+   */
+  private def runs(sorted: Array[Long]) = {
+    val r = new scala.collection.mutable.ArrayBuffer[Int]()
+    var i = 0
+    while (i < sorted.length) {
+      var j = i + 1
+      while (j < sorted.length && sorted(j) == sorted(i)) j += 1
+      r += j - i
+      i = j
+    }
+    r
+  }
+
+  /**
+   * Sum over all groups (upper bits) of the group size minus the size
+   * of the largest set of equal pairs in the group.
+   */
+  private def groupError(pairs: Array[Long], shift: Int) = {
+    Arrays.sort(pairs)
+    var err = 0
+    var i = 0
+    while (i < pairs.length) {
+      var j = i + 1
+      while (j < pairs.length && pairs(j) >>> shift == pairs(i) >>> shift) j += 1
+      err += (j - i) - runs(pairs.slice(i, j)).max
+      i = j
+    }
+    err
+  }
+
+  override def toString = "FastClassTable(" + bdas.mkString("; ") + ")"
+}
+
+object FastClassTable {
+
+  private val codons = Codon.codons.toArray
+
+  private val propertyIds = new ConcurrentHashMap[CodonProperty, Array[Int]]()
+
+  /**
+   * Bit i is set if the classifier assigns class 1 to the i-th codon (of Codon.codons).
+   */
+  def mask(c: Classifier[Int]): Long = c match {
+    case bda: BinaryDichotomicAlgorithm => bda.codonMask
+    case _ => computeMask(c)
+  }
+
+  def computeMask(c: Classifier[Int]) = {
+    var m = 0L
+    for (i <- 0 until 64) c.classify(codons(i)) match {
+      case 0 =>
+      case 1 => m |= 1L << i
+      case v => throw new IllegalArgumentException(
+        "Only binary classifiers are supported, " + c + " returned " + v)
+    }
+    m
+  }
+
+  /**
+   * A dense property number for each codon (in the order of Codon.codons).
+   */
+  def properties(p: CodonProperty) = {
+    var ids = propertyIds.get(p)
+    if (ids == null) {
+      val names = codons.map(p.property)
+      val distinct = names.distinct
+      ids = names.map(distinct.indexOf(_))
+      propertyIds.putIfAbsent(p, ids)
+    }
+    ids
+  }
+}
@@ -17,7 +17,7 @@ package bio.gcat.geneticcode.dich.scan
 
 import bio.gcat.geneticcode.dich._
 import bio.gcat.geneticcode.dich.conc.ConcScan
-import bio.gcat.geneticcode.dich.ct.ClassTable
+import bio.gcat.geneticcode.dich.ct.{ClassTable, FastClassTable}
 import scala.collection.JavaConversions._
 
 /**
@@ -46,6 +46,12 @@ trait ClassPower2Constraints[T <: ClassTable] extends ScanConstraint[T] {
   }
 
   override def isSolution(t: T) = t.classes.size == classSize
+
+  override def fastConstraints = true
+
+  override def isValidConfig(t: FastClassTable, w: Int) = t.noClasses == 1 << t.bdas.size
+
+  override def isSolution(t: FastClassTable) = t.noClasses == classSize
 }
 
 /**
@@ -77,8 +83,6 @@ class ConcClassPower2Scan(bdas: List[Classifier[Int]] = List(),
   extends ConcScan[ClassTable](bdas, size, noActors, allClassifiers)
   with ClassTableScan with ClassPower2Constraints[ClassTable] {
 
-  def cloneScan() = new ConcClassPower2Scan(bdas, size, noActors)
-
   override def startMessage = classSize +
     " classes (via class size doubling per classifier/BDA) concurrently"
 
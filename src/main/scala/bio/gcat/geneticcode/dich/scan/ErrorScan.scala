@@ -16,8 +16,8 @@
 package bio.gcat.geneticcode.dich.scan
 
 import bio.gcat.geneticcode.dich._
-import bio.gcat.geneticcode.dich.conc.ConcScan
-import bio.gcat.geneticcode.dich.ct.ClassTable
+import bio.gcat.geneticcode.dich.conc.{ConcScan, DistScan}
+import bio.gcat.geneticcode.dich.ct.{ClassTable, FastClassTable}
 import bio.gcat.util.ArgsParser
 
 /**
@@ -42,6 +42,19 @@ trait ErrorConstraints[T <: ClassTable] extends ScanConstraint[T] {
 
   override def isSolution(t: T) =
     classSize <= t.classes.size && t.classes.size <=classSize + t.errorC
+
+  override def parameters: List[Any] = List(errorD, classSize)
+
+  override def fastConstraints = true
+
+  override def isValidConfig(t: FastClassTable, w: Int) = {
+    t.noClasses > w &&
+      t.noClasses <= classSize + t.errorC &&
+      t.relErrorC <= errorD
+  }
+
+  override def isSolution(t: FastClassTable) =
+    classSize <= t.noClasses && t.noClasses <= classSize + t.errorC
 }
 
 /**
@@ -63,6 +76,12 @@ class ErrorScan(bdas: List[Classifier[Int]] = List(),
     new ClassTable(bda, iupacNumber, codonProperty)
   }
 
+  override def newFastClassTable(bda: List[Classifier[Int]]) =
+    new FastClassTable(bda, codonProperty)
+
+  override def parameters: List[Any] = super.parameters ++
+    List(iupacNumber, codonProperty, codonProperty.codons.map(codonProperty.property).mkString(","))
+
   override def startMessage = "Error sequentially with E_d = " + errorD +
     ", k_d = " + size + ", |M| = " + classSize + ", code table = " + iupacNumber +
     ", codonProp = " + codonProperty
@@ -78,6 +97,26 @@ object ErrorScan extends ArgsParser {
   }
 }
 
+/**
+ * ErrorScan distributed over worker processes, see DistScan. The workers
+ * create it from the arguments of ErrorScan.main.
+ * @param arguments The arguments of ErrorScan.main.
+ */
+class DistErrorScan(override val arguments: Array[String])
+  extends ErrorScan(
+    ErrorScan.toBDAList(arguments, 0),
+    ErrorScan.toDouble(arguments, 1), ErrorScan.toInt(arguments, 2), ErrorScan.toInt(arguments, 3),
+    ErrorScan.toInt(arguments, 4), ErrorScan.toProp(arguments, 5)
+  ) with DistScan[ClassTable]
+
+object DistErrorScan {
+  def main(args: Array[String]) {
+    val scan = new DistErrorScan(args.take(6))
+    scan.localWorkers = if (args.length > 6) args(6).toInt else 0 // no. of local workers
+    scan.run()
+  }
+}
+
 class ConcErrorScan(bdas: List[Classifier[Int]] = List(),
                     val errorD: Double = 0.2,
                     val size: Int = 6, val classSize: Int = 21,
@@ -91,8 +130,8 @@ class ConcErrorScan(bdas: List[Classifier[Int]] = List(),
   val minClassSize = classSize
   val maxClassSize = classSize + 4
 
-  def cloneScan() = new ConcErrorScan(bdas, errorD, size, classSize,
-    iupacNumber, codonProperty, noActors)
+  override def parameters: List[Any] = super.parameters ++
+    List(iupacNumber, codonProperty, codonProperty.codons.map(codonProperty.property).mkString(","))
 
   override def startMessage = "Error concurrently with E_d = " + errorD +
     ", k_d = " + size + ", |M| = " + classSize + ", code table = " + iupacNumber +
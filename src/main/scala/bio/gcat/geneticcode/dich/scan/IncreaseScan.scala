@@ -16,7 +16,7 @@
 package bio.gcat.geneticcode.dich.scan
 
 import bio.gcat.geneticcode.dich.conc.ConcScan
-import bio.gcat.geneticcode.dich.ct.{ClassTable, CodingClassTable}
+import bio.gcat.geneticcode.dich.ct.{ClassTable, CodingClassTable, FastClassTable}
 import bio.gcat.geneticcode.dich.{Classifier, CodingClassTableScan, Scan, ScanConstraint}
 
 /**
@@ -40,6 +40,14 @@ trait IncreaseConstraints[T <: ClassTable] extends ScanConstraint[T] {
   override def isSolution(t: T) = t.classes.size == classSize
 
   override def scanParameter(t: T) = t.classes.size
+
+  override def parameters: List[Any] = List(classSize)
+
+  override def fastConstraints = true
+
+  override def isValidConfig(t: FastClassTable, w: Int) = t.noClasses > w
+
+  override def isSolution(t: FastClassTable) = t.noClasses == classSize
 }
 
 /**
@@ -72,8 +80,6 @@ class ConcIncreaseScan(val classSize: Int = 64,
   with IncreaseConstraints[CodingClassTable] {
 
   override def startMessage = "Increase concurrently"
-
-  def cloneScan() = new ConcIncreaseScan(classSize, bdas, size)
 }
 
 object ConcIncreaseScan {
@@ -15,12 +15,16 @@
  */
 package bio.gcat.geneticcode.dich.scan
 
-import java.io.{File, PrintWriter}
+import java.io.{BufferedWriter, File, FileOutputStream, OutputStreamWriter, PrintWriter}
 import java.text.SimpleDateFormat
-import java.util.Date
+import java.util.{ArrayDeque, Date, SplittableRandom}
+import java.util.concurrent.atomic.AtomicLong
+import java.util.concurrent.{Callable, Executors, Future}
+import bio.gcat.{Budget, RandomSource}
 import bio.gcat.geneticcode.dich._
-import bio.gcat.geneticcode.dich.ct.CodingClassTable
-import scala.Some
+import bio.gcat.geneticcode.dich.ct.{CodingClassTable, FastClassTable}
+import bio.gcat.util.Loggable
+import scala.collection.mutable.ArrayBuffer
 
 /**
  * Generate n class tables (models M_i) with a specific characteristic and save
@@ -30,6 +34,12 @@ import scala.Some
  * The class tables uses the standard genetic code.
  * The errors are written to a file in the current directory. The
  * filename has the form Error-<suffix>.dat. <suffix> can be customized.
+ * The models are drawn in blocks of blockSize models on several threads. Each
+ * block has its own generator, split in block order of a (seeded) root, and
+ * the blocks are written in order. So the file only depends on the seed, not
+ * on the number of threads (unless the blocks give up, as all blocks share the
+ * maxRepeats tries). At most two blocks per thread are drawn or wait to be
+ * written at a time. Models are only checked on a FastClassTable.
  * Note: This class is used to produce figure 3 in M. Gumbel et al: "On Models...".
  * BioSystems. 10.1016/j.biosystems.2016.12.001.
  * @param repeats Number of repeatitions (n).
@@ -38,17 +48,34 @@ import scala.Some
  * @param depthTo The maximum number of BDAs.
  * @param classSize The intended class size |M| when a model is selected.
  * @param fileSuffix An optional file suffix.
+ * @param seed An optional seed to reproduce the models.
+ * @param threads The number of threads used.
  * @author Markus Gumbel (m.gumbel@hs-mannheim.de)
  *         (c) 2016 Markus Gumbel
  */
 class RandomScan(repeats: Int, bdas: List[Classifier[Int]], depthFrom: Int, depthTo: Int, classSize: Int,
                  fileSuffix: Option[String] = None,
-                 allClassifiers: ClassifierSet = BinaryDichotomicAlgorithm.bdas216) {
+                 allClassifiers: ClassifierSet = BinaryDichotomicAlgorithm.bdas216,
+                 seed: Option[Long] = None,
+                 threads: Int = Runtime.getRuntime.availableProcessors) extends Loggable {
+
+  val maxRepeats = 90000000 // Some sort of breaking condition.
+
+  val blockSize = 1000
+
+  /**
+   * Number of models drawn and number of models selected.
+   */
+  val tries, accepted = new AtomicLong()
+
+  /**
+   * The tries left to all blocks, see maxRepeats.
+   */
+  private val triesLeft = new AtomicLong()
 
   run()
 
   def run() {
-    val maxRepeats = 90000000 // Some sort of breaking condition.
     val suffix = fileSuffix match {
       case None => {
         val d = new SimpleDateFormat("yyyyMMdd-hhmmss").format(new Date())
@@ -56,26 +83,70 @@ class RandomScan(repeats: Int, bdas: List[Classifier[Int]], depthFrom: Int, dept
       }
       case _ => fileSuffix.get
     }
-    val errorFile = new PrintWriter(new File("Error" + suffix + ".dat"), "UTF-8")
+    val errorFile = new PrintWriter(new BufferedWriter(new OutputStreamWriter(
+      new FileOutputStream(new File("Error" + suffix + ".dat")), "UTF-8")))
 
-    var i = 0
-    var r = 0
-    while (r < repeats && i < maxRepeats) {
-      i += 1
-      val ct = pickRandomClassTable()
-      if (ct.classes.size == classSize) {
-        println(ct.relErrorC)
-        errorFile.println(ct.relErrorC)
+    val root = seed.map(new SplittableRandom(_)).getOrElse(RandomSource.split())
+    val blocks = (repeats + blockSize - 1) / blockSize
+    val startTime = System.currentTimeMillis()
+    val pool = Executors.newFixedThreadPool(threads)
+    triesLeft.set(maxRepeats)
+    try {
+      // The blocks in flight, in block order:
+      val results = new ArrayDeque[Future[Array[Double]]]()
+      var next = 0
+      for (b <- 0 until blocks) {
+        while (next < blocks && results.size < 2 * threads) {
+          val random = root.split() // in block order
+          val size = math.min(blockSize, repeats - next * blockSize)
+          results.add(pool.submit(new Callable[Array[Double]] {
+            def call() = pickErrors(size, random)
+          }))
+          next += 1
+        }
+        results.poll().get.foreach(errorFile.println)
         errorFile.flush()
-        r += 1
+        val t = (System.currentTimeMillis() - startTime) / 1000.0
+        val remaining = (t * 1e9 * (blocks - b - 1) / (b + 1)).toLong // estimated by the blocks done
+        log info accepted + " models of " + tries + " (" +
+          "%.2f".format(100.0 * accepted.get / tries.get) + "% accepted, " +
+          (if (t > 0) "%.0f".format(tries.get / t) else "-") + " tries/s, " +
+          (100 * (b + 1) / blocks) + "% done, about " + Budget.formatDuration(remaining) + " remaining)"
       }
+    } finally {
+      pool.shutdownNow()
+      errorFile.close()
     }
   }
 
+  /**
+   * The relative E errors of models with classSize classes. Gives up when
+   * the tries left to all blocks are used up.
+   * @param n The number of models.
+   */
+  private def pickErrors(n: Int, random: SplittableRandom) = {
+    val errors = new ArrayBuffer[Double](n)
+    var i = 0
+    while (errors.size < n && triesLeft.getAndDecrement() > 0) {
+      i += 1
+      val ct = new FastClassTable(pickRandomBDAs(random))
+      if (ct.noClasses == classSize) errors += ct.relErrorC
+    }
+    tries.addAndGet(i)
+    accepted.addAndGet(errors.size)
+    errors.toArray
+  }
+
   /**
    * Pick a random class table using depthFrom to depthTo BDAs.
    */
-  def pickRandomClassTable() = {
+  def pickRandomClassTable() =
+    new CodingClassTable(pickRandomBDAs(RandomSource.current()), IUPAC.STANDARD)
+
+  /**
+   * Pick a random BDA list using depthFrom to depthTo BDAs.
+   */
+  def pickRandomBDAs(random: SplittableRandom) = {
     /**
      * Create a random BDA set optionally containing fixed BDAs
      * @param l Fixed BDAs or empty if not applicable.
@@ -84,15 +155,17 @@ class RandomScan(repeats: Int, bdas: List[Classifier[Int]], depthFrom: Int, dept
     def randomBDAs(l: List[Classifier[Int]], n: Int): List[Classifier[Int]] = n match {
       case 0 => l
       case _ => {
-        val r = (math.random * 216).asInstanceOf[Int]  // a random BDA
-        val bda = (BinaryDichotomicAlgorithm.bdas216.classifiers(r)).asInstanceOf[BinaryDichotomicAlgorithm]
-        if (!(l.contains(bda) || l.contains(bda.complement))) randomBDAs(bda :: l, n - 1) else randomBDAs(l, n)
+        val c = allClassifiers.classifiers(random.nextInt(allClassifiers.classifiers.size)) // a random BDA
+        val complement = c match {
+          case bda: BinaryDichotomicAlgorithm => l.contains(bda.complement)
+          case _ => false
+        }
+        if (!(l.contains(c) || complement)) randomBDAs(c :: l, n - 1) else randomBDAs(l, n)
       }
     }
     // Random number in range depthFrom, ..., depthTo:
-    val d = (math.random * (depthTo - depthFrom + 1)).asInstanceOf[Int]
-    val bdasL = randomBDAs(List() ++ bdas, depthFrom + d)
-    new CodingClassTable(bdasL, IUPAC.STANDARD)
+    val d = random.nextInt(depthTo - depthFrom + 1)
+    randomBDAs(List() ++ bdas, depthFrom + d)
   }
 }
 
@@ -16,8 +16,8 @@
 package bio.gcat.geneticcode.dich.scan
 
 import bio.gcat.geneticcode.dich.conc.ConcScan
-import bio.gcat.geneticcode.dich.ct.ClassTable
-import bio.gcat.geneticcode.dich.{ClassTableScan, Scan, BinaryDichotomicAlgorithm}
+import bio.gcat.geneticcode.dich.ct.{ClassTable, FastClassTable}
+import bio.gcat.geneticcode.dich.{ClassTableScan, Classifier, Scan, BinaryDichotomicAlgorithm}
 
 import scala.collection.mutable
 import java.util.Date
@@ -29,9 +29,13 @@ trait NumberOfClassesConstraints extends IncreaseConstraints[ClassTable] {
   // val noc = nocSingleton.noc
   val noc = new mutable.ArrayBuffer[Int]() ++ (2 to 64)
 
-  override def isSolution(t: ClassTable) = {
-    if (noc contains t.classes.size) {
-      noc -= t.classes.size // TODO side effect
+  override def isSolution(t: ClassTable) = isSolution(t.classes.size)
+
+  override def isSolution(t: FastClassTable) = isSolution(t.noClasses)
+
+  private def isSolution(classes: Int) = {
+    if (noc contains classes) {
+      noc -= classes // TODO side effect
       // An actor could send a message that this size was found!
       true
     } else false
@@ -64,7 +68,11 @@ object ScanNumberOfClassesScan {
 }
 
 /**
- * Not working yet! noc is created for every instance.
+ * Each worker reports the first configuration it finds for every number of
+ * classes, without touching noc. The reports are merged in the order of the
+ * sequential scan: the first configuration for a number of classes is the
+ * solution. So the numbers of classes found do not depend on the
+ * workers, but which configuration represents a number may.
  * @param bdas
  * @param size
  * @param noActors
@@ -77,6 +85,26 @@ class ConcNumberOfClassesScan(bdas: List[BinaryDichotomicAlgorithm] = List(),
 
   override def startMessage = "Scan for all number of classes concurrently..."
 
+  /**
+   * The numbers of classes a worker has not reported yet.
+   */
+  @transient private lazy val left = new ThreadLocal[mutable.Set[Int]]() {
+    override def initialValue() = mutable.Set(noc: _*)
+  }
+
+  override def isSolution(t: ClassTable) = left.get.remove(t.classes.size)
+
+  override def isSolution(t: FastClassTable) = left.get.remove(t.noClasses)
+
+  // The reports of the workers are counted when they are merged.
+  override def count(q: Classifier[Int]) {}
+
+  override protected def merge(solutions: Seq[ClassTable]) = {
+    val first = solutions.filter(t => noc.contains(t.classes.size) && { noc -= t.classes.size; true })
+    first.foreach(_.bdas.foreach(super.count(_)))
+    first
+  }
+
   /*
    Design error, output must not be overwritten.
    */
@@ -88,8 +116,6 @@ class ConcNumberOfClassesScan(bdas: List[BinaryDichotomicAlgorithm] = List(),
     log fine "# configurations = " + configs
     log fine "Left class sizes = " + noc.mkString(",")
   }
-
-  def cloneScan() = new ConcNumberOfClassesScan(bdas, size, noActors)
 }
 
 object ConcNumberOfClassesScan {
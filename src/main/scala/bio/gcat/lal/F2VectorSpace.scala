@@ -36,7 +36,9 @@ class F2VectorSpace(val dim: Int = 1) {
    * @param vl
    * @return True if vl is a F2 subspace, false if not.
    */
-  def isMovedSubSpace(vl: List[F2Vector]) = {
+  def isMovedSubSpace(vl: List[F2Vector]) = if (dim < 64) {
+    F2VectorSpace.isMovedSubSpace(vl.map(F2VectorSpace.toBits))
+  } else {
     val u = movedSubSpaceExceptions(vl).filter(c => c._2 == None)
     u.size > 0
   }
@@ -60,10 +62,11 @@ class F2VectorSpace(val dim: Int = 1) {
    * @param vl
    * @return True if vl is a F2 subspace, false if not.
    */
-  def isSubSpace(vl: List[F2Vector]) = subSpaceExceptions(vl) match {
-    case None => true
-    case _ => false
-  }
+  def isSubSpace(vl: List[F2Vector]) =
+    if (dim < 64) F2VectorSpace.isSubSpace(vl.map(F2VectorSpace.toBits)) else subSpaceExceptions(vl) match {
+      case None => true
+      case _ => false
+    }
 
   /**
    * Tests if vectors in vl create a sub vector space in F2 or show the exceptions.
@@ -97,3 +100,50 @@ class F2VectorSpace(val dim: Int = 1) {
     if (!vl.contains(zero)) Some(Nil) else svs(vl)
   }
 }
+
+/**
+ * Vectors of up to 63 components as bits of a long, the first component being
+ * the most significant bit.
+ */
+object F2VectorSpace {
+
+  def toBits(v: F2Vector): Long = toBits(v.x)
+
+  def toBits(x: Seq[Int]): Long = x.foldLeft(0L)((b, c) => b << 1 | (c & 1))
+
+  /**
+   * The rank (the dimension of the span) of the vectors, via Gaussian elimination.
+   */
+  def rank(vl: Seq[Long]) = {
+    val basis = new Array[Long](64) // The basis vector with the highest bit i.
+    var r = 0
+    for (v <- vl) {
+      var x = v
+      while (x != 0 && basis(63 - java.lang.Long.numberOfLeadingZeros(x)) != 0)
+        x ^= basis(63 - java.lang.Long.numberOfLeadingZeros(x))
+      if (x != 0) {
+        basis(63 - java.lang.Long.numberOfLeadingZeros(x)) = x
+        r += 1
+      }
+    }
+    r
+  }
+
+  /**
+   * Tests if the vectors create a sub vector space in F2, i.e. they include 0 and
+   * are as many as the vectors of their span.
+   */
+  def isSubSpace(vl: Seq[Long]) = {
+    val d = vl.distinct
+    d.contains(0L) && {
+      val r = rank(d)
+      r < 31 && d.size == 1 << r
+    }
+  }
+
+  /**
+   * Tests if the vectors are a moved sub vector space (v + U). Then vl - v is a
+   * subspace for every v in vl, so it suffices to test one.
+   */
+  def isMovedSubSpace(vl: Seq[Long]) = !vl.isEmpty && isSubSpace(vl.map(_ ^ vl.head))
+}
@@ -0,0 +1,67 @@
+package bio.gcat;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+public class BudgetTest {
+	@Test public void testIterations() throws Exception {
+		Budget budget = new Budget(0,100);
+		try {
+			Budget.call(budget, ()->{ while(true) Budget.check(); });
+			fail("Exceeded budget expected");
+		} catch(Budget.Exceeded e) { assertTrue("Timed out expected", e.isTimedOut()); }
+		assertEquals("Iterations of the budget expected", 101, budget.getIterations());
+		assertEquals("No budget outside the call expected", null, Budget.current());
+	}
+	
+	@Test public void testTimeout() throws Exception {
+		long start = System.nanoTime();
+		try {
+			Budget.call(new Budget(50,0), ()->{ while(true) Budget.check(); });
+			fail("Exceeded budget expected");
+		} catch(Budget.Exceeded e) { assertTrue("Timed out expected", e.isTimedOut()); }
+		assertTrue("Timeout after 50 ms expected", System.nanoTime()-start>=50_000_000l);
+	}
+	
+	@Test public void testCancel() throws Exception {
+		Budget budget = new Budget();
+		Thread thread = new Thread(()->{ try { Thread.sleep(50); } catch(InterruptedException e) {} budget.cancel(); });
+		thread.start();
+		try {
+			Budget.call(budget, ()->{ while(true) Budget.check(); });
+			fail("Cancelled budget expected");
+		} catch(Budget.Exceeded e) { assertTrue("Cancelled expected", !e.isTimedOut()); }
+		
+		Thread.currentThread().interrupt();
+		try {
+			Budget.check();
+			fail("Interrupted thread expected");
+		} catch(Budget.Exceeded e) { assertTrue("Cancelled expected", !e.isTimedOut()); }
+		finally { Thread.interrupted(); }
+	}
+	
+	@Test public void testProgress() throws Exception {
+		Budget budget = new Budget();
+		assertTrue("Unknown progress expected", Double.isNaN(budget.getProgress()));
+		Budget.call(budget, ()->{
+			Budget.Work work = Budget.expect(4096), nested = Budget.expect(16);
+			for(int step=0;step<1024;step++) { work.step(); nested.step(); }
+			assertEquals("Progress of the work declared first expected", .25d, budget.getProgress(), 0d);
+			assertTrue("Estimated time remaining expected", budget.getRemaining(TimeUnit.NANOSECONDS)>=0l);
+			for(int step=0;step<4096;step++) work.step();
+			assertTrue("Progress below 100% for work exceeding the estimate expected", budget.getProgress()<1d);
+			return null;
+		});
+		assertEquals("Done expected", 1d, budget.getProgress(), 0d);
+		assertEquals("Nothing remaining expected", 0l, budget.getRemaining(TimeUnit.NANOSECONDS));
+		Budget.expect(16).step(); // without a budget, the work is not tracked
+		
+		assertEquals("Minutes expected", "10 min", Budget.formatDuration(TimeUnit.MINUTES.toNanos(10)));
+		assertEquals("Days expected", "10 days", Budget.formatDuration(TimeUnit.DAYS.toNanos(10)));
+	}
+}
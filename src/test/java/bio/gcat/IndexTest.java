@@ -0,0 +1,81 @@
+package bio.gcat;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assume.assumeNotNull;
+import static org.junit.Assume.assumeTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import javax.tools.JavaCompiler;
+import javax.tools.ToolProvider;
+
+import org.junit.Test;
+import org.reflections.Reflections;
+import org.reflections.scanners.SubTypesScanner;
+import org.reflections.scanners.TypeAnnotationsScanner;
+import org.reflections.util.ClasspathHelper;
+import org.reflections.util.ConfigurationBuilder;
+
+import bio.gcat.gui.editor.NucleicDisplay;
+import bio.gcat.gui.input.Input;
+import bio.gcat.operation.Operation;
+
+public class IndexTest {
+	@Test public void test() {
+		assumeTrue("Index resource expected", Index.isAvailable());
+		for(Class<?> type:new Class<?>[]{Operation.class,NucleicDisplay.class,Input.class})
+			assertEquals("Same subtypes as scan expected for "+type.getSimpleName(), main(scan(type.getPackage()).getSubTypesOf(type)), Index.getSubTypesOf(type));
+		assertEquals("Same documented types as scan expected", main(new Reflections(new ConfigurationBuilder().setUrls(ClasspathHelper.forPackage("bio.gcat"))
+			.setScanners(new TypeAnnotationsScanner())).getTypesAnnotatedWith(Documented.class)), Index.getTypesAnnotatedWith(Documented.class));
+	}
+	
+	@Test public void testIncremental() throws IOException {
+		JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+		assumeNotNull(compiler);
+		Path directory = Files.createTempDirectory("index"), output = Files.createDirectory(directory.resolve("classes"));
+		try {
+			Path a = source(directory,"A"), b = source(directory,"B");
+			compile(compiler,output,a,b);
+			compile(compiler,output,b); // only B changed
+			assertEquals(Arrays.asList("bio.gcat.Documented A","bio.gcat.Documented B"), Files.readAllLines(output.resolve(Index.RESOURCE)));
+			Files.delete(output.resolve("A.class"));
+			compile(compiler,output,b); // A was removed
+			assertEquals(Arrays.asList("bio.gcat.Documented B"), Files.readAllLines(output.resolve(Index.RESOURCE)));
+		} finally {
+			try(Stream<Path> paths = Files.walk(directory)) {
+				paths.sorted(Comparator.reverseOrder()).map(Path::toFile).forEach(File::delete);
+			}
+		}
+	}
+	
+	private static Path source(Path directory,String name) throws IOException {
+		return Files.write(directory.resolve(name+".java"),("@bio.gcat.Documented(title=\""+name+"\",category={},resource=\"\") public class "+name+" {}").getBytes(StandardCharsets.UTF_8));
+	}
+	private static void compile(JavaCompiler compiler,Path output,Path... sources) {
+		List<String> arguments = new ArrayList<>(Arrays.asList("-processor",IndexProcessor.class.getName(),"-cp",System.getProperty("java.class.path")+File.pathSeparator+output,"-d",output.toString()));
+		for(Path source:sources) arguments.add(source.toString());
+		assertEquals(0, compiler.run(null,null,null,arguments.toArray(new String[0])));
+	}
+	
+	private static Reflections scan(Package pack) {
+		return new Reflections(new ConfigurationBuilder().setUrls(ClasspathHelper.forPackage(pack.getName())).setScanners(new SubTypesScanner()));
+	}
+	/**
+	 * Only main (not test) classes are indexed, anonymous and local classes are not indexed
+	 */
+	private static Set<Class<?>> main(Set<? extends Class<?>> types) {
+		return types.stream().filter(type->type.getProtectionDomain().getCodeSource().equals(Index.class.getProtectionDomain().getCodeSource())
+			&&!type.isAnonymousClass()&&!type.isLocalClass()).<Class<?>>map(type->type).collect(Collectors.toSet());
+	}
+}
@@ -0,0 +1,152 @@
+package bio.gcat.batch;
+
+import static bio.gcat.nucleic.Tuple.splitTuples;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+import bio.gcat.Budget;
+import bio.gcat.log.InjectionLogger;
+import bio.gcat.nucleic.Tuple;
+import bio.gcat.operation.test.DuplicateFree;
+import bio.gcat.operation.transformation.ShiftTuples;
+import bio.gcat.operation.transformation.Transformation;
+
+public class ActionTest {
+	private static final AtomicInteger INSTANCES = new AtomicInteger();
+	
+	@Test public void testBindValues() throws Exception {
+		Collection<Tuple> tuples = splitTuples("AUG CCU UAA");
+		// scripts parse numbers as long, the operation expects an integer
+		assertEquals("Bound number expected", new ShiftTuples().transform(tuples,2), new Action(ShiftTuples.class,2l).new Task(tuples).call());
+		assertEquals("Parsed number expected", new ShiftTuples().transform(tuples,1), new Action(ShiftTuples.class,"1").new Task(tuples).call());
+	}
+	@Test(expected=IllegalArgumentException.class) public void testInvalidValue() throws Exception {
+		new Action(ShiftTuples.class,"one").new Task(splitTuples("AUG")).call();
+	}
+	
+	@Test public void testOutcome() throws Exception {
+		Action action = new Action(DuplicateFree.class);
+		Action.Task passed = action.new Task(splitTuples("AUG CCU")), failed = action.new Task(splitTuples("AUG AUG"));
+		passed.evaluate(); failed.evaluate();
+		assertTrue("Passed outcome expected", passed.getOutcome().isPassed());
+		assertTrue("Failed outcome expected", failed.getOutcome().isFailed());
+		assertSame("Shared failed outcome expected", failed.getOutcome(), outcome(action.new Task(splitTuples("CCU CCU"))));
+		try {
+			action.new Task(splitTuples("AUG AUG")).call();
+			fail("Failed test expected");
+		} catch(bio.gcat.operation.test.Test.Failed e) { /* expected */ }
+		
+		Batch batch = new Batch(new Action(DuplicateFree.class), new Action(ShiftTuples.class, 1));
+		Batch.Result result = batch.buildIterative(splitTuples("AUG AUG")).call();
+		assertTrue("Failed batch expected", result.getOutcome().isFailed());
+		assertEquals("Unshifted tuples expected", splitTuples("AUG AUG"), result.getTuples());
+		result = batch.buildRecursive(splitTuples("AUG AUG")).call();
+		assertTrue("Failed batch expected", result.getOutcome().isFailed());
+		assertEquals("Unshifted tuples expected", splitTuples("AUG AUG"), result.getTuples());
+		result = batch.buildIterative(splitTuples("AUG CCU")).call();
+		assertTrue("Passed batch expected", result.getOutcome().isPassed());
+		assertEquals("Shifted tuples expected", new ShiftTuples().transform(splitTuples("AUG CCU"),1), result.getTuples());
+	}
+	
+	@Test public void testInstances() throws Exception {
+		Action stateful = new Action(Stateful.class), stateless = new Action(Stateless.class);
+		INSTANCES.set(0);
+		for(int task=0;task<3;task++)
+			stateful.new Task(splitTuples("AUG")).call();
+		assertEquals("New instance per task expected", 3, INSTANCES.get());
+		INSTANCES.set(0);
+		for(int task=0;task<3;task++)
+			stateless.new Task(splitTuples("AUG")).call();
+		assertEquals("Reused instance expected", 1, INSTANCES.get());
+	}
+	
+	@Test public void testLogging() throws Exception {
+		Action action = new Action(Logging.class);
+		ExecutorService service = Executors.newFixedThreadPool(4);
+		try {
+			List<Batch.Result> results = new ArrayList<>(); List<Future<Collection<Tuple>>> futures = new ArrayList<>();
+			for(int task=0;task<200;task++) {
+				Batch.Result result = new Batch.Result(); results.add(result);
+				futures.add(service.submit(InjectionLogger.injectLogger(result,action.new Task(splitTuples(tuples(task))))));
+			}
+			for(Future<Collection<Tuple>> future:futures) future.get();
+			for(int task=0;task<200;task++) {
+				Collection<Batch.Result.Message> log = results.get(task).getLog();
+				assertEquals("One message per task expected", 1, log.size());
+				assertEquals("Message of the task expected", "Tuples "+tuples(task), log.iterator().next().getMessage());
+			}
+		} finally { service.shutdown(); }
+		
+		AtomicInteger formatted = new AtomicInteger();
+		Batch.Result result = new Batch.Result();
+		result.log("Argument %s",new Object() { @Override public String toString() { formatted.incrementAndGet(); return "argument"; } });
+		assertEquals("Unformatted message expected", 0, formatted.get());
+		assertEquals("Formatted message expected", "Argument argument", result.getLog().get(0).getMessage());
+		assertEquals("Message formatted once expected", "Argument argument", result.getLog().get(0).toString());
+		assertEquals("Message formatted once expected", 1, formatted.get());
+	}
+	
+	private static bio.gcat.operation.test.Test.Outcome outcome(Action.Task task) throws Exception {
+		task.evaluate(); return task.getOutcome();
+	}
+	private static String tuples(int task) {
+		StringBuilder tuples = new StringBuilder();
+		for(int base=0;base<4;base++,task>>=2)
+			tuples.append("ACGU".charAt(task&3));
+		return tuples.toString();
+	}
+	
+	public static class Stateful implements Transformation {
+		public Stateful() { INSTANCES.incrementAndGet(); }
+		@Override public Collection<Tuple> transform(Collection<Tuple> tuples,Object... values) { return tuples; }
+	}
+	@bio.gcat.operation.Stateless public static class Stateless extends Stateful {}
+	@bio.gcat.operation.Stateless public static class Logging implements Transformation {
+		@Override public Collection<Tuple> transform(Collection<Tuple> tuples,Object... values) {
+			getLogger().log("Tuples %s",Tuple.joinTuples(tuples)); return tuples; }
+	}
+	
+	@Test public void testBudget() throws Exception {
+		Action action = new Action(Endless.class);
+		action.putAttribute(Action.TaskAttribute.TIMEOUT, 50l);
+		Action.Task task = action.new Task(splitTuples("AUG"));
+		assertEquals("Tuples of timed out task expected", splitTuples("AUG"), task.evaluate());
+		assertTrue("Timed out outcome expected", task.getOutcome().isTimedOut());
+		
+		Batch.Result result = new Batch(action, new Action(ShiftTuples.class,1)).buildIterative(splitTuples("AUG")).call();
+		assertTrue("Timed out batch expected", result.getOutcome().isTimedOut());
+		assertEquals("Batch stopped at the timed out action expected", splitTuples("AUG"), result.getTuples());
+		
+		StringWriter writer = new StringWriter();
+		new Script(Arrays.asList(action)).writeTo(writer);
+		assertEquals("Timeout stored in the script expected", 50l, new Script(new StringReader(writer.toString())).getActions().get(0).getAttribute(Action.TaskAttribute.TIMEOUT));
+		
+		try(Batch.ExecutionContext context = new Batch.ExecutionContext(1)) {
+			Future<Batch.Result> future = new Batch(new Action(Endless.class)).execute(splitTuples("AUG"), context);
+			Thread.sleep(50); future.cancel(true);
+			assertTrue("Cancelled batch expected", future.isCancelled());
+			assertEquals("Cancelled operation to stop expected", "done", context.submit(null, ()->"done").get(1, TimeUnit.SECONDS));
+		}
+	}
+	public static class Endless implements Transformation {
+		@Override public Collection<Tuple> transform(Collection<Tuple> tuples, Object... values) {
+			while(true) Budget.check();
+		}
+	}
+}
@@ -0,0 +1,120 @@
+package bio.gcat.batch;
+
+import static bio.gcat.Utilities.CHARSET;
+import static bio.gcat.nucleic.Tuple.splitTuples;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.PrintStream;
+import java.io.PrintWriter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.Test;
+
+import bio.gcat.nucleic.Tuple;
+import bio.gcat.operation.test.Circular;
+import bio.gcat.operation.test.CommaFree;
+import bio.gcat.operation.test.DuplicateFree;
+import bio.gcat.operation.transformation.ShiftTuples;
+import bio.gcat.operation.transformation.ShuffleTuples;
+
+public class BatchTest {
+	@Test public void testExecute() throws Exception {
+		Collection<Tuple> tuples = splitTuples("AUG CCU UAA");
+		Batch batch = new Batch(new Action(ShiftTuples.class,1));
+		Batch.ExecutionContext.shared(); // start the shared pool
+		int threads = Thread.activeCount();
+		
+		List<Future<Batch.Result>> results = new ArrayList<>();
+		for(int execution=0;execution<200;execution++)
+			results.add(batch.execute(tuples));
+		for(Future<Batch.Result> result:results)
+			assertEquals("Shifted tuples expected", new ShiftTuples().transform(tuples,1), result.get().getTuples());
+		assertTrue("Constant number of threads expected", Thread.activeCount()<=threads+Runtime.getRuntime().availableProcessors());
+	}
+	
+	@Test public void testContext() throws Exception {
+		Batch batch = new Batch(new Action(ShiftTuples.class,1)); batch.setName("shift");
+		try(Batch.ExecutionContext context = new Batch.ExecutionContext(2)) {
+			for(int execution=0;execution<10;execution++)
+				batch.execute(splitTuples("AUG"),context).get();
+			assertEquals("Completed batches expected", 10, context.getCompleted());
+			assertEquals("No pending batches expected", 0, context.getPending());
+			assertTrue("Thread named after the batch expected", context.submit("shift",()->Thread.currentThread().getName()).get().matches("gcat-batch-\\d+ \\(shift\\)"));
+			context.close(); assertTrue("Shut down executor expected", context.isShutdown());
+		}
+		
+		ExecutorService executor = Executors.newSingleThreadExecutor();
+		try {
+			Batch.ExecutionContext context = new Batch.ExecutionContext(executor);
+			context.close(); assertTrue("Running caller supplied executor expected", !context.isShutdown());
+			assertEquals("Result expected", 1, batch.execute(splitTuples("AUG"),context).get().getTuples().size());
+		} finally { executor.shutdown(); }
+	}
+	
+	@Test public void testSeed() throws Exception {
+		Collection<Tuple> tuples = splitTuples("AUG CCU UAA GCA UUC AGG CAU GGA CUA ACC");
+		Batch batch = new Batch(new Action(ShuffleTuples.class)); batch.setSeed(42l);
+		Set<Collection<Tuple>> shuffled = new HashSet<>();
+		for(int index=0;index<5;index++) {
+			Collection<Tuple> result = batch.buildIterative(new Batch.Result(tuples),index).call().getTuples();
+			assertEquals("Same tuples for the same index expected", result, batch.buildIterative(new Batch.Result(tuples),index).call().getTuples());
+			shuffled.add(result);
+		}
+		assertTrue("Different tuples for different indices expected", shuffled.size()>1);
+	}
+	
+	@Test public void testMain() throws Exception {
+		// consecutive tests, which are reordered by their cost and may stop the batch
+		Script script = new Script(Arrays.asList(new Action(ShuffleTuples.class), new Action(ShiftTuples.class,1), new Action(Circular.class),
+			new Action(CommaFree.class), new Action(DuplicateFree.class)));
+		script.setSeed(42l);
+		File scriptFile = File.createTempFile("batch", ".gcats"), sequenceFile = File.createTempFile("batch", ".txt");
+		try {
+			script.writeTo(scriptFile);
+			try(PrintWriter writer = new PrintWriter(sequenceFile, CHARSET)) {
+				Random random = new Random(1);
+				for(int line=0;line<500;line++) {
+					for(int tuple=random.nextInt(20);tuple>=0;tuple--)
+						writer.print("ACGU".charAt(random.nextInt(4)));
+					writer.println();
+				}
+			}
+			
+			String sequential = main("-vv",scriptFile.getPath(),sequenceFile.getPath());
+			assertTrue("Output expected", sequential.split(System.lineSeparator()).length>500);
+			assertTrue("Both tests performed expected", sequential.contains("Test \"comma-free\"")&&sequential.contains("Test \"duplicate free\""));
+			assertEquals("Same output expected", sequential, main("-vv",scriptFile.getPath(),sequenceFile.getPath()));
+			assertEquals("Same output in parallel expected", sequential, main("-vv","-t","4",scriptFile.getPath(),sequenceFile.getPath()));
+			String reordered = main(scriptFile.getPath(),sequenceFile.getPath()); // tests without a handler are reordered by their cost
+			assertEquals("Same reordered output in parallel expected", reordered, main("-t","4",scriptFile.getPath(),sequenceFile.getPath()));
+		} finally {
+			scriptFile.delete();
+			sequenceFile.delete();
+		}
+	}
+	private static String main(String... args) throws Exception {
+		PrintStream out = System.out, err = System.err;
+		ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+		try {
+			System.setOut(new PrintStream(buffer,true,CHARSET));
+			System.setErr(new PrintStream(new ByteArrayOutputStream()));
+			Batch.main(args);
+		} finally {
+			System.setOut(out);
+			System.setErr(err);
+		}
+		return buffer.toString(CHARSET);
+	}
+}
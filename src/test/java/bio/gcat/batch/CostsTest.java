@@ -0,0 +1,52 @@
+package bio.gcat.batch;
+
+import static bio.gcat.batch.Action.TaskAttribute.TEST_CRITERIA;
+import static bio.gcat.batch.Action.TaskAttribute.TEST_CRITERIA_NEVER_BREAK;
+import static bio.gcat.batch.Action.TaskAttribute.TEST_HANDLER;
+import static bio.gcat.nucleic.Tuple.splitTuples;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.Test;
+
+import bio.gcat.operation.test.CommaFree;
+import bio.gcat.operation.test.DuplicateFree;
+import bio.gcat.operation.test.SelfComplementary;
+
+public class CostsTest {
+	@Test public void testOrder() {
+		Action commaFree = new Action(CommaFree.class), duplicateFree = new Action(DuplicateFree.class), selfComplementary = new Action(SelfComplementary.class);
+		List<Action> tests = new ArrayList<>(Arrays.asList(commaFree, selfComplementary, duplicateFree));
+		Costs.order(tests, 64);
+		assertEquals("Tests ordered by declared cost expected", Arrays.asList(duplicateFree, selfComplementary, commaFree), tests);
+		
+		duplicateFree.putAttribute(TEST_CRITERIA, TEST_CRITERIA_NEVER_BREAK);
+		Costs.order(tests, 64);
+		assertSame("Test never stopping the batch last expected", duplicateFree, tests.get(2));
+		
+		assertTrue("Commuting test expected", Costs.isCommuting(commaFree));
+		commaFree.putAttribute(TEST_HANDLER, new bio.gcat.operation.test.Test.Handler() {});
+		assertTrue("Test with handler not to be reordered expected", !Costs.isCommuting(commaFree));
+	}
+	
+	@Test public void testShortCircuit() throws Exception {
+		String codons = "AAA AAC AAG AAU ACA ACC ACG ACU AGA AGC AGG AGU AUA AUC AUG AUU CAA CAC CAG CAU CCA CCC CCG CCU";
+		Batch batch = new Batch(new Action(CommaFree.class), new Action(DuplicateFree.class));
+		for(int execution=0;execution<20;execution++) { // the same order in every execution
+			Batch.Result result = batch.buildIterative(splitTuples(codons+" AUG")).call();
+			assertTrue("Failed outcome expected", result.getOutcome().isFailed());
+			assertEquals("Only the cheap test performed expected", Arrays.asList("Performing \"duplicate free\". No parameters."),
+				result.getLog().stream().map(Batch.Result.Message::getMessage).collect(Collectors.toList()));
+		}
+		
+		Batch.Result result = batch.buildIterative(splitTuples(codons)).call();
+		assertTrue("Both tests performed expected", result.getLog().stream().map(Batch.Result.Message::getMessage).collect(Collectors.toList())
+			.containsAll(Arrays.asList("Performing \"duplicate free\". No parameters.", "Performing \"comma-free\". No parameters.")));
+	}
+}
@@ -0,0 +1,87 @@
+package bio.gcat.batch;
+
+import static bio.gcat.nucleic.Tuple.splitTuples;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.UnaryOperator;
+
+import org.junit.Test;
+
+import bio.gcat.Budget;
+import bio.gcat.nucleic.Tuple;
+import bio.gcat.operation.test.DuplicateFree;
+import bio.gcat.operation.transformation.CommonSubstitution;
+import bio.gcat.operation.transformation.ReverseSequence;
+import bio.gcat.operation.transformation.ReverseTuples;
+import bio.gcat.operation.transformation.ShiftTuples;
+import bio.gcat.operation.transformation.Transformation;
+
+public class FusionTest {
+	@Test public void testCompile() throws Exception {
+		List<Object> plan = Fusion.compile(Arrays.asList(new Action(ReverseSequence.class), new Action(ReverseTuples.class),
+			new Action(DuplicateFree.class), new Action(ShiftTuples.class,1), new Action(CommonSubstitution.class,"c"), new Action(ReverseTuples.class)));
+		assertEquals("Fused, single and fused actions expected", 3, plan.size());
+		assertTrue("Fusion expected", plan.get(0) instanceof Fusion);
+		assertEquals("Fused actions expected", 2, ((Fusion)plan.get(0)).getActions().size());
+		assertTrue("Single action expected", plan.get(1) instanceof Action&&plan.get(2) instanceof Fusion);
+		assertEquals("Fused actions expected", 3, ((Fusion)plan.get(2)).getActions().size());
+	}
+	
+	@Test public void testPlan() throws Exception {
+		Action shift = new Action(ShiftTuples.class,1);
+		Batch batch = new Batch(new Action(ReverseSequence.class), new Action(ReverseTuples.class), shift);
+		List<Object> plan = batch.plan();
+		assertSame("Plan compiled once expected", plan, batch.plan());
+		batch.addAction(new Action(ReverseTuples.class));
+		assertNotSame("Plan compiled again for added action expected", plan, plan = batch.plan());
+		shift.setValues(new Object[]{2});
+		assertNotSame("Plan compiled again for changed values expected", plan, plan = batch.plan());
+		assertSame("Plan compiled once expected", plan, batch.plan());
+	}
+	
+	@Test public void testPerform() throws Exception {
+		Collection<Tuple> tuples = splitTuples("AUG CCU UAA GGC ACU");
+		assertEquals("Each tuple rotated expected", splitTuples("UGA CUC AAU"), new ShiftTuples().transform(splitTuples("AUG CCU UAA"),4));
+		Action[][] chains = {
+			{ new Action(ReverseSequence.class), new Action(ReverseSequence.class) },
+			{ new Action(ReverseTuples.class), new Action(CommonSubstitution.class,"c"), new Action(CommonSubstitution.class,"c"), new Action(ReverseTuples.class) },
+			{ new Action(CommonSubstitution.class,"c"), new Action(ReverseSequence.class), new Action(CommonSubstitution.class,"\u03c0ACUG"), new Action(ReverseTuples.class) },
+			{ new Action(CommonSubstitution.class,"\u03c0ACUG"), new Action(CommonSubstitution.class,"\u03c0ACUG"), new Action(ReverseSequence.class), new Action(CommonSubstitution.class,"id") },
+			{ new Action(ShiftTuples.class,1), new Action(ReverseTuples.class), new Action(ShiftTuples.class,5), new Action(ShiftTuples.class,3) }
+		};
+		for(Action[] chain:chains) {
+			Collection<Tuple> expected = tuples;
+			for(Action action:chain) // without any fusion, one action after another
+				expected = action.new Task(expected).call();
+			Batch.Result result = new Batch(chain).buildIterative(tuples).call();
+			assertEquals("Same tuples as without fusion expected", expected, result.getTuples());
+			assertEquals("One log entry per action expected", chain.length, result.getLog().size());
+		}
+	}
+	
+	@Test public void testVariableAcids() throws Exception {
+		Batch.Result result = new Batch(new Action(CommonSubstitution.class,"c"), new Action(ReverseTuples.class)).buildIterative(splitTuples("AUG ACT")).call();
+		assertEquals("Only reversed tuples expected", splitTuples("GUA TCA"), result.getTuples());
+		assertTrue("Logged failed substitution expected", result.getLog().stream().anyMatch(message->message.getMessage().contains("variable acids")));
+	}
+	
+	@Test public void testBudget() throws Exception {
+		Action action = new Action(EndlessMapping.class);
+		action.putAttribute(Action.TaskAttribute.TIMEOUT, 50l);
+		Batch.Result result = new Batch(new Action(ReverseTuples.class), action, new Action(ShiftTuples.class,1)).buildIterative(splitTuples("AUG")).call();
+		assertTrue("Timed out batch expected", result.getOutcome().isTimedOut());
+		assertEquals("Batch stopped at the timed out fusion expected", splitTuples("AUG"), result.getTuples());
+		assertEquals("Timed out action performing expected", action, result.getAction());
+	}
+	public static class EndlessMapping implements Transformation.Elementwise {
+		@Override public UnaryOperator<Tuple> mapping(Collection<Tuple> tuples, Object... values) {
+			while(true) Budget.check();
+		}
+	}
+}
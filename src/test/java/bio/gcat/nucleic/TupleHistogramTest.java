@@ -0,0 +1,25 @@
+package bio.gcat.nucleic;
+
+import static bio.gcat.nucleic.Tuple.splitTuples;
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+
+public class TupleHistogramTest {
+	@Test public void test() {
+		TupleHistogram histogram = new TupleHistogram(splitTuples("AUG CCU CCU TAA UGA GCGC NNN ACGUACGU"));
+		assertEquals("Count of 2 expected", 2, histogram.count(new Tuple("CCU")));
+		assertEquals("Count of uncoded tuple expected", 1, histogram.count(new Tuple("NNN")));
+		assertEquals("Count of long tuple expected", 1, histogram.count(new Tuple("ACGUACGU")));
+		assertEquals("Total of 8 expected", 8, histogram.total());
+		
+		long[] compounds = histogram.compounds();
+		assertEquals("Two stops expected", 2, compounds[Compound.STOP.ordinal()]);
+		assertEquals("One tessera expected", 1, compounds[Compound.TESSERA.ordinal()]);
+		assertEquals("Two unknown expected", 2, compounds[Compound.UNKNOWN.ordinal()]);
+		assertEquals("One start expected", 1, histogram.starts());
+		
+		for(int code=0;code<100;code++)
+			assertEquals("Code round trip expected", code, TupleHistogram.code(TupleHistogram.tuple(code)));
+	}
+}
@@ -0,0 +1,46 @@
+package bio.gcat.nucleic.helper;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+
+import org.junit.Test;
+
+import bio.gcat.geneticcode.dich.Classifier;
+import bio.gcat.geneticcode.dich.Codon;
+import bio.gcat.geneticcode.dich.IUPAC;
+import bio.gcat.geneticcode.dich.IdAminoAcidProperty;
+import bio.gcat.geneticcode.dich.ParityBDA$;
+import bio.gcat.geneticcode.dich.RumerBDA$;
+import bio.gcat.geneticcode.dich.ct.ClassTable;
+import bio.gcat.nucleic.Tuple;
+import scala.collection.JavaConversions;
+
+public class CompiledClassTableTest {
+	@Test public void test() {
+		ClassTable classTable = new ClassTable(JavaConversions.asScalaBuffer(Arrays.<Classifier<Object>>asList(RumerBDA$.MODULE$, ParityBDA$.MODULE$)).toList(),
+			IUPAC.STANDARD(), new IdAminoAcidProperty(1));
+		CompiledClassTable compiled = CompiledClassTable.of(classTable);
+		assertSame("Cached compiled table expected", compiled, CompiledClassTable.of(classTable));
+		assertEquals("Four classes expected", 4, compiled.getClasses());
+
+		long all = 0;
+		for(int clazz=0;clazz<compiled.getClasses();clazz++) {
+			assertEquals("Distinct classes expected", 0, all&compiled.getCodons(clazz));
+			all |= compiled.getCodons(clazz);
+		}
+		assertEquals("All 64 codons expected", -1l, all);
+
+		for(String codon:new String[]{"AUG","GCA","UUU","CGT"}) {
+			int clazz = compiled.classify(new Tuple(codon));
+			assertEquals("Same class as the class table expected", classTable.codon2class().get(new Codon(codon.replace('T','U'))), compiled.getClassList(clazz));
+			assertTrue("Codon in class expected", compiled.contains(clazz, new Tuple(codon)));
+		}
+		assertEquals("No class for non-codons expected", -1, compiled.classify(new Tuple("AU")));
+		assertFalse("Non-codon in no class expected", compiled.contains(0, new Tuple("AUGA")));
+		assertEquals("White for non-codons expected", "#ffffff", compiled.getColor(new Tuple("AU")));
+	}
+}
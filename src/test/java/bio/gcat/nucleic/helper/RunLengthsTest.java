@@ -0,0 +1,25 @@
+package bio.gcat.nucleic.helper;
+
+import static bio.gcat.nucleic.Tuple.splitTuples;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+
+import bio.gcat.nucleic.Base;
+
+public class RunLengthsTest {
+	@Test public void test() {
+		// class 0 for tuples with adenine, class 1 otherwise: runs 0:2, 1:1, 0:1, 1:3
+		RunLengths runLengths = RunLengths.of(splitTuples("AAA ACG CCC AUG GGG UUU CGU"), 2, tuple->tuple.hasBase(Base.ADENINE)?0:1);
+		assertEquals("Two runs expected", 2, runLengths.getRuns(0));
+		assertEquals("Minimum of 1 expected", 1, runLengths.getMinimum(0));
+		assertEquals("Maximum of 2 expected", 2, runLengths.getMaximum(0));
+		assertEquals("Average of 2 expected", 2d, runLengths.getAverage(1), 0d);
+		assertArrayEquals("Histogram expected", new long[]{0, 1, 0, 1}, runLengths.getHistogram(1));
+		
+		runLengths = RunLengths.of(splitTuples(""), 2, tuple->0);
+		assertEquals("No runs expected", 0, runLengths.getRuns(0));
+		assertEquals("Minimum like IntSummaryStatistics expected", Integer.MAX_VALUE, runLengths.getMinimum(0));
+	}
+}
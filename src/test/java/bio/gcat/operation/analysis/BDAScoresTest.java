@@ -0,0 +1,40 @@
+package bio.gcat.operation.analysis;
+
+import static bio.gcat.nucleic.Tuple.splitTuples;
+import static org.hamcrest.Matchers.containsString;
+import static org.junit.Assert.*;
+
+import java.util.List;
+
+import org.junit.Test;
+
+import bio.gcat.nucleic.Tuple;
+
+public class BDAScoresTest {
+	private static final BDAScores BDA_SCORES = new BDAScores();
+	private static final List<Tuple> SEQUENCE = splitTuples("ATT AAC GCA GCC GCT TCT TAC CAG TTG ACA TCA AAC TAA AGA CGG TAT GAG GAG ACC TGG ACC CAA ATG CGA GCC CGC GGG ATC CAC GAT CTT ACG CGG GTA ACC CGT AGA ACC TCA AGG");
+
+	@Test public void test() {
+		BDAScores.Scores scores = (BDAScores.Scores)BDA_SCORES.analyse(SEQUENCE, 5, false);
+		assertEquals(216, scores.getRankedScores().size());
+		assertEquals(SEQUENCE.size(), scores.getLength());
+		for(BDAScores.Scores.Score score:scores.getRankedScores()) {
+			assertEquals(scores.getLength(), score.getUsage(0)+score.getUsage(1));
+			assertEquals(score.getRunLengths().getAverage(0)*score.getRunLengths().getRuns(0), score.getUsage(0), 1e-9);
+		}
+		List<BDAScores.Scores.Score> ranked = scores.getRankedScores();
+		for(int rank=1;rank<ranked.size();rank++)
+			assertTrue("Ranked by deviation expected", ranked.get(rank-1).getDeviation()>=ranked.get(rank).getDeviation());
+		assertThat(scores.toString(), containsString("BDA("+ranked.get(0).getBDAs()[0]+")"));
+
+		// Rumer (or its complement) is among the BDAs, with the usage of the BDA usage analysis
+		BDAScores.Scores rumer = (BDAScores.Scores)BDA_SCORES.analyse(splitTuples("ACG AGA UUA CGU ACA"), 216, false);
+		assertThat(rumer.toString(), containsString("Rumer"));
+		assertTrue(rumer.getRankedScores().stream().anyMatch(score->Math.min(score.getUsage(0),score.getUsage(1))==2&&Math.max(score.getUsage(0),score.getUsage(1))==3));
+
+		BDAScores.Scores pairs = (BDAScores.Scores)BDA_SCORES.analyse(SEQUENCE, 3, true);
+		assertEquals(216*215/2, pairs.getRankedScores().size());
+		assertEquals(4, pairs.getRankedScores().get(0).getClasses());
+		assertEquals(2, pairs.getRankedScores().get(0).getBDAs().length);
+	}
+}
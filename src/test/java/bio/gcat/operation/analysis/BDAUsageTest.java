@@ -0,0 +1,25 @@
+package bio.gcat.operation.analysis;
+
+import static bio.gcat.nucleic.Tuple.splitTuples;
+import static org.hamcrest.Matchers.containsString;
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+public class BDAUsageTest {
+	private static final BDAUsage BDA_USAGE = new BDAUsage();
+	
+	@Test public void test() {
+		// Rumer, once inline with positions from 0 and once in the BDA file format
+		for(String bdas:new String[]{"1 0 CA CG","(2,1) (C,A) {C,G}"}) {
+			String result = BDA_USAGE.analyse(splitTuples("ACG AGA UUA CGU ACA"), bdas).toString();
+			assertThat(result, containsString("0: 3"));
+			assertThat(result, containsString("1: 2"));
+		}
+		assertThat(BDA_USAGE.analyse(splitTuples("ACG AGA UUA CGU ACA"), "1 0 CA CG; 2 1 GA CA").toString(), containsString("00: "));
+		assertThat(BDA_USAGE.analyse(splitTuples("ACG"), "1 0 XY").toString(), containsString("Invalid"));
+		assertThat(BDA_USAGE.analyse(splitTuples("ACG"), "1 0 XA CG").toString(), containsString("Invalid"));
+		assertThat(BDA_USAGE.analyse(splitTuples("ACG"), "(2,1) (C,A) {X,G}").toString(), containsString("Invalid"));
+		assertThat(BDA_USAGE.analyse(splitTuples("ACG"), "").toString(), containsString("No Binary Dichotomic Algorithm"));
+	}
+}
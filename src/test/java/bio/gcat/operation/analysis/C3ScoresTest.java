@@ -0,0 +1,37 @@
+package bio.gcat.operation.analysis;
+
+import static bio.gcat.nucleic.Tuple.splitTuples;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+
+import java.util.List;
+import java.util.Locale;
+
+import org.junit.Test;
+
+import bio.gcat.nucleic.Tuple;
+import bio.gcat.nucleic.helper.C3Code;
+
+public class C3ScoresTest {
+	private static final C3Scores C3_SCORES = new C3Scores();
+	private static final List<Tuple> SEQUENCE = splitTuples("ATT AAC GCA GCC GCT TCT TAC CAG TTG ACA TCA AAC TAA AGA CGG TAT GAG GAG ACC TGG ACC CAA ATG CGA GCC CGC GGG ATC CAC GAT CTT ACG CGG GTA ACC CGT AGA ACC TCA AGG");
+	
+	@Test public void test() {
+		C3Scores.Scores scores = (C3Scores.Scores)C3_SCORES.analyse(SEQUENCE, 5);
+		for(int code=1;code<=216;code++) {
+			List<Tuple> tuples = C3Code.CODES.get(code-1);
+			assertEquals("Usage of single code expected", SEQUENCE.stream().filter(tuples::contains).count(), scores.getUsage(code));
+		}
+		
+		String runs = String.format(Locale.US, "%d %.2f %d %d %.2f %d",
+			scores.getMinimumRunLength(1,true), scores.getAverageRunLength(1,true), scores.getMaximumRunLength(1,true),
+			scores.getMinimumRunLength(1,false), scores.getAverageRunLength(1,false), scores.getMaximumRunLength(1,false));
+		assertEquals("Run lengths of C3 run length analysis expected", "1 1.78 3 1 3.00 9", runs);
+		
+		int[] ranked = scores.getRankedCodes();
+		for(int rank=1;rank<ranked.length;rank++)
+			assertEquals("Ranked by usage expected", true, scores.getUsage(ranked[rank-1])>=scores.getUsage(ranked[rank]));
+		assertThat(scores.toString(), containsString("C3("+ranked[0]+")"));
+	}
+}
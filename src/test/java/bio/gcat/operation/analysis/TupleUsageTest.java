@@ -4,6 +4,10 @@ import static bio.gcat.nucleic.Tuple.splitTuples;
 import static org.hamcrest.Matchers.*;
 import static org.junit.Assert.*;
 
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
 import org.apache.tools.ant.filters.StringInputStream;
 import org.junit.Test;
 
@@ -15,4 +19,13 @@ public class TupleUsageTest {
 		assertThat(result, both(containsString("2x AAA")).and(containsString("2x UUU")));
 		assertTrue(result.replace("2x AAA","").replace("2x UUU","").replaceAll("\\W","").isEmpty());
 	}
+	
+	@Test public void testFile() throws Exception {
+		File file = File.createTempFile("usage", ".txt"); file.deleteOnExit();
+		Files.write(file.toPath(), "aaa,TTT; GGG\nccc 1AA_A uuu".getBytes(StandardCharsets.UTF_8));
+		for(int run=0;run<2;run++) { // second run is served from the cache
+			String result = TUPLE_USAGE.analyse(splitTuples("AAA UUU"), file).toString();
+			assertThat(result, both(containsString("2x AAA")).and(containsString("2x UUU")));
+		}
+	}
 }
@@ -21,9 +21,11 @@ import static org.junit.Assert.assertTrue;
 
 import java.util.Collection;
 import java.util.Collections;
+import java.util.SplittableRandom;
 
 import org.junit.Test;
 
+import bio.gcat.RandomSource;
 import bio.gcat.nucleic.Tuple;
 
 public class RandomTuplesTest {
@@ -40,4 +42,10 @@ public class RandomTuplesTest {
 		assertEquals("Collection with 8 tuples expected", 8, tuples.size());
 		for(Tuple tuple:tuples)	assertEquals("Collection with tuples of size 1 expected", 1, tuple.length());
 	}
+	
+	@Test public void testSeed() throws Exception {
+		Collection<Tuple> tuples = RandomSource.call(new SplittableRandom(42), ()->RANDOM_TUPLES.transform(Collections.emptyList(), 100));
+		assertEquals("Same tuples for the same seed expected", tuples, RandomSource.call(new SplittableRandom(42), ()->RANDOM_TUPLES.transform(Collections.emptyList(), 100)));
+		assertEquals("Number value expected to be accepted as long", 5, RANDOM_TUPLES.transform(Collections.emptyList(), 5l).size());
+	}
 }
\ No newline at end of file
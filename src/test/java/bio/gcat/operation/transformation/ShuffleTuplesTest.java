@@ -17,12 +17,16 @@ package bio.gcat.operation.transformation;
 
 import static bio.gcat.nucleic.Tuple.splitTuples;
 import static bio.gcat.operation.transformation.helper.TuplesAssert.assertTuplesContainsInAnyOrder;
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
 
 import java.util.Collections;
+import java.util.SplittableRandom;
 
 import org.junit.Test;
 
+import bio.gcat.RandomSource;
+
 public class ShuffleTuplesTest {
 	private static final ShuffleTuples SHUFFLE_TUPLES = new ShuffleTuples();
 	
@@ -31,4 +35,10 @@ public class ShuffleTuplesTest {
 		assertTuplesContainsInAnyOrder(splitTuples("G, U, A, C"), SHUFFLE_TUPLES.transform(splitTuples("G, U, A, C")));
 		assertTuplesContainsInAnyOrder(splitTuples("A, AA, AAA, AAAA"), SHUFFLE_TUPLES.transform(splitTuples("A, AA, AAA, AAAA")));
 	}
+	
+	@Test public void testSeed() throws Exception {
+		assertEquals("Same order for the same seed expected",
+			RandomSource.call(new SplittableRandom(42), ()->SHUFFLE_TUPLES.transform(splitTuples("AAA, AAC, AAG, AAU, ACA, ACC, ACG, ACU"))),
+			RandomSource.call(new SplittableRandom(42), ()->SHUFFLE_TUPLES.transform(splitTuples("AAA, AAC, AAG, AAU, ACA, ACC, ACG, ACU"))));
+	}
 }
\ No newline at end of file
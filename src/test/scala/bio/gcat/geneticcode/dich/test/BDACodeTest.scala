@@ -15,8 +15,8 @@
  */
 package bio.gcat.geneticcode.dich.test
 
-import bio.gcat.geneticcode.dich.ct.{MinMax, CodingClassTable}
-import bio.gcat.geneticcode.dich.{Codon, RumerBDA}
+import bio.gcat.geneticcode.dich.ct.{MinMax, CodingClassTable, FastClassTable}
+import bio.gcat.geneticcode.dich.{BinaryDichotomicAlgorithm, Codon, RumerBDA}
 import org.junit.Test
 import junit.framework.Assert._
 import bio.gcat.geneticcode.dich.CodonImplicitDefs._
@@ -52,4 +52,34 @@ class BDACodeTest {
     val ct = new CodingClassTable(RumerBDA :: Nil)
     assertEquals(0, ct.hammingLDist(List(1, 1, 1), List(1, 1)))
   }
+
+  @Test
+  def testSameAsFastClassTable() {
+    val random = new java.util.Random(42)
+    val all = BinaryDichotomicAlgorithm.bdas216.classifiers
+    for (n <- 1 to 20) {
+      val bdas = List.fill(1 + random.nextInt(6))(all(random.nextInt(all.size)))
+      val ct = new CodingClassTable(bdas)
+      val fct = new FastClassTable(bdas)
+      assertEquals(ct.f2.subSpaceExceptions(ct.f2Vectors) == None, ct.isVectorSubSpace)
+      assertEquals(ct.isVectorSubSpace, fct.isVectorSubSpace)
+      assertEquals(ct.isMovedVectorSubSpace, fct.isMovedVectorSubSpace)
+      assertEquals(ct.hammingDistMinMax, fct.hammingDistMinMax)
+      val h = ct.hammingDist.map(_._2)
+      assertEquals(MinMax(h.min, h.max), ct.hammingDistMinMax)
+      assertEquals(ct.hammingDistanceGrouped.mapValues(v => MinMax(v.map(_._2).min, v.map(_._2).max)),
+        ct.hammingDistanceGroupedMinMax)
+    }
+  }
+
+  @Test
+  def testManyClassifiers() {
+    // Too many classifiers for bit vectors:
+    val ct = new CodingClassTable(BinaryDichotomicAlgorithm.bdas216.classifiers.take(70).toList)
+    val h = ct.hammingDist.map(_._2)
+    assertEquals(MinMax(h.min, h.max), ct.hammingDistMinMax)
+    assertEquals(ct.hammingLDist(ct.codon2class.get(ct.codons.head), ct.codon2class.get(ct.codons.last)),
+      ct.hammingCDist(ct.codons.head, ct.codons.last))
+    assertEquals(ct.f2.subSpaceExceptions(ct.f2Vectors) == None, ct.isVectorSubSpace)
+  }
 }
@@ -0,0 +1,107 @@
+/*
+ * Copyright [2017] [Mannheim University of Applied Sciences]
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *  
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License. 
+ */
+package bio.gcat.geneticcode.dich.test
+
+import java.io.File
+import java.util.concurrent.atomic.AtomicInteger
+
+import bio.gcat.geneticcode.dich.scan.{ClassPower2Scan, ConcClassPower2Scan, ConcNumberOfClassesScan, ScanNumberOfClassesScan}
+import bio.gcat.geneticcode.dich.{Classifier, ParityBDA, RumerBDA}
+import bio.gcat.util.Loggable
+import junit.framework.Assert._
+import org.junit.Test
+
+import scala.collection.JavaConversions._
+
+class ConcScanTest {
+
+  @Test
+  def testSameAsSequential() {
+    Loggable.fileLog = false // avoid output
+    Loggable.consoleLog = false
+    val s = new ClassPower2Scan(List(RumerBDA, ParityBDA), 3)
+    s.doPersist = false
+    s.run()
+    for (workers <- List(1, 4)) {
+      val c = new ConcClassPower2Scan(List(RumerBDA, ParityBDA), 3, workers)
+      c.doPersist = false
+      c.run()
+      assertEquals(s.configs, c.configs)
+      // Same solutions in the same order:
+      assertEquals(s.solutions.map(_.bdas).toList, c.solutions.map(_.bdas).toList)
+      assertEquals(c.configs, c.workerStats.map(_.configs).sum.toDouble)
+    }
+  }
+
+  @Test
+  def testNumberOfClasses() {
+    Loggable.fileLog = false // avoid output
+    Loggable.consoleLog = false
+    val s = new ScanNumberOfClassesScan(List(RumerBDA, ParityBDA), 4)
+    s.doPersist = false
+    s.run()
+    val c = new ConcNumberOfClassesScan(List(RumerBDA, ParityBDA), 4, 4)
+    c.doPersist = false
+    c.run()
+    // One solution for every number of classes found, the same numbers as the sequential scan:
+    assertEquals(s.solutions.map(_.classes.size).toSet, c.solutions.map(_.classes.size).toSet)
+    assertEquals(c.solutions.size, c.noSolutions)
+    assertEquals(s.noc, c.noc)
+    assertEquals(c.solutions.map(_.bdas.size).sum, c.qCounter.values.sum)
+  }
+
+  @Test
+  def testResume() {
+    Loggable.fileLog = false // avoid output
+    Loggable.consoleLog = false
+    val s = new ClassPower2Scan(List(RumerBDA, ParityBDA), 4)
+    s.doPersist = false
+    s.run()
+
+    val tested = new AtomicInteger()
+    val crashed = new ConcClassPower2Scan(List(RumerBDA, ParityBDA), 4, 4) {
+      override def createClassTable(bda: List[Classifier[Int]], w: Int) = {
+        if (tested.incrementAndGet() == 20000) throw new IllegalStateException("Crash")
+        super.createClassTable(bda, w)
+      }
+    }
+    val name = crashed.name
+    try {
+      crashed.doPersist = false
+      crashed.keepSolutions = false
+      crashed.window = 2
+      crashed.checkpointInterval = 1
+      try {
+        crashed.run()
+        fail("Scan should have crashed.")
+      } catch {
+        case e: IllegalStateException =>
+      }
+      assertTrue(new File(name + ".chk").exists)
+
+      val resumed = new ConcClassPower2Scan(List(RumerBDA, ParityBDA), 4, 4)
+      resumed.doPersist = false
+      resumed.resume(name)
+      resumed.run()
+      assertEquals(s.configs, resumed.configs)
+      assertEquals(s.solutions.map(_.bdas).toList, resumed.solutions.map(_.bdas).toList)
+      assertEquals(s.solutions.map(_.bdas).toList, resumed.streamedSolutions.toList)
+    } finally {
+      new File(name + ".sol").delete()
+      new File(name + ".chk").delete()
+    }
+  }
+}
@@ -0,0 +1,209 @@
+/*
+ * Copyright [2017] [Mannheim University of Applied Sciences]
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package bio.gcat.geneticcode.dich.test
+
+import java.io.IOException
+import java.net.ServerSocket
+import java.util.concurrent.CountDownLatch
+
+import bio.gcat.geneticcode.dich.conc.{DistScan, ScanUnit, ScanWorker}
+import bio.gcat.geneticcode.dich.ct.ClassTable
+import bio.gcat.geneticcode.dich.scan.{ClassPower2Scan, DistErrorScan, ErrorScan}
+import bio.gcat.geneticcode.dich._
+import bio.gcat.util.Loggable
+import junit.framework.Assert._
+import org.junit.Test
+
+object DistScanTest {
+  val classifiers = ClassifierSet(BinaryDichotomicAlgorithm.bdas216.classifiers.take(60), "60 BDAs.")
+  val secret = "secret"
+  @volatile var errorD = 1.0
+}
+
+class DistPower2Scan extends ClassPower2Scan(List(RumerBDA, ParityBDA), 4, DistScanTest.classifiers)
+  with DistScan[ClassTable]
+
+class DistErrorDScan extends ErrorScan(List(RumerBDA, ParityBDA), DistScanTest.errorD, 4, 21,
+  IUPAC.STANDARD, IdStandardAminoAcidProperty, DistScanTest.classifiers) with DistScan[ClassTable]
+
+class DistScanTest {
+
+  Loggable.fileLog = false // avoid output
+  Loggable.consoleLog = false
+
+  def freePort() = {
+    val s = new ServerSocket(0)
+    try s.getLocalPort finally s.close()
+  }
+
+  def startWorker(port: Int) = {
+    val t = new Thread(new Runnable {
+      def run() = new ScanWorker("localhost", port, DistScanTest.secret).run()
+    })
+    t.start()
+    t
+  }
+
+  def sequential() = {
+    val s = new ClassPower2Scan(List(RumerBDA, ParityBDA), 4, DistScanTest.classifiers)
+    s.doPersist = false
+    s.run()
+    s
+  }
+
+  @Test
+  def testSameAsSequential() {
+    val s = sequential()
+    val d = new DistPower2Scan
+    d.doPersist = false
+    d.port = freePort()
+    d.secret = DistScanTest.secret
+    val workers = List.fill(2)(startWorker(d.port))
+    d.run()
+    workers.foreach(_.join())
+    assertEquals(s.configs, d.configs)
+    assertTrue(d.solutions.size > 0)
+    // Same solutions in the same order:
+    assertEquals(s.solutions.map(_.bdas).toList, d.solutions.map(_.bdas).toList)
+    assertEquals(s.qCounter, d.qCounter)
+  }
+
+  @Test
+  def testRequeue() {
+    val s = sequential()
+    val d = new DistPower2Scan
+    d.doPersist = false
+    d.port = freePort()
+    d.secret = DistScanTest.secret
+    d.unitTimeout = 1000
+    val taken = new CountDownLatch(1)
+    val stalled = new Thread(new Runnable {
+      def run() { // Takes a unit and never answers.
+        try new ScanWorker("localhost", d.port, DistScanTest.secret) {
+          override def search(scan: DistScan[_ <: ClassTable], unit: ScanUnit) = {
+            taken.countDown()
+            Thread.sleep(Long.MaxValue)
+            null
+          }
+        }.run() catch {
+          case e: InterruptedException =>
+        }
+      }
+    })
+    stalled.start()
+    new Thread(new Runnable {
+      def run() { // A worker that starts after the first unit was taken.
+        taken.await()
+        new ScanWorker("localhost", d.port, DistScanTest.secret).run()
+      }
+    }).start()
+    d.run()
+    stalled.interrupt()
+    stalled.join()
+    assertTrue(d.requeuedUnits >= 1)
+    assertEquals(s.configs, d.configs)
+    assertEquals(s.solutions.map(_.bdas).toList, d.solutions.map(_.bdas).toList)
+  }
+
+  @Test
+  def testLocalWorkers() {
+    val s = sequential()
+    val d = new DistPower2Scan
+    d.doPersist = false
+    d.localWorkers = 2
+    d.run()
+    assertEquals(s.solutions.map(_.bdas).toList, d.solutions.map(_.bdas).toList)
+  }
+
+  @Test
+  def testWrongSecret() {
+    val s = sequential()
+    val d = new DistPower2Scan
+    d.doPersist = false
+    d.port = freePort()
+    d.secret = DistScanTest.secret
+    val rejected = new CountDownLatch(1)
+    new Thread(new Runnable {
+      def run() {
+        try new ScanWorker("localhost", d.port, "guess").run() catch {
+          case e: IOException => rejected.countDown()
+        }
+        startWorker(d.port) // The scan goes on with a worker that knows the secret.
+      }
+    }).start()
+    d.run()
+    assertEquals(0, rejected.getCount)
+    assertEquals(s.solutions.map(_.bdas).toList, d.solutions.map(_.bdas).toList)
+  }
+
+  @Test
+  def testNoWorkers() {
+    val d = new DistPower2Scan
+    d.doPersist = false
+    d.unitTimeout = 1000
+    try {
+      d.run()
+      fail("Scan should have failed without workers.")
+    } catch {
+      case e: IllegalStateException =>
+    }
+  }
+
+  @Test
+  def testArguments() {
+    val args = Array("RP", "0.3", "4", "21", "1", "AST")
+    val s = new ErrorScan(List(RumerBDA, ParityBDA), 0.3, 4, 21, IUPAC.STANDARD, new IdAminoAcidProperty(IUPAC.STANDARD))
+    s.doPersist = false
+    s.run()
+    val d = new DistErrorScan(args)
+    d.doPersist = false
+    d.port = freePort()
+    d.secret = DistScanTest.secret
+    val workers = List.fill(2)(startWorker(d.port))
+    d.run()
+    workers.foreach(_.join())
+    assertEquals(s.configs, d.configs)
+    assertEquals(s.solutions.map(_.bdas).toList, d.solutions.map(_.bdas).toList)
+  }
+
+  @Test
+  def testOtherParameters() {
+    DistScanTest.errorD = 1.0
+    val d = new DistErrorDScan
+    d.doPersist = false
+    d.port = freePort()
+    d.secret = DistScanTest.secret
+    d.unitTimeout = 1000
+    DistScanTest.errorD = 0.9 // The worker creates the scan with another maximum error.
+    val rejected = new CountDownLatch(1)
+    new Thread(new Runnable {
+      def run() {
+        try new ScanWorker("localhost", d.port, DistScanTest.secret).run() catch {
+          case e: IOException => rejected.countDown()
+        }
+      }
+    }).start()
+    try {
+      d.run()
+      fail("Scan should have failed without a matching worker.")
+    } catch {
+      case e: IllegalStateException =>
+    } finally {
+      DistScanTest.errorD = 1.0
+    }
+    assertEquals(0, rejected.getCount)
+  }
+}
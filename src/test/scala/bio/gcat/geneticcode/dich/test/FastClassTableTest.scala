@@ -0,0 +1,60 @@
+/*
+ * Copyright [2017] [Mannheim University of Applied Sciences]
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *  
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License. 
+ */
+package bio.gcat.geneticcode.dich.test
+
+import bio.gcat.geneticcode.dich._
+import bio.gcat.geneticcode.dich.ct.{ClassTable, FastClassTable}
+import junit.framework.Assert._
+import org.junit.Test
+
+import scala.collection.JavaConversions._
+
+class FastClassTableTest {
+
+  @Test
+  def testRumerParity() {
+    val t = new FastClassTable(RumerBDA :: ParityBDA :: Nil)
+    assertEquals(4, t.noClasses)
+    assertEquals(64, t.degeneracy.zipWithIndex.map(e => e._1 * e._2).sum)
+  }
+
+  @Test
+  def testPartition() {
+    val t = new FastClassTable(RumerBDA :: ParityBDA :: Nil)
+    assertEquals(t.partition, new FastClassTable(ParityBDA :: RumerBDA.complement :: Nil).partition)
+    assertFalse(t.partition == new FastClassTable(RumerBDA :: Nil).partition)
+  }
+
+  @Test
+  def testSameAsClassTable() {
+    val random = new java.util.Random(42)
+    val all = BinaryDichotomicAlgorithm.bdas216.classifiers
+    for (n <- 1 to 50) {
+      val bdas = List.fill(1 + random.nextInt(6))(all(random.nextInt(all.size)))
+      val ct = new ClassTable(bdas, IUPAC.STANDARD)
+      val fct = new FastClassTable(bdas)
+      assertEquals(ct.classes.size, fct.noClasses)
+      assertEquals(ct.errorA, fct.errorA)
+      assertEquals(ct.errorC, fct.errorC)
+      assertEquals(ct.relErrorC, fct.relErrorC)
+      val codons = Codon.codons.toArray
+      for (i <- 0 until 64) // the binary string of a class is the class list
+        assertEquals(ct.codon2class(codons(i)).mkString, fct.codonClass(i).toBinaryString.reverse.padTo(bdas.size, '0').reverse)
+      for (d <- 1 to 64)
+        assertEquals(ct.degeneracy.degeneracy(d), fct.degeneracy(d))
+    }
+  }
+}
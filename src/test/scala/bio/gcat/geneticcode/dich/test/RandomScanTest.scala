@@ -0,0 +1,52 @@
+/*
+ * Copyright [2017] [Mannheim University of Applied Sciences]
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package bio.gcat.geneticcode.dich.test
+
+import java.io.File
+
+import bio.gcat.geneticcode.dich.scan.RandomScan
+import bio.gcat.geneticcode.dich.{BinaryDichotomicAlgorithm, RumerBDA}
+import bio.gcat.util.Loggable
+import junit.framework.Assert._
+import org.junit.Test
+
+import scala.io.Source
+
+class RandomScanTest {
+
+  @Test
+  def testReproducible() {
+    Loggable.fileLog = false // avoid output
+    Loggable.consoleLog = false
+    def errors(threads: Int) = {
+      val file = new File("Error-test" + threads + ".dat")
+      try {
+        val s = new RandomScan(2500, List(RumerBDA), 3, 3, 16, Some("-test" + threads),
+          BinaryDichotomicAlgorithm.bdas216, Some(42L), threads)
+        assertEquals(2500L, s.accepted.get)
+        assertTrue(s.tries.get >= 2500L)
+        val source = Source.fromFile(file)
+        try source.getLines().map(_.toDouble).toList finally source.close()
+      } finally {
+        file.delete()
+      }
+    }
+    val e1 = errors(1)
+    assertEquals(2500, e1.size)
+    assertTrue(e1.forall(e => e >= 0 && e < 1))
+    assertEquals(e1, errors(3))
+  }
+}
@@ -15,11 +15,12 @@
  */
 package bio.gcat.geneticcode.dich.test
 
+import java.io.File
 import java.text.SimpleDateFormat
 
-import bio.gcat.geneticcode.dich.ct.ClassTable
+import bio.gcat.geneticcode.dich.ct.{ClassTable, FastClassTable}
 import bio.gcat.geneticcode.dich.scan.ClassPower2Scan
-import bio.gcat.geneticcode.dich.{ClassTableScan, Classifier, Scan}
+import bio.gcat.geneticcode.dich._
 import bio.gcat.util.Loggable
 import junit.framework.Assert._
 import org.junit.{Ignore, Test}
@@ -85,6 +86,91 @@ class ScanTest {
     assertEquals(23220, s.solutions.size)
   }
 
+  @Test
+  def testPruneDuplicates() {
+    Loggable.fileLog = false // avoid output
+    Loggable.consoleLog = false
+    def partitions(prune: Boolean, maxSeen: Int = 1000000) = {
+      // The 432 BDAs include the complement BDAs:
+      val s = new ClassPower2Scan(List(RumerBDA, ParityBDA), 3, BinaryDichotomicAlgorithm.bdas)
+      s.doPersist = false
+      s.pruneDuplicates = prune
+      s.maxSeen = maxSeen
+      s.run()
+      (s, s.solutions.map(t => new FastClassTable(t.bdas).partition).toSet)
+    }
+    val (s, all) = partitions(false)
+    val (p, pruned) = partitions(true)
+    assertEquals(0.0, s.pruned)
+    assertTrue(p.pruned > 0)
+    assertEquals(s.configs, p.configs + p.pruned)
+    assertEquals(all, pruned) // Every partition is still found...
+    assertEquals(all.size, p.solutions.size) // ...but only once.
+    val (b, bounded) = partitions(true, 10)
+    assertEquals(all, bounded) // Every partition is found with fewer partitions remembered...
+    assertTrue(b.pruned < p.pruned) // ...but fewer configurations are pruned.
+  }
+
+  @Test
+  def testResume() {
+    Loggable.fileLog = false // avoid output
+    Loggable.consoleLog = false
+    // Two fixed BDAs, so that their order in the streamed solutions matters:
+    val s = new ClassPower2Scan(List(RumerBDA, ParityBDA), 4)
+    s.doPersist = false
+    s.run()
+
+    val crashed = new ClassPower2Scan(List(RumerBDA, ParityBDA), 4) {
+      override def createClassTable(bda: List[Classifier[Int]], w: Int) = {
+        if (configs == 5000) throw new IllegalStateException("Crash")
+        super.createClassTable(bda, w)
+      }
+    }
+    val name = crashed.name
+    try {
+      crashed.doPersist = false
+      crashed.checkpointInterval = 1 // Streams the solutions.
+      try {
+        crashed.run()
+        fail("Scan should have crashed.")
+      } catch {
+        case e: IllegalStateException =>
+      }
+      assertTrue(new File(name + ".chk").exists)
+      assertTrue(new File(name + ".sol").length > 0)
+
+      try {
+        new ClassPower2Scan(List(RumerBDA, ParityBDA), 4, BinaryDichotomicAlgorithm.bdas).resume(name)
+        fail("Checkpoint of a scan with other classifiers.")
+      } catch {
+        case e: IllegalArgumentException =>
+      }
+      val moved = new File(name + ".sol.bak")
+      new File(name + ".sol").renameTo(moved)
+      try {
+        new ClassPower2Scan(List(RumerBDA, ParityBDA), 4).resume(name)
+        fail("Checkpoint without its solutions.")
+      } catch {
+        case e: IllegalArgumentException =>
+      } finally {
+        moved.renameTo(new File(name + ".sol"))
+      }
+
+      val resumed = new ClassPower2Scan(List(RumerBDA, ParityBDA), 4)
+      resumed.doPersist = false
+      resumed.resume(name)
+      resumed.run()
+      assertEquals(s.configs, resumed.configs)
+      assertEquals(s.solutions.map(_.bdas).toList, resumed.solutions.map(_.bdas).toList)
+      assertEquals(s.solutions.map(_.bdas).toList, resumed.streamedSolutions.toList)
+      assertEquals(s.qCounter, resumed.qCounter)
+      assertFalse(new File(name + ".chk").exists)
+    } finally {
+      new File(name + ".sol").delete()
+      new File(name + ".chk").delete()
+    }
+  }
+
   @Test
   def testMetadata() {
     Loggable.fileLog = false // to save time
@@ -54,4 +54,25 @@ class F2VectorSpaceTest {
     val l = vs.movedSubSpaceExceptions(c)
     // println(l.mkString("\n"))
   }
+
+  @Test
+  def testRank() {
+    assertEquals(0, F2VectorSpace.rank(List(0L)))
+    assertEquals(2, F2VectorSpace.rank(List(1L, 2L, 3L)))
+    assertEquals(3, F2VectorSpace.rank(List(1L, 2L, 4L, 7L)))
+    assertEquals(6L, F2VectorSpace.toBits(F(1, 1, 0)))
+  }
+
+  @Test
+  def testBitsSameAsExceptions() {
+    val vs = new F2VectorSpace(4)
+    val all = for (i <- 0 until 16) yield F((0 until 4).map(b => i >> (3 - b) & 1): _*)
+    val random = new java.util.Random(42)
+    for (n <- 1 to 500) {
+      val c = all.filter(v => random.nextInt(4) == 0 || v == vs.zero && random.nextBoolean()).toList
+      val bits = c.map(F2VectorSpace.toBits)
+      assertEquals(vs.subSpaceExceptions(c) == None, F2VectorSpace.isSubSpace(bits))
+      assertEquals(vs.movedSubSpaceExceptions(c).exists(_._2 == None), F2VectorSpace.isMovedSubSpace(bits))
+    }
+  }
 }